@@ -0,0 +1,115 @@
+package br.ufrj.dcc.convexhull.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrj.dcc.convexhull.model.BatchConvexHull;
+import br.ufrj.dcc.convexhull.model.ConvexHull;
+import br.ufrj.dcc.convexhull.model.HullWorkspace;
+import br.ufrj.dcc.convexhull.model.PointSet;
+
+/**
+ * This class benchmarks many small hulls: {@link BatchConvexHull} against one call of 
+ * {@link ConvexHull#monotoneChain(PointSet)} and of the allocation free 
+ * {@link HullWorkspace#monotoneChain(double[], int, int, int[], int)} per set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class BatchConvexHullBenchmark
+{
+	@Param({"10000", "100000"})
+	private int setCount;
+	
+	@Param({"10", "100", "500"})
+	private int maximumSetSize;
+	
+	@Param
+	private Distribution distribution;
+	
+	private double[] coordinates;
+	private int[] offsets;
+	private PointSet[] sets;
+	private int[] convexHulls;
+	private int[] convexHullSizes;
+	private HullWorkspace workspace;
+	
+	@Setup
+	public void setUp()
+	{
+		Random random = new Random(42L);
+		
+		offsets = new int[setCount + 1];
+		sets = new PointSet[setCount];
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			int setSize = 3 + random.nextInt(maximumSetSize - 2);
+			
+			sets[set] = distribution.generate(setSize, set);
+			offsets[set + 1] = offsets[set] + setSize;
+		}
+		
+		coordinates = new double[2 * offsets[setCount]];
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			for (int i = 0; i < sets[set].size(); i++)
+			{
+				coordinates[2 * (offsets[set] + i)] = sets[set].x(i);
+				coordinates[2 * (offsets[set] + i) + 1] = sets[set].y(i);
+			}
+		}
+		
+		convexHulls = new int[offsets[setCount]];
+		convexHullSizes = new int[setCount];
+		workspace = new HullWorkspace();
+	}
+	
+	@Benchmark
+	public int[] batch()
+	{
+		return BatchConvexHull.compute(coordinates, offsets, convexHulls);
+	}
+	
+	@Benchmark
+	public int workspace()
+	{
+		int points = 0;
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			points += workspace.monotoneChain(coordinates, offsets[set], offsets[set + 1], convexHulls, offsets[set]);
+		}
+		
+		return points;
+	}
+	
+	@Benchmark
+	public int callPerSet()
+	{
+		int points = 0;
+		
+		for (PointSet set : sets)
+		{
+			points += ConvexHull.monotoneChain(set).length;
+		}
+		
+		return points;
+	}
+}
@@ -0,0 +1,81 @@
+package br.ufrj.dcc.convexhull.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrj.dcc.convexhull.model.ConvexHull;
+import br.ufrj.dcc.convexhull.model.Point;
+import br.ufrj.dcc.convexhull.model.PointSet;
+
+/**
+ * This class benchmarks {@link ConvexHull#bruteForce(PointSet)} and {@link ConvexHull#bruteForce(List)}.
+ * They take O(n3) time, so the sets stop at 1000 points, and at 100 points for the list version,
+ * which also keeps every line segment in a hash set.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BruteForceBenchmark
+{
+	@State(Scope.Benchmark)
+	public static class Points
+	{
+		@Param({"10", "100", "1000"})
+		int size;
+		
+		@Param
+		Distribution distribution;
+		
+		PointSet points;
+		
+		@Setup
+		public void setUp()
+		{
+			points = distribution.generate(size, 42L);
+		}
+	}
+	
+	@State(Scope.Benchmark)
+	public static class PointList
+	{
+		@Param({"10", "100"})
+		int size;
+		
+		@Param
+		Distribution distribution;
+		
+		List<Point> points;
+		
+		@Setup
+		public void setUp()
+		{
+			points = distribution.generate(size, 42L).toPoints(ConvexHullBenchmark.identity(size));
+		}
+	}
+	
+	@Benchmark
+	public int[] pointSet(Points state)
+	{
+		return ConvexHull.bruteForce(state.points);
+	}
+	
+	@Benchmark
+	public List<Point> pointList(PointList state)
+	{
+		return ConvexHull.bruteForce(state.points);
+	}
+}
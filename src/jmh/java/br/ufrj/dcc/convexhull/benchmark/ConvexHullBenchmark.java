@@ -0,0 +1,89 @@
+package br.ufrj.dcc.convexhull.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrj.dcc.convexhull.model.AklToussaintFilter;
+import br.ufrj.dcc.convexhull.model.Algorithm;
+import br.ufrj.dcc.convexhull.model.ConvexHull;
+import br.ufrj.dcc.convexhull.model.Point;
+import br.ufrj.dcc.convexhull.model.PointSet;
+
+/**
+ * This class benchmarks every O(nlogn) or output sensitive algorithm of {@link ConvexHull} on every 
+ * {@link Distribution}, from 10 to 10^7 points. {@link BruteForceBenchmark} covers the brute force,
+ * which can only run on small sets.
+ * 
+ * Run with <code>gradle jmh</code>, which adds the GC profiler to report the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConvexHullBenchmark
+{
+	@Param({"10", "100", "1000", "10000", "100000", "1000000", "10000000"})
+	private int size;
+	
+	@Param
+	private Distribution distribution;
+	
+	@Param({"MONOTONE_CHAIN", "DIVIDE_AND_CONQUER", "PARALLEL_DIVIDE_AND_CONQUER", "CHAN", "QUICKHULL", "PARALLEL_QUICKHULL"})
+	private Algorithm algorithm;
+	
+	private PointSet points;
+	private List<Point> pointList;
+	private AklToussaintFilter filter;
+	
+	@Setup
+	public void setUp()
+	{
+		points = distribution.generate(size, 42L);
+		pointList = points.toPoints(identity(size));
+		filter = new AklToussaintFilter();
+	}
+	
+	@Benchmark
+	public int[] pointSet()
+	{
+		return ConvexHull.compute(points, algorithm);
+	}
+	
+	@Benchmark
+	public int[] filteredPointSet()
+	{
+		return ConvexHull.compute(points, algorithm, filter);
+	}
+	
+	@Benchmark
+	public List<Point> pointList()
+	{
+		return ConvexHull.compute(pointList, algorithm);
+	}
+	
+	static int[] identity(int size)
+	{
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
+}
@@ -0,0 +1,114 @@
+package br.ufrj.dcc.convexhull.benchmark;
+
+import java.util.Random;
+
+import br.ufrj.dcc.convexhull.model.PointSet;
+
+/**
+ * This enum lists the distributions of the points used by the benchmarks. Each one is generated
+ * from a fixed seed, so every run measures the same sets.
+ */
+public enum Distribution
+{
+	/**
+	 * Uniform in the unit square, with O(logn) points on the hull.
+	 */
+	UNIFORM_SQUARE
+	{
+		@Override
+		void add(PointSet points, Random random, int i, int size)
+		{
+			points.add(random.nextDouble(), random.nextDouble());
+		}
+	},
+	
+	/**
+	 * Uniform in the unit disk, with O(n^(1/3)) points on the hull.
+	 */
+	UNIFORM_DISK
+	{
+		@Override
+		void add(PointSet points, Random random, int i, int size)
+		{
+			double radius = Math.sqrt(random.nextDouble());
+			double angle = 2 * Math.PI * random.nextDouble();
+			
+			points.add(radius * Math.cos(angle), radius * Math.sin(angle));
+		}
+	},
+	
+	/**
+	 * On the unit circle, with every point on the hull: the worst case of the output sensitive algorithms.
+	 */
+	CIRCLE
+	{
+		@Override
+		void add(PointSet points, Random random, int i, int size)
+		{
+			double angle = 2 * Math.PI * random.nextDouble();
+			
+			points.add(Math.cos(angle), Math.sin(angle));
+		}
+	},
+	
+	/**
+	 * Around the centers of a few Gaussian clusters, like geographic data.
+	 */
+	GAUSSIAN_CLUSTERS
+	{
+		@Override
+		void add(PointSet points, Random random, int i, int size)
+		{
+			int cluster = random.nextInt(CLUSTERS);
+			
+			points.add(cluster * 10.0 + random.nextGaussian(), (cluster * 7 % CLUSTERS) * 10.0 + random.nextGaussian());
+		}
+	},
+	
+	/**
+	 * On a coarse integer grid whose border holds half of the points, so many points are repeated
+	 * and many are collinear with the edges of the hull.
+	 */
+	COLLINEAR
+	{
+		@Override
+		void add(PointSet points, Random random, int i, int size)
+		{
+			int side = Math.max(2, (int) Math.sqrt(size) / 4);
+			int position = random.nextInt(side);
+			
+			switch(i % 8)
+			{
+				case 0: points.add(position, 0); break;
+				case 1: points.add(side, position); break;
+				case 2: points.add(side - position, side); break;
+				case 3: points.add(0, side - position); break;
+				default: points.add(random.nextInt(side + 1), random.nextInt(side + 1));
+			}
+		}
+	};
+	
+	private static final int CLUSTERS = 8;
+	
+	abstract void add(PointSet points, Random random, int i, int size);
+	
+	/**
+	 * Generates a set of points of this distribution.
+	 * 
+	 * @param size the number of points
+	 * @param seed the seed of the generator
+	 * @return the points
+	 */
+	public PointSet generate(int size, long seed)
+	{
+		Random random = new Random(seed);
+		PointSet points = new PointSet(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			add(points, random, i, size);
+		}
+		
+		return points;
+	}
+}
@@ -0,0 +1,77 @@
+package br.ufrj.dcc.convexhull.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.ufrj.dcc.convexhull.model.DynamicConvexHull;
+import br.ufrj.dcc.convexhull.model.IncrementalConvexHull;
+import br.ufrj.dcc.convexhull.model.Point;
+
+/**
+ * This class benchmarks the hulls updated point by point: every insertion into an 
+ * {@link IncrementalConvexHull}, and a sliding window over a {@link DynamicConvexHull}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicConvexHullBenchmark
+{
+	@Param({"1000", "10000", "100000"})
+	private int size;
+	
+	@Param({"100", "1000"})
+	private int window;
+	
+	@Param
+	private Distribution distribution;
+	
+	private List<Point> points;
+	
+	@Setup
+	public void setUp()
+	{
+		points = distribution.generate(size, 42L).toPoints(ConvexHullBenchmark.identity(size));
+	}
+	
+	@Benchmark
+	public List<Point> incremental()
+	{
+		IncrementalConvexHull convexHull = new IncrementalConvexHull();
+		convexHull.addAll(points);
+		
+		return convexHull.getConvexHull();
+	}
+	
+	@Benchmark
+	public List<Point> slidingWindow()
+	{
+		DynamicConvexHull convexHull = new DynamicConvexHull();
+		
+		for (int i = 0; i < points.size(); i++)
+		{
+			convexHull.add(points.get(i));
+			
+			if(i >= window)
+			{
+				convexHull.remove(points.get(i - window));
+			}
+		}
+		
+		return convexHull.getConvexHull();
+	}
+}
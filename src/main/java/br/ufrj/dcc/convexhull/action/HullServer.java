@@ -0,0 +1,549 @@
+package br.ufrj.dcc.convexhull.action;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import br.ufrj.dcc.convexhull.model.BatchConvexHull;
+
+/**
+ * This class is a resident convex hull service, which reads point sets from a stream and writes
+ * their hulls back, so the start of the JVM and the warm up of the JIT compiler are paid once.
+ * 
+ * Every message is a frame: its length in bytes as a little-endian int, followed by that many bytes.
+ * The request frames hold an id as a long followed by the (x, y) coordinates of each point as doubles.
+ * Each request gets one response frame, in the same order, holding the id of the request, the number
+ * of points on the hull as an int and their positions in the request as ints, in counterclockwise
+ * order, starting at the point with the lowest x coordinate (lowest y on ties). Everything is
+ * little-endian, as in the binary point files of {@link br.ufrj.dcc.convexhull.utils.InputReader}.
+ * 
+ * Basic idea: The requests which have already arrived are grouped in a batch, up to a maximum number
+ * of points, and the whole batch is computed on a fork/join pool by {@link BatchConvexHull}. A batch
+ * is closed as soon as no other request is waiting, so a lone request is not delayed. Up to
+ * {@link #MAXIMUM_PENDING_BATCHES} batches are computed while the responses of the previous ones are written.
+ * 
+ * A request may hold a bounded number of points, so a single frame cannot make the server allocate
+ * more than a few batches, and a server socket serves a bounded number of connections at a time.
+ * 
+ * This class is thread safe, as long as each stream is served by a single thread.
+ */
+public class HullServer
+{
+	public static final int DEFAULT_MAXIMUM_BATCH_POINTS = 1 << 16;
+	public static final int DEFAULT_MAXIMUM_CONNECTIONS = 16;
+	public static final int MAXIMUM_BATCH_REQUESTS = 4096;
+	public static final int MAXIMUM_PENDING_BATCHES = 4;
+	
+	private static final int ID_SIZE = Long.BYTES;
+	private static final int POINT_SIZE = 2 * Double.BYTES;
+	
+	private ForkJoinPool pool;
+	private int maximumBatchPoints;
+	private int maximumFrameSize;
+	private Semaphore connections;
+	
+	/**
+	 * Creates a server computing the hulls on the common pool.
+	 */
+	public HullServer()
+	{
+		this(ForkJoinPool.commonPool(), DEFAULT_MAXIMUM_BATCH_POINTS);
+	}
+	
+	/**
+	 * Creates a server computing the hulls on a given pool, accepting requests with at most as many
+	 * points as a batch and up to {@link #DEFAULT_MAXIMUM_CONNECTIONS} connections at a time.
+	 * 
+	 * @param pool the pool that computes the hulls
+	 * @param maximumBatchPoints the number of points after which a batch is closed
+	 */
+	public HullServer(ForkJoinPool pool, int maximumBatchPoints)
+	{
+		this(pool, maximumBatchPoints, maximumBatchPoints, DEFAULT_MAXIMUM_CONNECTIONS);
+	}
+	
+	/**
+	 * Creates a server computing the hulls on a given pool.
+	 * 
+	 * @param pool the pool that computes the hulls
+	 * @param maximumBatchPoints the number of points after which a batch is closed
+	 * @param maximumRequestPoints the number of points of the largest request accepted
+	 * @param maximumConnections the number of connections served at a time by {@link #serve(ServerSocket)}
+	 */
+	public HullServer(ForkJoinPool pool, int maximumBatchPoints, int maximumRequestPoints, int maximumConnections)
+	{
+		if(maximumBatchPoints < 1)
+		{
+			throw new IllegalArgumentException("The maximum number of points of a batch must be positive: " + maximumBatchPoints);
+		}
+		
+		if(maximumRequestPoints < 0 || maximumRequestPoints > (Integer.MAX_VALUE - ID_SIZE) / POINT_SIZE)
+		{
+			throw new IllegalArgumentException("Invalid maximum number of points of a request: " + maximumRequestPoints);
+		}
+		
+		if(maximumConnections < 1)
+		{
+			throw new IllegalArgumentException("The maximum number of connections must be positive: " + maximumConnections);
+		}
+		
+		this.pool = pool;
+		this.maximumBatchPoints = maximumBatchPoints;
+		this.maximumFrameSize = ID_SIZE + POINT_SIZE * maximumRequestPoints;
+		this.connections = new Semaphore(maximumConnections);
+	}
+	
+	/**
+	 * Accepts connections on a server socket until it is closed, serving each one on its own thread.
+	 * Once the maximum number of connections are being served, the next one is accepted only after
+	 * one of them ends.
+	 * 
+	 * @param serverSocket a bound server socket
+	 * @throws IOException if the server socket fails
+	 */
+	public void serve(ServerSocket serverSocket) throws IOException
+	{
+		while(!serverSocket.isClosed())
+		{
+			acquireConnection();
+			
+			final Socket socket;
+			
+			try
+			{
+				socket = serverSocket.accept();
+			}
+			catch (IOException | RuntimeException e)
+			{
+				connections.release();
+				throw e;
+			}
+			
+			Thread thread = new Thread(new Runnable()
+			{
+				@Override
+				public void run()
+				{
+					try
+					{
+						serve(socket.getInputStream(), socket.getOutputStream());
+					}
+					catch (IOException e)
+					{
+						System.err.println("Connection from " + socket.getRemoteSocketAddress() + " failed: " + e.getMessage());
+					}
+					finally
+					{
+						close(socket);
+						connections.release();
+					}
+				}
+			}, "hull-server-" + socket.getPort());
+			
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+	
+	private void acquireConnection() throws IOException
+	{
+		try
+		{
+			connections.acquire();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a connection to end", e);
+		}
+	}
+	
+	private static void close(Socket socket)
+	{
+		try
+		{
+			socket.close();
+		}
+		catch (IOException e)
+		{
+			// the connection is over anyway
+		}
+	}
+	
+	/**
+	 * Reads requests from a stream until it ends and writes the responses to another one.
+	 * The responses are written by a second thread while the requests are read. A frame with an
+	 * invalid size or a coordinate which is NaN or infinite stops the reading, after the responses 
+	 * to the requests before it are written.
+	 * 
+	 * @param input the stream of request frames
+	 * @param output the stream receiving the response frames
+	 * @throws IOException if a stream fails or a frame is invalid
+	 */
+	public void serve(InputStream input, OutputStream output) throws IOException
+	{
+		final BlockingQueue<Future<Batch>> pendingBatches = new ArrayBlockingQueue<Future<Batch>>(MAXIMUM_PENDING_BATCHES);
+		final OutputStream bufferedOutput = new BufferedOutputStream(output, 1 << 16);
+		
+		FutureTask<Void> writer = new FutureTask<Void>(new Callable<Void>()
+		{
+			@Override
+			public Void call() throws Exception
+			{
+				writeResponses(pendingBatches, bufferedOutput);
+				return null;
+			}
+		});
+		
+		Thread writerThread = new Thread(writer, "hull-server-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+		
+		IOException failure = null;
+		
+		try
+		{
+			readRequests(new BufferedInputStream(input, 1 << 16), pendingBatches, writer);
+		}
+		catch (IOException e)
+		{
+			failure = e;
+		}
+		finally
+		{
+			// the batch without requests tells the writer to stop
+			FutureTask<Batch> end = new FutureTask<Batch>(new Callable<Batch>()
+			{
+				@Override
+				public Batch call()
+				{
+					return new Batch();
+				}
+			});
+			
+			end.run();
+			enqueue(pendingBatches, end, writer);
+		}
+		
+		if(failure != null)
+		{
+			// the requests read before the invalid one still get their responses
+			try
+			{
+				getResult(writer);
+			}
+			catch (IOException e)
+			{
+				failure.addSuppressed(e);
+			}
+			
+			throw failure;
+		}
+		
+		getResult(writer);
+	}
+	
+	private void readRequests(InputStream input, BlockingQueue<Future<Batch>> pendingBatches, Future<Void> writer) throws IOException
+	{
+		byte[] frame = new byte[0];
+		boolean isEndOfStream = false;
+		
+		while(!isEndOfStream && !writer.isDone())
+		{
+			Batch batch = new Batch();
+			
+			try
+			{
+				while(batch.requestCount < MAXIMUM_BATCH_REQUESTS && batch.pointCount < maximumBatchPoints)
+				{
+					// close the batch instead of waiting for requests which may never come
+					if(batch.requestCount > 0 && input.available() == 0)
+					{
+						break;
+					}
+					
+					int frameSize = readFrameSize(input);
+					
+					if(frameSize < 0)
+					{
+						isEndOfStream = true;
+						break;
+					}
+					
+					if(frame.length < frameSize)
+					{
+						frame = new byte[Math.max(frameSize, frame.length + (frame.length >> 1))];
+					}
+					
+					readFully(input, frame, frameSize);
+					batch.add(ByteBuffer.wrap(frame, 0, frameSize).order(ByteOrder.LITTLE_ENDIAN));
+				}
+			}
+			catch (IOException e)
+			{
+				// the valid requests before the invalid one are still computed
+				submit(batch, pendingBatches, writer);
+				throw e;
+			}
+			
+			if(batch.requestCount == 0)
+			{
+				break;
+			}
+			
+			submit(batch, pendingBatches, writer);
+		}
+	}
+	
+	/**
+	 * Computes a batch on the pool and puts it in the queue of the writer, unless it has no requests.
+	 */
+	private void submit(final Batch batch, BlockingQueue<Future<Batch>> pendingBatches, Future<Void> writer) throws IOException
+	{
+		if(batch.requestCount == 0)
+		{
+			return;
+		}
+		
+		FutureTask<Batch> computation = new FutureTask<Batch>(new Callable<Batch>()
+		{
+			@Override
+			public Batch call()
+			{
+				batch.compute(pool);
+				return batch;
+			}
+		});
+		
+		pool.execute(computation);
+		enqueue(pendingBatches, computation, writer);
+	}
+	
+	/**
+	 * @return the size of the next frame, or -1 at the end of the stream
+	 */
+	private int readFrameSize(InputStream input) throws IOException
+	{
+		int frameSize = 0;
+		
+		for (int i = 0; i < Integer.BYTES; i++)
+		{
+			int value = input.read();
+			
+			if(value < 0)
+			{
+				if(i == 0)
+				{
+					return -1;
+				}
+				
+				throw new EOFException("The stream ended inside the size of a frame");
+			}
+			
+			frameSize |= value << (8 * i);
+		}
+		
+		if(frameSize < ID_SIZE || frameSize > maximumFrameSize || (frameSize - ID_SIZE) % POINT_SIZE != 0)
+		{
+			throw new IOException("Invalid frame size: " + frameSize);
+		}
+		
+		return frameSize;
+	}
+	
+	private static void readFully(InputStream input, byte[] bytes, int size) throws IOException
+	{
+		int position = 0;
+		
+		while(position < size)
+		{
+			int readBytes = input.read(bytes, position, size - position);
+			
+			if(readBytes < 0)
+			{
+				throw new EOFException("The stream ended inside a frame");
+			}
+			
+			position += readBytes;
+		}
+	}
+	
+	/**
+	 * Puts a batch in the queue of the writer, unless the writer has stopped.
+	 */
+	private static void enqueue(BlockingQueue<Future<Batch>> pendingBatches, Future<Batch> batch, Future<Void> writer) throws IOException
+	{
+		try
+		{
+			while(!pendingBatches.offer(batch, 100, TimeUnit.MILLISECONDS))
+			{
+				if(writer.isDone())
+				{
+					return;
+				}
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the writer", e);
+		}
+	}
+	
+	/**
+	 * Writes the responses of each batch in order, flushing the stream whenever no other batch is ready.
+	 */
+	private static void writeResponses(BlockingQueue<Future<Batch>> pendingBatches, OutputStream output) throws Exception
+	{
+		ByteBuffer response = ByteBuffer.allocate(0);
+		
+		while(true)
+		{
+			Batch batch = pendingBatches.take().get();
+			
+			if(batch.requestCount == 0)
+			{
+				output.flush();
+				return;
+			}
+			
+			for (int request = 0; request < batch.requestCount; request++)
+			{
+				int convexHullSize = batch.convexHullSizes[request];
+				int frameSize = ID_SIZE + Integer.BYTES + Integer.BYTES * convexHullSize;
+				
+				if(response.capacity() < Integer.BYTES + frameSize)
+				{
+					response = ByteBuffer.allocate(Math.max(Integer.BYTES + frameSize, 2 * response.capacity())).order(ByteOrder.LITTLE_ENDIAN);
+				}
+				
+				response.clear();
+				response.putInt(frameSize);
+				response.putLong(batch.ids[request]);
+				response.putInt(convexHullSize);
+				
+				int offset = batch.offsets[request];
+				
+				for (int i = 0; i < convexHullSize; i++)
+				{
+					response.putInt(batch.convexHulls[offset + i] - offset);
+				}
+				
+				output.write(response.array(), 0, response.position());
+			}
+			
+			if(pendingBatches.isEmpty() || !pendingBatches.peek().isDone())
+			{
+				output.flush();
+			}
+		}
+	}
+	
+	private static void getResult(Future<Void> writer) throws IOException
+	{
+		try
+		{
+			writer.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for the writer", e);
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause() instanceof ExecutionException ? e.getCause().getCause() : e.getCause();
+			
+			if(cause instanceof IOException)
+			{
+				throw (IOException) cause;
+			}
+			
+			if(cause instanceof RuntimeException)
+			{
+				throw (RuntimeException) cause;
+			}
+			
+			if(cause instanceof Error)
+			{
+				throw (Error) cause;
+			}
+			
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * The requests of a batch, in the layout of {@link BatchConvexHull}, and then their hulls.
+	 */
+	private static class Batch
+	{
+		private long[] ids = new long[16];
+		private int[] offsets = new int[17];
+		private double[] coordinates = new double[64];
+		private int requestCount;
+		private int pointCount;
+		private int[] convexHulls;
+		private int[] convexHullSizes;
+		
+		/**
+		 * Adds the request of a frame, or leaves the batch as it was if the request is invalid.
+		 * 
+		 * @throws IOException if a coordinate is NaN or infinite
+		 */
+		void add(ByteBuffer frame) throws IOException
+		{
+			int size = (frame.remaining() - ID_SIZE) / POINT_SIZE;
+			
+			if(requestCount == ids.length)
+			{
+				ids = Arrays.copyOf(ids, 2 * requestCount);
+				offsets = Arrays.copyOf(offsets, 2 * requestCount + 1);
+			}
+			
+			if(coordinates.length < 2 * (pointCount + size))
+			{
+				coordinates = Arrays.copyOf(coordinates, Math.max(2 * (pointCount + size), 2 * coordinates.length));
+			}
+			
+			ids[requestCount] = frame.getLong();
+			frame.asDoubleBuffer().get(coordinates, 2 * pointCount, 2 * size);
+			
+			for (int i = 2 * pointCount; i < 2 * (pointCount + size); i++)
+			{
+				if(!Double.isFinite(coordinates[i]))
+				{
+					throw new IOException("Non finite coordinate in request " + ids[requestCount] + ": " + coordinates[i]);
+				}
+			}
+			
+			pointCount += size;
+			offsets[++requestCount] = pointCount;
+		}
+		
+		void compute(ForkJoinPool pool)
+		{
+			convexHulls = new int[pointCount];
+			convexHullSizes = new int[requestCount];
+			
+			BatchConvexHull.compute(coordinates, Arrays.copyOf(offsets, requestCount + 1), convexHulls, convexHullSizes, pool);
+		}
+	}
+}
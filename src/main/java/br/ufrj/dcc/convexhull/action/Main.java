@@ -1,7 +1,9 @@
 package br.ufrj.dcc.convexhull.action;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -13,18 +15,85 @@ import br.ufrj.dcc.convexhull.utils.InputReader;
 /**
  * This is the main class.
  * 
+ * Usage:
+ * 	[file]			prints the hull of a text file, input/input.txt by default
+ * 	--serve			serves hull requests on the standard input and output, see {@link HullServer}
+ * 	--serve <port>	serves hull requests on a local port
+ * 
  * @author jonatascb
- *
+ * 
  */
 public class Main
 {
-	public static void main(String[] args) throws FileNotFoundException
+	private static final String DEFAULT_INPUT = "input/input.txt";
+	private static final String SERVE_OPTION = "--serve";
+	
+	public static void main(String[] args) throws IOException
 	{
-		File input = new File("/home/jonatascb/projetos/ConvexHull/input/input.txt");
+		if(args.length > 0 && args[0].equals(SERVE_OPTION))
+		{
+			serve(args);
+			return;
+		}
+		
+		if(args.length > 1)
+		{
+			printUsage();
+			return;
+		}
+		
+		File input = new File(args.length == 1 ? args[0] : DEFAULT_INPUT);
 		
 		List<Point> inputPoints = InputReader.readFromFile(input);
 		Set<Point> convexPoints = new HashSet<Point>(ConvexHull.divideAndConquer(inputPoints));
 		
 		System.out.println(convexPoints);
 	}
+	
+	private static void serve(String[] args) throws IOException
+	{
+		HullServer server = new HullServer();
+		
+		if(args.length == 1)
+		{
+			server.serve(System.in, System.out);
+			return;
+		}
+		
+		int port;
+		
+		try
+		{
+			port = args.length == 2 ? Integer.parseInt(args[1]) : -1;
+		}
+		catch (NumberFormatException e)
+		{
+			port = -1;
+		}
+		
+		if(port < 0 || port > 0xFFFF)
+		{
+			printUsage();
+			return;
+		}
+		
+		// only local clients, the protocol has no authentication
+		ServerSocket serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		
+		try
+		{
+			System.err.println("Serving convex hulls on " + serverSocket.getLocalSocketAddress());
+			server.serve(serverSocket);
+		}
+		finally
+		{
+			serverSocket.close();
+		}
+	}
+	
+	private static void printUsage()
+	{
+		System.err.println("Usage: Main [file]");
+		System.err.println("       Main " + SERVE_OPTION + " [port]");
+	}
 }
@@ -0,0 +1,347 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a {@link PointFilter} which discards the points strictly inside the polygon
+ * of the extreme points.
+ * 
+ * Basic idea: The points with the lowest and highest x, y, x + y and x - y make a convex polygon
+ * inside the convex hull, so no point strictly inside it is on the hull (Akl-Toussaint heuristic).
+ * A first pass finds the extreme points and a second one keeps the points which are not strictly
+ * inside their polygon. On uniformly distributed points the polygon covers most of the hull, and
+ * usually more than 90% of the points are discarded.
+ * 
+ * Both passes run in parallel on a fork/join pool when one is given.
+ * 
+ * Complexity: O(n)
+ * 
+ * @see https://en.wikipedia.org/wiki/Convex_hull_algorithms#Akl%E2%80%93Toussaint_heuristic
+ */
+public class AklToussaintFilter implements PointFilter
+{
+	private ForkJoinPool pool;
+	private int sequentialCutoff;
+	private AtomicLong discardedPoints;
+	
+	/**
+	 * Creates a filter which runs in the calling thread.
+	 */
+	public AklToussaintFilter()
+	{
+		this(null, ConvexHull.DEFAULT_SEQUENTIAL_CUTOFF);
+	}
+	
+	/**
+	 * Creates a filter which runs on a given pool.
+	 * 
+	 * @param pool the pool that runs the filter
+	 */
+	public AklToussaintFilter(ForkJoinPool pool)
+	{
+		this(pool, ConvexHull.DEFAULT_SEQUENTIAL_CUTOFF);
+	}
+	
+	/**
+	 * Creates a filter which runs on a given pool.
+	 * 
+	 * @param pool the pool that runs the filter, or <b>null</b> to run it in the calling thread
+	 * @param sequentialCutoff the maximum number of points a task filters without forking
+	 */
+	public AklToussaintFilter(ForkJoinPool pool, int sequentialCutoff)
+	{
+		if(sequentialCutoff < 1)
+		{
+			throw new IllegalArgumentException("The sequential cutoff must be positive: " + sequentialCutoff);
+		}
+		
+		this.pool = pool;
+		this.sequentialCutoff = sequentialCutoff;
+		this.discardedPoints = new AtomicLong();
+	}
+	
+	@Override
+	public int[] filter(PointSet points)
+	{
+		int[] survivors;
+		
+		if(pool == null || points.size() <= sequentialCutoff)
+		{
+			PointSet polygon = getExtremes(points, 0, points.size()).getPolygon();
+			survivors = getSurvivors(points, polygon, 0, points.size());
+		}
+		else
+		{
+			PointSet polygon = pool.invoke(new ExtremesTask(points, 0, points.size(), sequentialCutoff)).getPolygon();
+			survivors = pool.invoke(new SurvivorsTask(points, polygon, 0, points.size(), sequentialCutoff));
+		}
+		
+		discardedPoints.addAndGet(points.size() - survivors.length);
+		
+		return survivors;
+	}
+	
+	@Override
+	public List<Point> filter(List<Point> points)
+	{
+		int[] survivors = filter(PointSet.fromPoints(points));
+		List<Point> survivingPoints = new ArrayList<Point>(survivors.length);
+		
+		for (int index : survivors)
+		{
+			survivingPoints.add(points.get(index));
+		}
+		
+		return survivingPoints;
+	}
+	
+	/**
+	 * @return the number of points discarded by every call of this filter so far
+	 */
+	public long getDiscardedPoints()
+	{
+		return discardedPoints.get();
+	}
+	
+	private static Extremes getExtremes(PointSet points, int from, int to)
+	{
+		Extremes extremes = new Extremes();
+		
+		for (int i = from; i < to; i++)
+		{
+			extremes.add(points.xs[i], points.ys[i]);
+		}
+		
+		return extremes;
+	}
+	
+	private static int[] getSurvivors(PointSet points, PointSet polygon, int from, int to)
+	{
+		int[] survivors = new int[to - from];
+		int size = 0;
+		
+		for (int i = from; i < to; i++)
+		{
+			if(!isPointStrictlyInside(polygon, points.xs[i], points.ys[i]))
+			{
+				survivors[size++] = i;
+			}
+		}
+		
+		return Arrays.copyOf(survivors, size);
+	}
+	
+	/**
+	 * Checks if a point is strictly on the left of every edge of a convex polygon in counterclockwise order.
+	 * Polygons with less than three vertices have no interior.
+	 * 
+	 * @param polygon a convex polygon in counterclockwise order
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return <b>true</b> if the point is strictly inside the polygon <b>false</b> if not
+	 */
+	static boolean isPointStrictlyInside(PointSet polygon, double x, double y)
+	{
+		int size = polygon.size();
+		
+		if(size < 3)
+		{
+			return false;
+		}
+		
+		for (int i = 0, j = size - 1; i < size; j = i++)
+		{
+			if(ConvexHull.crossProduct(polygon.xs[j], polygon.ys[j], polygon.xs[i], polygon.ys[i], x, y) <= 0.0)
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * This class accumulates the points with the lowest and highest x, y, x + y and x - y.
+	 */
+	static class Extremes
+	{
+		// the lowest and highest x, y, x + y and x - y, in that order
+		private double[] extremeXs = new double[8];
+		private double[] extremeYs = new double[8];
+		private double[] extremeValues = new double[8];
+		private boolean isEmpty = true;
+		
+		void add(double x, double y)
+		{
+			if(isEmpty)
+			{
+				for (int j = 0; j < 8; j++)
+				{
+					extremeXs[j] = x;
+					extremeYs[j] = y;
+					extremeValues[j] = getExtremeValue(j, x, y);
+				}
+				
+				isEmpty = false;
+				return;
+			}
+			
+			for (int j = 0; j < 8; j++)
+			{
+				update(j, x, y, getExtremeValue(j, x, y));
+			}
+		}
+		
+		/**
+		 * Adds the extreme points of another accumulator to this one.
+		 */
+		void addAll(Extremes other)
+		{
+			if(other.isEmpty)
+			{
+				return;
+			}
+			
+			if(isEmpty)
+			{
+				System.arraycopy(other.extremeXs, 0, extremeXs, 0, 8);
+				System.arraycopy(other.extremeYs, 0, extremeYs, 0, 8);
+				System.arraycopy(other.extremeValues, 0, extremeValues, 0, 8);
+				isEmpty = false;
+				return;
+			}
+			
+			for (int j = 0; j < 8; j++)
+			{
+				update(j, other.extremeXs[j], other.extremeYs[j], other.extremeValues[j]);
+			}
+		}
+		
+		private void update(int direction, double x, double y, double value)
+		{
+			if(direction % 2 == 0 ? value < extremeValues[direction] : value > extremeValues[direction])
+			{
+				extremeXs[direction] = x;
+				extremeYs[direction] = y;
+				extremeValues[direction] = value;
+			}
+		}
+		
+		private static double getExtremeValue(int direction, double x, double y)
+		{
+			switch(direction / 2)
+			{
+				case 0: return x;
+				case 1: return y;
+				case 2: return x + y;
+				default: return x - y;
+			}
+		}
+		
+		/**
+		 * @return the convex hull of the extreme points, in counterclockwise order
+		 */
+		PointSet getPolygon()
+		{
+			if(isEmpty)
+			{
+				return new PointSet(0);
+			}
+			
+			PointSet extremePoints = new PointSet(extremeXs, extremeYs);
+			
+			return extremePoints.subset(ConvexHull.monotoneChain(extremePoints));
+		}
+	}
+	
+	/**
+	 * This class is a fork/join task finding the extreme points of a range of points.
+	 */
+	private static class ExtremesTask extends RecursiveTask<Extremes>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private int from;
+		private int to;
+		private int sequentialCutoff;
+		
+		ExtremesTask(PointSet points, int from, int to, int sequentialCutoff)
+		{
+			this.points = points;
+			this.from = from;
+			this.to = to;
+			this.sequentialCutoff = sequentialCutoff;
+		}
+		
+		@Override
+		protected Extremes compute()
+		{
+			if(to - from <= sequentialCutoff)
+			{
+				return getExtremes(points, from, to);
+			}
+			
+			int middle = (from + to) >>> 1;
+			
+			ExtremesTask firstHalf = new ExtremesTask(points, from, middle, sequentialCutoff);
+			firstHalf.fork();
+			
+			Extremes extremes = new ExtremesTask(points, middle, to, sequentialCutoff).compute();
+			extremes.addAll(firstHalf.join());
+			
+			return extremes;
+		}
+	}
+	
+	/**
+	 * This class is a fork/join task returning the points of a range which are not strictly
+	 * inside the polygon of the extreme points.
+	 */
+	private static class SurvivorsTask extends RecursiveTask<int[]>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private PointSet polygon;
+		private int from;
+		private int to;
+		private int sequentialCutoff;
+		
+		SurvivorsTask(PointSet points, PointSet polygon, int from, int to, int sequentialCutoff)
+		{
+			this.points = points;
+			this.polygon = polygon;
+			this.from = from;
+			this.to = to;
+			this.sequentialCutoff = sequentialCutoff;
+		}
+		
+		@Override
+		protected int[] compute()
+		{
+			if(to - from <= sequentialCutoff)
+			{
+				return getSurvivors(points, polygon, from, to);
+			}
+			
+			int middle = (from + to) >>> 1;
+			
+			SurvivorsTask firstHalf = new SurvivorsTask(points, polygon, from, middle, sequentialCutoff);
+			firstHalf.fork();
+			
+			int[] secondSurvivors = new SurvivorsTask(points, polygon, middle, to, sequentialCutoff).compute();
+			int[] firstSurvivors = firstHalf.join();
+			
+			int[] survivors = Arrays.copyOf(firstSurvivors, firstSurvivors.length + secondSurvivors.length);
+			System.arraycopy(secondSurvivors, 0, survivors, firstSurvivors.length, secondSurvivors.length);
+			
+			return survivors;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This enum lists the convex hull algorithms of {@link ConvexHull}, so they can be selected
+ * through {@link ConvexHull#compute(PointSet, Algorithm)}.
+ */
+public enum Algorithm
+{
+	BRUTE_FORCE
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.bruteForce(points);
+		}
+	},
+	
+	MONOTONE_CHAIN
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.monotoneChain(points);
+		}
+	},
+	
+	DIVIDE_AND_CONQUER
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.divideAndConquer(points);
+		}
+	},
+	
+	PARALLEL_DIVIDE_AND_CONQUER
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.parallelDivideAndConquer(points);
+		}
+		
+		@Override
+		boolean isParallel()
+		{
+			return true;
+		}
+	},
+	
+	CHAN
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.chan(points);
+		}
+	},
+	
+	QUICKHULL
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.quickhull(points);
+		}
+	},
+	
+	PARALLEL_QUICKHULL
+	{
+		@Override
+		int[] compute(PointSet points)
+		{
+			return ConvexHull.parallelQuickhull(points);
+		}
+		
+		@Override
+		boolean isParallel()
+		{
+			return true;
+		}
+	};
+	
+	abstract int[] compute(PointSet points);
+	
+	/**
+	 * @return <b>true</b> if the algorithm runs on a fork/join pool, so its orientation tests are made on other threads
+	 */
+	boolean isParallel()
+	{
+		return false;
+	}
+}
@@ -0,0 +1,150 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class computes the convex hulls of many small sets of points in a single call.
+ * 
+ * The sets are stored one after the other in a flat buffer of interleaved (x, y) coordinates,
+ * and an offsets array gives the first point of each set: the points of the j-th set go from
+ * offsets[j] (inclusive) to offsets[j + 1] (exclusive). The hull of each set is written to a flat 
+ * buffer of point indices, starting at the offset of the set, so no hull overlaps another one.
+ * 
+ * The sets are spread across the threads of a fork/join pool, and each thread reuses the same 
+ * {@link HullWorkspace} for all of its sets, so nothing is allocated per set.
+ */
+public class BatchConvexHull
+{
+	/**
+	 * Computes the convex hull of each set of points on the common pool.
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of every point
+	 * @param offsets the index of the first point of each set, followed by the number of points
+	 * @param convexHulls the buffer receiving the hulls, with at least as many positions as points
+	 * @return the number of points on the convex hull of each set
+	 * @throws IllegalArgumentException if the offsets or buffers are invalid, or a coordinate is NaN or infinite
+	 * @see #compute(double[], int[], int[], int[], ForkJoinPool)
+	 */
+	public static int[] compute(double[] coordinates, int[] offsets, int[] convexHulls)
+	{
+		int[] convexHullSizes = new int[Math.max(offsets.length - 1, 0)];
+		compute(coordinates, offsets, convexHulls, convexHullSizes, ForkJoinPool.commonPool());
+		
+		return convexHullSizes;
+	}
+	
+	/**
+	 * Computes the convex hull of each set of points on a given pool. The hull of the j-th set 
+	 * is written to convexHulls from offsets[j], with the indices of its points in counterclockwise 
+	 * order, starting at the point with the lowest x coordinate (lowest y on ties), without 
+	 * collinear points, as {@link ConvexHull#monotoneChain(PointSet)} does.
+	 * 
+	 * Complexity: O(nlogm), where m is the size of the largest set
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of every point
+	 * @param offsets the index of the first point of each set, followed by the number of points
+	 * @param convexHulls the buffer receiving the hulls, with at least as many positions as points
+	 * @param convexHullSizes the buffer receiving the number of points on the convex hull of each set
+	 * @param pool the pool that computes the hulls
+	 * @throws IllegalArgumentException if the offsets or buffers are invalid, or a coordinate is NaN or infinite
+	 */
+	public static void compute(double[] coordinates, int[] offsets, int[] convexHulls, int[] convexHullSizes, ForkJoinPool pool)
+	{
+		int setCount = checkOffsets(coordinates, offsets);
+		
+		if(convexHulls.length < offsets[setCount])
+		{
+			throw new IllegalArgumentException("The hull buffer is smaller than the number of points: " + convexHulls.length + " < " + offsets[setCount]);
+		}
+		
+		if(convexHullSizes.length < setCount)
+		{
+			throw new IllegalArgumentException("The size buffer is smaller than the number of sets: " + convexHullSizes.length + " < " + setCount);
+		}
+		
+		if(setCount > 0)
+		{
+			pool.invoke(new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, 0, setCount));
+		}
+	}
+	
+	/**
+	 * Checks that the offsets are non decreasing and within the coordinates.
+	 * 
+	 * @return the number of sets
+	 */
+	static int checkOffsets(double[] coordinates, int[] offsets)
+	{
+		if(offsets.length == 0)
+		{
+			return 0;
+		}
+		
+		if(offsets[0] < 0)
+		{
+			throw new IllegalArgumentException("Negative offset: " + offsets[0]);
+		}
+		
+		for (int i = 1; i < offsets.length; i++)
+		{
+			if(offsets[i] < offsets[i - 1])
+			{
+				throw new IllegalArgumentException("The offsets must be non decreasing: " + offsets[i - 1] + " > " + offsets[i]);
+			}
+		}
+		
+		if(2L * offsets[offsets.length - 1] > coordinates.length)
+		{
+			throw new IllegalArgumentException("The offsets go past the coordinates: " + offsets[offsets.length - 1] + " > " + coordinates.length / 2);
+		}
+		
+		return offsets.length - 1;
+	}
+	
+	/**
+	 * This class is a fork/join task computing the hulls of a range of sets. Ranges with more than
+	 * {@link ConvexHull#DEFAULT_SEQUENTIAL_CUTOFF} points are split in two by number of sets.
+	 */
+	private static class BatchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private double[] coordinates;
+		private int[] offsets;
+		private int[] convexHulls;
+		private int[] convexHullSizes;
+		private int firstSet;
+		private int lastSet;
+		
+		BatchTask(double[] coordinates, int[] offsets, int[] convexHulls, int[] convexHullSizes, int firstSet, int lastSet)
+		{
+			this.coordinates = coordinates;
+			this.offsets = offsets;
+			this.convexHulls = convexHulls;
+			this.convexHullSizes = convexHullSizes;
+			this.firstSet = firstSet;
+			this.lastSet = lastSet;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(lastSet - firstSet > 1 && offsets[lastSet] - offsets[firstSet] > ConvexHull.DEFAULT_SEQUENTIAL_CUTOFF)
+			{
+				int middle = (firstSet + lastSet) >>> 1;
+				
+				invokeAll(new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, firstSet, middle),
+						  new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, middle, lastSet));
+				return;
+			}
+			
+			HullWorkspace workspace = HullWorkspace.current();
+			
+			for (int set = firstSet; set < lastSet; set++)
+			{
+				convexHullSizes[set] = workspace.monotoneChain(coordinates, offsets[set], offsets[set + 1], convexHulls, offsets[set]);
+			}
+		}
+	}
+}
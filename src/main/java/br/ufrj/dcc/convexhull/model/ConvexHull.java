@@ -1,10 +1,12 @@
 package br.ufrj.dcc.convexhull.model;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * This class is a convex hull calculator.
@@ -16,53 +18,1096 @@ public class ConvexHull
 {
 	protected static final boolean IS_FIRST_HALF = true;
 	protected static final boolean IS_NOT_FIRST_HALF = false;
+	
+	public static final int DEFAULT_BASE_CASE_THRESHOLD = 16;
+	public static final int DEFAULT_SEQUENTIAL_CUTOFF = 8192;
+	
+	// smaller groups cost more to sort and wrap than they save on hulls with a few points
+	private static final int CHAN_INITIAL_GROUP_SIZE = 64;
 
 	/**
-	 * Basic idea: Given a set of points P, test each line segment 
-	 * to see if it makes up an edge of the convex hull.
+	 * Basic idea: Given a set of points P, test each line segment 
+	 * to see if it makes up an edge of the convex hull.
+	 * 
+	 * Complexity: O(n3)
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull i.e a set of points
+	 * @see http://www.cs.jhu.edu/~misha/Fall05/09.13.05.pdf 
+	 */
+	public static List<Point> bruteForce(List<Point> points)
+	{
+		Set<LineSegment> lines = getAllPossibleLineSegment(points);
+		List<Point> pointsOnConvexHull = checkIfEachLineSegmentMakesAnEdgeOfConvexHull(points, lines);
+		
+		return pointsOnConvexHull;
+	}
+	
+	/**
+	 * Same idea as {@link #bruteForce(List)}, over a set of primitive points. The line from a point
+	 * A to another point B makes a counterclockwise edge of the convex hull when no point is strictly
+	 * on its right and every point on the line is between A and B. Each point has at most one such
+	 * edge, so the hull is walked edge by edge from its lowest point.
+	 * 
+	 * Unlike {@link #bruteForce(List)}, the hull is returned as {@link #monotoneChain(PointSet)} returns 
+	 * it: in counterclockwise order, starting at the point with the lowest x coordinate (lowest y on 
+	 * ties), without collinear points and with a single index for repeated points.
+	 * 
+	 * Complexity: O(n3)
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] bruteForce(PointSet points)
+	{
+		int size = points.size();
+		
+		if(size == 0)
+		{
+			return new int[0];
+		}
+		
+		PointKernels kernels = PointKernels.get();
+		boolean[] isRepeated = new boolean[size];
+		int[] nextPoints = new int[size];
+		
+		for (int a = 0; a < size; a++)
+		{
+			for (int b = a + 1; b < size && !isRepeated[a]; b++)
+			{
+				isRepeated[b] |= points.compare(a, b) == 0;
+			}
+		}
+		
+		for (int a = 0; a < size; a++)
+		{
+			nextPoints[a] = -1;
+			
+			for (int b = 0; b < size && !isRepeated[a] && nextPoints[a] < 0; b++)
+			{
+				if(b != a && !isRepeated[b] && (kernels.getSides(points, 0, size, a, b) & PointKernels.RIGHT_SIDE) == 0
+						&& isEveryPointOnTheLineBetween(points, a, b))
+				{
+					nextPoints[a] = b;
+				}
+			}
+		}
+		
+		int lowest = kernels.getLowestPoint(points, 0, size);
+		int[] convexHull = new int[size];
+		int convexHullSize = 0;
+		
+		for (int point = lowest; point >= 0 && convexHullSize < size; point = nextPoints[point])
+		{
+			convexHull[convexHullSize++] = point;
+			
+			if(nextPoints[point] == lowest)
+			{
+				break;
+			}
+		}
+		
+		return Arrays.copyOf(convexHull, convexHullSize);
+	}
+	
+	/**
+	 * Basic idea: Sort the points by x coordinate (ties broken by y) and build the 
+	 * lower and upper hulls in two sweeps, popping every point that does not make 
+	 * a counterclockwise turn (Andrew's monotone chain).
+	 * 
+	 * The given list is not modified. The hull is returned in counterclockwise order,
+	 * starting at the point with the lowest x coordinate (lowest y on ties), 
+	 * without collinear points.
+	 * 
+	 * Complexity: O(nlogn)
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 * @see https://en.wikibooks.org/wiki/Algorithm_Implementation/Geometry/Convex_hull/Monotone_chain
+	 */
+	public static List<Point> monotoneChain(List<Point> points)
+	{
+		return getPoints(points, monotoneChain(PointSet.fromPoints(points)));
+	}
+	
+	/**
+	 * Same as {@link #monotoneChain(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] monotoneChain(PointSet points)
+	{
+		int[] sortedIndices = IndexSort.sortedIndices(points);
+		int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, sortedIndices.length);
+		
+		return monotoneChainOfSortedIndices(points, sortedIndices, 0, distinctPoints);
+	}
+	
+	/**
+	 * Same as {@link #monotoneChain(PointSet)}, writing the hull to a given buffer. The scratch arrays
+	 * are kept by the current thread and reused, so once they have grown to the size of the input
+	 * this method allocates nothing.
+	 * 
+	 * @param points a given set of points P
+	 * @param convexHull the buffer receiving the hull, with at least as many positions as points
+	 * @return the number of points on the convex hull
+	 * @see HullWorkspace
+	 */
+	public static int monotoneChain(PointSet points, int[] convexHull)
+	{
+		return HullWorkspace.current().monotoneChain(points, convexHull);
+	}
+	
+	/**
+	 * Builds the convex hull of the points between <b>from</b> (inclusive) and <b>to</b> (exclusive)
+	 * of a list of distinct points already sorted by x coordinate (ties broken by y).
+	 * 
+	 * @param points a given set of points
+	 * @param sortedIndices the indices of distinct points sorted by x and y coordinates
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	protected static int[] monotoneChainOfSortedIndices(PointSet points, int[] sortedIndices, int from, int to)
+	{
+		int[] hull = new int[2 * (to - from) + 1];
+		int convexHullSize = monotoneChainOfSortedIndices(points, sortedIndices, from, to, hull);
+		
+		return Arrays.copyOf(hull, convexHullSize);
+	}
+	
+	/**
+	 * Same as {@link #monotoneChainOfSortedIndices(PointSet, int[], int, int)}, writing the hull 
+	 * to the beginning of a given buffer instead of allocating it.
+	 * 
+	 * @param points a given set of points
+	 * @param sortedIndices the indices of distinct points sorted by x and y coordinates
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param hull a buffer with at least 2 * (to - from) + 1 positions
+	 * @return the number of points on the convex hull
+	 */
+	protected static int monotoneChainOfSortedIndices(PointSet points, int[] sortedIndices, int from, int to, int[] hull)
+	{
+		int hullSize = 0;
+		
+		for (int i = from; i < to; i++)
+		{
+			int point = sortedIndices[i];
+			
+			while(hullSize >= 2 && crossProduct(points, hull[hullSize - 2], hull[hullSize - 1], point) <= 0.0)
+			{
+				hullSize--;
+			}
+			
+			hull[hullSize++] = point;
+		}
+		
+		int lowerHullSize = hullSize + 1;
+		
+		for (int i = to - 2; i >= from; i--)
+		{
+			int point = sortedIndices[i];
+			
+			while(hullSize >= lowerHullSize && crossProduct(points, hull[hullSize - 2], hull[hullSize - 1], point) <= 0.0)
+			{
+				hullSize--;
+			}
+			
+			hull[hullSize++] = point;
+		}
+		
+		// the last point of the upper hull is the first point of the lower hull
+		return hullSize > 1 ? hullSize - 1 : hullSize;
+	}
+	
+	/**
+	 * Computes the cross product of the vectors OA and OB. It is positive if O, A and B
+	 * make a counterclockwise turn, negative for a clockwise turn and zero if they are collinear.
+	 * 
+	 * @param points a given set of points
+	 * @param o the index of the origin point
+	 * @param a the index of a given point A
+	 * @param b the index of a given point B
+	 * @return the cross product of OA and OB
+	 */
+	protected static double crossProduct(PointSet points, int o, int a, int b)
+	{
+		return crossProduct(points.xs[o], points.ys[o], points.xs[a], points.ys[a], points.xs[b], points.ys[b]);
+	}
+	
+	/**
+	 * Computes the cross product of the vectors OA and OB given by their coordinates.
+	 * Its sign is exact, so nearly collinear points are never taken for a turn.
+	 * 
+	 * @return the cross product of OA and OB
+	 * @see #crossProduct(PointSet, int, int, int)
+	 * @see RobustPredicates#orient2d(double, double, double, double, double, double)
+	 */
+	protected static double crossProduct(double ox, double oy, double ax, double ay, double bx, double by)
+	{
+		return RobustPredicates.orient2d(ox, oy, ax, ay, bx, by);
+	}
+	
+	/**
+	 * Basic idea: Finding the convex hull of small sets is easier than finding
+	 * the hull of large ones.
+	 * 
+	 * The first small set consists of half the points with the lowest x coordinates
+	 * and the second small set consists of half the points with the highest x coordinates.
+	 * Each half is solved recursively until it has at most {@link #DEFAULT_BASE_CASE_THRESHOLD} 
+	 * points, and the two hulls are merged by walking their lower and upper tangents.
+	 * 
+	 * The given list is not modified. The hull is returned in counterclockwise order,
+	 * starting at the point with the lowest x coordinate (lowest y on ties).
+	 * 
+	 * Complexity: O(nlogn)
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> divideAndConquer(List<Point> points)
+	{
+		return divideAndConquer(points, DEFAULT_BASE_CASE_THRESHOLD);
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(List)}, but stops the recursion when a subset has 
+	 * at most <b>baseCaseThreshold</b> points, solving it directly.
+	 * 
+	 * @param points a given set of points P
+	 * @param baseCaseThreshold the maximum size of a subset solved without splitting it
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> divideAndConquer(List<Point> points, int baseCaseThreshold)
+	{
+		return getPoints(points, divideAndConquer(PointSet.fromPoints(points), baseCaseThreshold));
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] divideAndConquer(PointSet points)
+	{
+		return divideAndConquer(points, DEFAULT_BASE_CASE_THRESHOLD);
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(List, int)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @param baseCaseThreshold the maximum size of a subset solved without splitting it
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] divideAndConquer(PointSet points, int baseCaseThreshold)
+	{
+		if(baseCaseThreshold < 1)
+		{
+			throw new IllegalArgumentException("The base case threshold must be positive: " + baseCaseThreshold);
+		}
+		
+		HullRecorder recorder = HullRecorder.start(Algorithm.DIVIDE_AND_CONQUER, points.size());
+		
+		if(recorder != null)
+		{
+			return divideAndConquer(points, baseCaseThreshold, recorder);
+		}
+		
+		int[] sortedIndices = IndexSort.sortedIndices(points);
+		int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, sortedIndices.length);
+		
+		return divideAndConquer(points, sortedIndices, 0, distinctPoints, baseCaseThreshold);
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(PointSet, int)}, recording the time of each phase.
+	 * 
+	 * @see HullInstrumentation
+	 */
+	private static int[] divideAndConquer(PointSet points, int baseCaseThreshold, HullRecorder recorder)
+	{
+		long time = System.nanoTime();
+		
+		int[] sortedIndices = IndexSort.sortedIndices(points);
+		int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, sortedIndices.length);
+		
+		recorder.endPhase(HullMetrics.Phase.SORT, time);
+		
+		int[] convexHull = new int[distinctPoints];
+		int[] buffer = new int[Math.max(distinctPoints, 2 * Math.min(distinctPoints, baseCaseThreshold) + 1)];
+		
+		int convexHullSize = divideAndConquer(points, sortedIndices, 0, distinctPoints, baseCaseThreshold, convexHull, 0, buffer, recorder);
+		convexHull = Arrays.copyOf(convexHull, convexHullSize);
+		
+		recorder.finish(convexHullSize);
+		
+		return convexHull;
+	}
+	
+	/**
+	 * Computes the convex hull of the points between <b>from</b> (inclusive) and <b>to</b> (exclusive)
+	 * of a list of distinct points sorted by x and y coordinates.
+	 * 
+	 * @param points a given set of points
+	 * @param sortedIndices the indices of distinct points sorted by x and y coordinates
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param baseCaseThreshold the maximum size of a subset solved without splitting it
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	protected static int[] divideAndConquer(PointSet points, int[] sortedIndices, int from, int to, int baseCaseThreshold)
+	{
+		int[] convexHull = new int[to - from];
+		int[] buffer = new int[Math.max(to - from, 2 * Math.min(to - from, baseCaseThreshold) + 1)];
+		
+		int convexHullSize = divideAndConquer(points, sortedIndices, from, to, baseCaseThreshold, convexHull, 0, buffer, null);
+		
+		return Arrays.copyOf(convexHull, convexHullSize);
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(PointSet, int[], int, int, int)}, writing the hull to a given
+	 * array instead of allocating it. The hulls of both halves are written next to each other,
+	 * merged into the buffer and copied back, so the whole recursion only uses these two arrays.
+	 * 
+	 * @param points a given set of points
+	 * @param sortedIndices the indices of distinct points sorted by x and y coordinates
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param baseCaseThreshold the maximum size of a subset solved without splitting it
+	 * @param convexHull the array receiving the hull, with at least to - from positions after <b>position</b>
+	 * @param position the position of the first point of the hull in the array
+	 * @param buffer a buffer with at least max(to - from, 2 * baseCaseThreshold + 1) positions
+	 * @param recorder the recorder of the phases, or null
+	 * @return the number of points on the convex hull
+	 */
+	private static int divideAndConquer(PointSet points, int[] sortedIndices, int from, int to, int baseCaseThreshold, int[] convexHull, int position, int[] buffer, HullRecorder recorder)
+	{
+		long time = recorder != null ? System.nanoTime() : 0L;
+		
+		if(to - from <= baseCaseThreshold)
+		{
+			int convexHullSize = monotoneChainOfSortedIndices(points, sortedIndices, from, to, buffer);
+			System.arraycopy(buffer, 0, convexHull, position, convexHullSize);
+			
+			if(recorder != null)
+			{
+				recorder.endPhase(HullMetrics.Phase.BASE_CASE, time);
+			}
+			
+			return convexHullSize;
+		}
+		
+		int middle = (from + to) >>> 1;
+		int secondPosition = position + middle - from;
+		
+		if(recorder != null)
+		{
+			recorder.endPhase(HullMetrics.Phase.SPLIT, time);
+			recorder.enter();
+		}
+		
+		int firstSize = divideAndConquer(points, sortedIndices, from, middle, baseCaseThreshold, convexHull, position, buffer, recorder);
+		int secondSize = divideAndConquer(points, sortedIndices, middle, to, baseCaseThreshold, convexHull, secondPosition, buffer, recorder);
+		
+		if(recorder != null)
+		{
+			recorder.exit();
+		}
+		
+		int convexHullSize = mergeHulls(points, convexHull, position, firstSize, convexHull, secondPosition, secondSize, buffer, 0, recorder);
+		
+		if(recorder != null)
+		{
+			time = System.nanoTime();
+		}
+		
+		System.arraycopy(buffer, 0, convexHull, position, convexHullSize);
+		
+		if(recorder != null)
+		{
+			recorder.endPhase(HullMetrics.Phase.MERGE, time);
+		}
+		
+		return convexHullSize;
+	}
+	
+	/**
+	 * Same as {@link #divideAndConquer(List)}, but the two halves are solved in parallel as 
+	 * fork/join tasks on the common pool, and the points are sorted in parallel.
+	 * Subsets with at most {@link #DEFAULT_SEQUENTIAL_CUTOFF} points are solved sequentially.
+	 * 
+	 * Complexity: O(nlogn)
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> parallelDivideAndConquer(List<Point> points)
+	{
+		return parallelDivideAndConquer(points, DEFAULT_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Same as {@link #parallelDivideAndConquer(List)}, running the tasks on a given pool.
+	 * 
+	 * @param points a given set of points P
+	 * @param sequentialCutoff the maximum size of a subset solved without forking new tasks
+	 * @param pool the pool that runs the tasks
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> parallelDivideAndConquer(List<Point> points, int sequentialCutoff, ForkJoinPool pool)
+	{
+		return getPoints(points, parallelDivideAndConquer(PointSet.fromPoints(points), sequentialCutoff, pool));
+	}
+	
+	/**
+	 * Same as {@link #parallelDivideAndConquer(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] parallelDivideAndConquer(PointSet points)
+	{
+		return parallelDivideAndConquer(points, DEFAULT_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Same as {@link #parallelDivideAndConquer(List, int, ForkJoinPool)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @param sequentialCutoff the maximum size of a subset solved without forking new tasks
+	 * @param pool the pool that runs the tasks
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] parallelDivideAndConquer(PointSet points, int sequentialCutoff, ForkJoinPool pool)
+	{
+		if(sequentialCutoff < 1)
+		{
+			throw new IllegalArgumentException("The sequential cutoff must be positive: " + sequentialCutoff);
+		}
+		
+		int[] sortedIndices = IndexSort.parallelSortedIndices(points, pool);
+		int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, sortedIndices.length);
+		
+		return pool.invoke(new DivideAndConquerTask(points, sortedIndices, 0, distinctPoints, sequentialCutoff));
+	}
+	
+	/**
+	 * Basic idea: Split the points in groups of m points and compute the convex hull of each group.
+	 * Then wrap the whole set starting at its lowest point in (x, y) order (Jarvis march): at each step 
+	 * the next point of the hull is the tangent from the current point to one of the small hulls,
+	 * and each tangent is found by binary search. When the hull has more than m points, the march
+	 * is stopped and restarted with m squared (Chan's algorithm), starting with m = 64.
+	 * 
+	 * The given list is not modified. The hull is returned in counterclockwise order,
+	 * starting at the point with the lowest x coordinate (lowest y on ties), 
+	 * without collinear points.
+	 * 
+	 * Complexity: O(nlogh), where h is the size of the hull
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 * @see https://en.wikipedia.org/wiki/Chan%27s_algorithm
+	 */
+	public static List<Point> chan(List<Point> points)
+	{
+		return getPoints(points, chan(PointSet.fromPoints(points)));
+	}
+	
+	/**
+	 * Same as {@link #chan(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] chan(PointSet points)
+	{
+		int size = points.size();
+		
+		if(size == 0)
+		{
+			return new int[0];
+		}
+		
+		int first = 0;
+		
+		for (int i = 1; i < size; i++)
+		{
+			if(points.compare(i, first) < 0)
+			{
+				first = i;
+			}
+		}
+		
+		int[] indices = new int[size];
+		
+		for (int groupSize = CHAN_INITIAL_GROUP_SIZE; ; groupSize = groupSize >= size / groupSize ? size : groupSize * groupSize)
+		{
+			int[] convexHull = chan(points, indices, first, Math.min(groupSize, size));
+			
+			if(convexHull != null)
+			{
+				return convexHull;
+			}
+		}
+	}
+	
+	/**
+	 * Runs one round of {@link #chan(PointSet)} with a given group size.
+	 * 
+	 * @param points a given set of points
+	 * @param indices a buffer of the size of the set
+	 * @param first the index of the lowest point in (x, y) order
+	 * @param groupSize the number of points of each group, also the maximum size of the hull
+	 * @return the indices of the points on the convex hull, or <b>null</b> if it has more than <b>groupSize</b> points
+	 */
+	private static int[] chan(PointSet points, int[] indices, int first, int groupSize)
+	{
+		int size = points.size();
+		int groupCount = (size + groupSize - 1) / groupSize;
+		int[][] groupHulls = new int[groupCount][];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		for (int group = 0; group < groupCount; group++)
+		{
+			int from = group * groupSize;
+			int to = Math.min(from + groupSize, size);
+			
+			IndexSort.sort(points, indices, from, to);
+			int distinctPoints = IndexSort.removeRepeatedPoints(points, indices, from, to);
+			
+			groupHulls[group] = monotoneChainOfSortedIndices(points, indices, from, distinctPoints);
+		}
+		
+		int[] convexHull = new int[groupSize];
+		int convexHullSize = 0;
+		
+		// the current point is a vertex of the hull of its own group, where the next point is its successor
+		int current = first;
+		int currentGroup = first / groupSize;
+		int currentPosition = 0;
+		
+		while(true)
+		{
+			convexHull[convexHullSize++] = current;
+			
+			int next = -1;
+			int nextGroup = -1;
+			int nextPosition = -1;
+			
+			for (int group = 0; group < groupCount; group++)
+			{
+				int[] groupHull = groupHulls[group];
+				int position = group == currentGroup ? (currentPosition + 1) % groupHull.length : findRightTangent(points, groupHull, current);
+				int candidate = groupHull[position];
+				
+				if(points.compare(candidate, current) != 0 && (next == -1 || isMoreClockwise(points, current, next, candidate)))
+				{
+					next = candidate;
+					nextGroup = group;
+					nextPosition = position;
+				}
+			}
+			
+			if(next == -1 || points.compare(next, first) == 0)
+			{
+				return Arrays.copyOf(convexHull, convexHullSize);
+			}
+			
+			if(convexHullSize == groupSize)
+			{
+				return null;
+			}
+			
+			current = next;
+			currentGroup = nextGroup;
+			currentPosition = nextPosition;
+		}
+	}
+	
+	/**
+	 * Checks if a candidate for the next point of a hull, seen from its current point, is on the right
+	 * of the best candidate so far, or on the same line and further.
+	 */
+	private static boolean isMoreClockwise(PointSet points, int current, int best, int candidate)
+	{
+		double orientation = crossProduct(points, current, best, candidate);
+		
+		if(orientation != 0.0)
+		{
+			return orientation < 0.0;
+		}
+		
+		return isFurtherOnRay(points, current, best, candidate);
+	}
+	
+	/**
+	 * Checks if a point is further than another one on the same ray from <b>p</b>, with an exact sign. 
+	 * The rounded squared distances of two such points may be equal.
+	 */
+	private static boolean isFurtherOnRay(PointSet points, int p, int best, int candidate)
+	{
+		return RobustPredicates.dotProduct(points.xs[p], points.ys[p], points.xs[best], points.ys[best], points.xs[best], points.ys[best], points.xs[candidate], points.ys[candidate]) > 0.0;
+	}
+	
+	/**
+	 * Finds the point of a convex hull such that every point of the hull is on the left of
+	 * or on the line from a given point to it, the furthest one on ties.
+	 * 
+	 * The point is found by binary search over the hull. The given point is a vertex of the hull
+	 * of the whole set, so it is outside of the small hull unless it is repeated in it. The result 
+	 * is checked against its neighbours, falling back to a linear scan for repeated points or
+	 * when rounding breaks the search.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of a convex hull in counterclockwise order, without collinear points
+	 * @param p the index of the given point
+	 * @return the position of the tangent point in the hull
+	 */
+	private static int findRightTangent(PointSet points, int[] convexHull, int p)
+	{
+		int size = convexHull.length;
+		
+		if(size > 3)
+		{
+			int tangent = binarySearchRightTangent(points, convexHull, p);
+			int previous = convexHull[(tangent + size - 1) % size];
+			int next = convexHull[(tangent + 1) % size];
+			
+			double previousOrientation = crossProduct(points, p, convexHull[tangent], previous);
+			double nextOrientation = crossProduct(points, p, convexHull[tangent], next);
+			
+			if(previousOrientation >= 0.0 && nextOrientation >= 0.0 && points.compare(convexHull[tangent], p) != 0)
+			{
+				if(nextOrientation == 0.0 && isFurtherOnRay(points, p, convexHull[tangent], next))
+				{
+					return (tangent + 1) % size;
+				}
+				
+				if(previousOrientation == 0.0 && isFurtherOnRay(points, p, convexHull[tangent], previous))
+				{
+					return (tangent + size - 1) % size;
+				}
+				
+				return tangent;
+			}
+		}
+		
+		int tangent = -1;
+		
+		for (int i = 0; i < size; i++)
+		{
+			if(points.compare(convexHull[i], p) != 0 && (tangent == -1 || isMoreClockwise(points, p, convexHull[tangent], convexHull[i])))
+			{
+				tangent = i;
+			}
+		}
+		
+		return tangent == -1 ? 0 : tangent;
+	}
+	
+	/**
+	 * Binary search for {@link #findRightTangent(PointSet, int[], int)}.
+	 * 
+	 * Seen from the given point, the edges of the hull turn counterclockwise on one chain and 
+	 * clockwise on the other one, and the tangent point is where the clockwise chain ends.
+	 * Comparing each point with the first one of the hull tells if it comes before or after 
+	 * the tangent point, starting from the first one.
+	 * 
+	 * @return the position of the tangent point in the hull
+	 */
+	private static int binarySearchRightTangent(PointSet points, int[] convexHull, int p)
+	{
+		int size = convexHull.length;
+		boolean isFirstEdgeCounterclockwise = isEdgeCounterclockwise(points, convexHull, p, 0);
+		boolean isLastEdgeCounterclockwise = isEdgeCounterclockwise(points, convexHull, p, size - 1);
+		
+		if(isFirstEdgeCounterclockwise && !isLastEdgeCounterclockwise)
+		{
+			return 0;
+		}
+		
+		int low = 1;
+		int high = size - 1;
+		
+		while(low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			boolean isAfterTangent;
+			double orientation = crossProduct(points, p, convexHull[0], convexHull[middle]);
+			
+			if(isFirstEdgeCounterclockwise)
+			{
+				// the first point is on the counterclockwise chain
+				isAfterTangent = isEdgeCounterclockwise(points, convexHull, p, middle) && orientation < 0.0;
+			}
+			else
+			{
+				// the first point is on the clockwise chain
+				isAfterTangent = isEdgeCounterclockwise(points, convexHull, p, middle) || orientation > 0.0;
+			}
+			
+			if(isAfterTangent)
+			{
+				high = middle;
+			}
+			else
+			{
+				low = middle + 1;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * Checks if an edge of a hull turns counterclockwise around a given point. An edge on a line
+	 * through the point turns counterclockwise if it goes away from the point.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of a convex hull in counterclockwise order
+	 * @param p the index of the given point
+	 * @param edge the position of the first point of the edge
+	 * @return <b>true</b> if the edge turns counterclockwise <b>false</b> if not
+	 */
+	private static boolean isEdgeCounterclockwise(PointSet points, int[] convexHull, int p, int edge)
+	{
+		int a = convexHull[edge];
+		int b = convexHull[(edge + 1) % convexHull.length];
+		double orientation = crossProduct(points, p, a, b);
+		
+		if(orientation != 0.0)
+		{
+			return orientation > 0.0;
+		}
+		
+		return RobustPredicates.dotProduct(points.xs[a], points.ys[a], points.xs[b], points.ys[b], points.xs[p], points.ys[p], points.xs[a], points.ys[a]) > 0.0;
+	}
+	
+	/**
+	 * Basic idea: The lowest and the highest points in (x, y) order are on the convex hull and split
+	 * the other points in the ones below and above the line through them. For each side, the point 
+	 * furthest from the line is on the hull, every point inside the triangle it makes with the line 
+	 * is discarded, and the points outside the two new edges are solved recursively (Quickhull).
+	 * 
+	 * The points are partitioned in place around the furthest point, without looking for a median.
+	 * 
+	 * The given list is not modified. The hull is returned in counterclockwise order,
+	 * starting at the point with the lowest x coordinate (lowest y on ties), 
+	 * without collinear points.
+	 * 
+	 * Complexity: O(nlogh) expected, O(n2) in the worst case
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 * @see https://en.wikipedia.org/wiki/Quickhull
+	 */
+	public static List<Point> quickhull(List<Point> points)
+	{
+		return getPoints(points, quickhull(PointSet.fromPoints(points)));
+	}
+	
+	/**
+	 * Same as {@link #quickhull(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] quickhull(PointSet points)
+	{
+		int size = points.size();
+		
+		if(size == 0)
+		{
+			return new int[0];
+		}
+		
+		int lowest = PointKernels.get().getLowestPoint(points, 0, size);
+		int highest = PointKernels.get().getHighestPoint(points, 0, size);
+		
+		if(points.compare(lowest, highest) == 0)
+		{
+			return new int[] {lowest};
+		}
+		
+		// the points below the line go first, the points above it go last
+		int[] indices = new int[size];
+		int below = 0;
+		int above = size;
+		
+		for (int i = 0; i < size; i++)
+		{
+			double orientation = crossProduct(points, lowest, highest, i);
+			
+			if(orientation < 0.0)
+			{
+				indices[below++] = i;
+			}
+			else if(orientation > 0.0)
+			{
+				indices[--above] = i;
+			}
+		}
+		
+		int[] convexHull = new int[size];
+		int convexHullSize = 0;
+		
+		convexHull[convexHullSize++] = lowest;
+		convexHullSize = quickhull(points, indices, 0, below, lowest, highest, convexHull, convexHullSize);
+		convexHull[convexHullSize++] = highest;
+		convexHullSize = quickhull(points, indices, above, size, highest, lowest, convexHull, convexHullSize);
+		
+		return Arrays.copyOf(convexHull, convexHullSize);
+	}
+	
+	/**
+	 * Appends to a hull the points of the convex hull strictly between <b>p</b> and <b>q</b>, given the points 
+	 * between <b>from</b> (inclusive) and <b>to</b> (exclusive) which are strictly on the right of the line from p to q.
 	 * 
-	 * Complexity: O(n3)
+	 * @param points a given set of points
+	 * @param indices the indices of the points, partitioned in place
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param p the index of the first point of the edge
+	 * @param q the index of the last point of the edge
+	 * @param convexHull the hull being built
+	 * @param convexHullSize the number of points of the hull so far
+	 * @return the number of points of the hull
+	 */
+	protected static int quickhull(PointSet points, int[] indices, int from, int to, int p, int q, int[] convexHull, int convexHullSize)
+	{
+		if(from == to)
+		{
+			return convexHullSize;
+		}
+		
+		int furthest = getFurthestPoint(points, indices, from, to, p, q);
+		
+		// the points outside of the first edge go first, the points outside of the second edge go next
+		int firstEnd = from;
+		int secondEnd = from;
+		
+		for (int i = from; i < to; i++)
+		{
+			int index = indices[i];
+			
+			if(crossProduct(points, p, furthest, index) < 0.0)
+			{
+				indices[i] = indices[secondEnd];
+				indices[secondEnd++] = indices[firstEnd];
+				indices[firstEnd++] = index;
+			}
+			else if(crossProduct(points, furthest, q, index) < 0.0)
+			{
+				indices[i] = indices[secondEnd];
+				indices[secondEnd++] = index;
+			}
+		}
+		
+		convexHullSize = quickhull(points, indices, from, firstEnd, p, furthest, convexHull, convexHullSize);
+		convexHull[convexHullSize++] = furthest;
+		
+		return quickhull(points, indices, firstEnd, secondEnd, furthest, q, convexHull, convexHullSize);
+	}
+	
+	/**
+	 * Returns the point of a range which is furthest on the right of the line from <b>p</b> to <b>q</b>.
+	 * 
+	 * @return the index of the furthest point
+	 * @see #isFurther(PointSet, int, int, int, int)
+	 */
+	protected static int getFurthestPoint(PointSet points, int[] indices, int from, int to, int p, int q)
+	{
+		return PointKernels.get().getFurthestPoint(points, indices, from, to, p, q);
+	}
+	
+	/**
+	 * Checks if a point is further on the right of the line from <b>p</b> to <b>q</b> than another one.
+	 * On ties, the one further in the direction from p to q is the furthest one, so the other ones are 
+	 * on the new edge of the hull and not on the hull. Both comparisons are exact, with {@link RobustPredicates}.
+	 * 
+	 * @param points a given set of points
+	 * @param p the index of the first point of the line
+	 * @param q the index of the second point of the line
+	 * @param candidate the index of a given point
+	 * @param furthest the index of the furthest point so far
+	 * @return <b>true</b> if the given point is further <b>false</b> if not
+	 */
+	protected static boolean isFurther(PointSet points, int p, int q, int candidate, int furthest)
+	{
+		double px = points.xs[p];
+		double py = points.ys[p];
+		double qx = points.xs[q];
+		double qy = points.ys[q];
+		
+		// the difference of the orientations of both points to the line, the sign of the exact one
+		double comparison = RobustPredicates.crossProduct(px, py, qx, qy, points.xs[furthest], points.ys[furthest], points.xs[candidate], points.ys[candidate]);
+		
+		if(comparison != 0.0)
+		{
+			return comparison < 0.0;
+		}
+		
+		return RobustPredicates.dotProduct(px, py, qx, qy, points.xs[furthest], points.ys[furthest], points.xs[candidate], points.ys[candidate]) > 0.0;
+	}
+	
+	/**
+	 * Same as {@link #quickhull(List)}, but the points on each side of an edge are searched and 
+	 * partitioned in parallel, and the two sides of each new point are solved in parallel as 
+	 * fork/join tasks on the common pool. Edges with at most {@link #DEFAULT_SEQUENTIAL_CUTOFF} 
+	 * points outside of them are solved sequentially.
+	 * 
+	 * Unlike {@link #parallelDivideAndConquer(List)}, the work is split by the shape of the hull,
+	 * not by x coordinate, so clustered points are balanced.
+	 * 
+	 * Complexity: O(nlogh) expected, O(n2) in the worst case
 	 * 
 	 * @param points a given set of points P
-	 * @return the convex hull i.e a set of points
-	 * @see http://www.cs.jhu.edu/~misha/Fall05/09.13.05.pdf 
+	 * @return the convex hull in counterclockwise order
 	 */
-	public static List<Point> bruteForce(List<Point> points)
+	public static List<Point> parallelQuickhull(List<Point> points)
 	{
-		Set<LineSegment> lines = getAllPossibleLineSegment(points);
-		List<Point> pointsOnConvexHull = checkIfEachLineSegmentMakesAnEdgeOfConvexHull(points, lines);
+		return parallelQuickhull(points, DEFAULT_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Same as {@link #parallelQuickhull(List)}, running the tasks on a given pool.
+	 * 
+	 * @param points a given set of points P
+	 * @param sequentialCutoff the maximum number of points a task handles without forking new tasks
+	 * @param pool the pool that runs the tasks
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> parallelQuickhull(List<Point> points, int sequentialCutoff, ForkJoinPool pool)
+	{
+		return getPoints(points, parallelQuickhull(PointSet.fromPoints(points), sequentialCutoff, pool));
+	}
+	
+	/**
+	 * Same as {@link #parallelQuickhull(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] parallelQuickhull(PointSet points)
+	{
+		return parallelQuickhull(points, DEFAULT_SEQUENTIAL_CUTOFF, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Same as {@link #parallelQuickhull(List, int, ForkJoinPool)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points P
+	 * @param sequentialCutoff the maximum number of points a task handles without forking new tasks
+	 * @param pool the pool that runs the tasks
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] parallelQuickhull(PointSet points, int sequentialCutoff, ForkJoinPool pool)
+	{
+		if(sequentialCutoff < 1)
+		{
+			throw new IllegalArgumentException("The sequential cutoff must be positive: " + sequentialCutoff);
+		}
 		
-		return pointsOnConvexHull;
+		return pool.invoke(new QuickhullTask(points, sequentialCutoff));
 	}
 	
 	/**
-	 * Basic idea: Finding the convex hull of small sets is easier than finding
-	 * the hull of large ones.
+	 * Computes the convex hull of a set of points with a given algorithm.
 	 * 
-	 * The first small set consists of half the points with the lowest x coordinates
-	 * and the second small set consists of half the points with the highest x coordinates.
+	 * @param points a given set of points P
+	 * @param algorithm the algorithm that computes the hull
+	 * @return the convex hull, in the order of the algorithm
+	 */
+	public static List<Point> compute(List<Point> points, Algorithm algorithm)
+	{
+		return getPoints(points, compute(PointSet.fromPoints(points), algorithm));
+	}
+	
+	/**
+	 * Same as {@link #compute(List, Algorithm)}, over a set of primitive points.
 	 * 
-	 * Complexity: O(nlogn)
+	 * @param points a given set of points P
+	 * @param algorithm the algorithm that computes the hull
+	 * @return the indices of the points on the convex hull, in the order of the algorithm
+	 */
+	public static int[] compute(PointSet points, Algorithm algorithm)
+	{
+		HullRecorder recorder = startRecorder(algorithm, points.size());
+		int[] convexHull = algorithm.compute(points);
+		
+		if(recorder != null)
+		{
+			recorder.finish(convexHull.length);
+		}
+		
+		return convexHull;
+	}
+	
+	/**
+	 * Same as {@link #compute(PointSet, Algorithm)}, running the algorithm only on the points kept by a filter.
 	 * 
 	 * @param points a given set of points P
-	 * @return
+	 * @param algorithm the algorithm that computes the hull
+	 * @param filter the filter that discards points before the algorithm runs
+	 * @return the indices of the points on the convex hull, in the order of the algorithm
 	 */
-	public static List<Point> divideAndConquer(List<Point> points)
+	public static int[] compute(PointSet points, Algorithm algorithm, PointFilter filter)
 	{
-		Collections.sort(points);
+		HullRecorder recorder = startRecorder(algorithm, points.size());
+		int[] survivors = filter.filter(points);
+		int[] convexHull = algorithm.compute(points.subset(survivors));
+		
+		for (int i = 0; i < convexHull.length; i++)
+		{
+			convexHull[i] = survivors[convexHull[i]];
+		}
 		
-		List<Point> firstSmallSet = splitSet(points, IS_FIRST_HALF);
-		List<Point> secondSmallSet = splitSet(points, IS_NOT_FIRST_HALF);
+		if(recorder != null)
+		{
+			recorder.finish(convexHull.length);
+		}
 		
-		List<Point> firstSetPointsOnConvexHull = bruteForce(firstSmallSet);
-		List<Point> secondSetPointsOnConvexHull = bruteForce(secondSmallSet);
-
-		sortPointsClockwiseOrder(firstSetPointsOnConvexHull);
-		sortPointsCounterClockwiseOrder(secondSetPointsOnConvexHull);
+		return convexHull;
+	}
+	
+	/**
+	 * Starts recording the sizes, the time and the orientation tests of a computation, without its phases.
+	 * 
+	 * @return a recorder, or null if the instrumentation is disabled or the algorithm records its own metrics
+	 */
+	private static HullRecorder startRecorder(Algorithm algorithm, int inputSize)
+	{
+		// divide and conquer records its metrics itself, with the time of each phase
+		return algorithm == Algorithm.DIVIDE_AND_CONQUER ? null : HullRecorder.start(algorithm, inputSize);
+	}
+	
+	/**
+	 * Returns the points of a given list at the given indices.
+	 * 
+	 * @param points a given list of points
+	 * @param indices the indices of the points to return
+	 * @return the points at those indices, in the same order
+	 */
+	private static List<Point> getPoints(List<Point> points, int[] indices)
+	{
+		List<Point> selectedPoints = new ArrayList<Point>(indices.length);
 		
-		List<Point> pointsOnConvexHull = mergeHulls(firstSetPointsOnConvexHull, secondSetPointsOnConvexHull);
+		for (int index : indices)
+		{
+			selectedPoints.add(points.get(index));
+		}
 		
-		return pointsOnConvexHull;
+		return selectedPoints;
 	}
 
 	/**
@@ -98,163 +1143,282 @@ public class ConvexHull
 	/**
 	 * Merges two convex hulls using the tangent method.
 	 * 
-	 * @param firstConvexHull a convex hull
-	 * @param secondConvexHull another convex hull
-	 * @return mergedHull a set of points merging the two convex hulls 
-	 * @see http://www.cs.wustl.edu/~pless/506/l3.html
+	 * @param points a given set of points
+	 * @param firstConvexHull the indices of a convex hull
+	 * @param secondConvexHull the indices of another convex hull, to the right of the first one
+	 * @return mergedHull the indices of the merged convex hull in counterclockwise order
+	 * @see #mergeHulls(PointSet, int[], int, int, int[], int, int, int[], int)
 	 */
-	private static List<Point> mergeHulls(List<Point> firstConvexHull, List<Point> secondConvexHull)
+	protected static int[] mergeHulls(PointSet points, int[] firstConvexHull, int[] secondConvexHull)
 	{
-		LineSegment lowerTangent = findLowerTangent(firstConvexHull, secondConvexHull);
-		LineSegment upperTangent = findUpperTangent(firstConvexHull, secondConvexHull);
+		int[] convexHull = new int[firstConvexHull.length + secondConvexHull.length];
+		int convexHullSize = mergeHulls(points, firstConvexHull, 0, firstConvexHull.length, secondConvexHull, 0, secondConvexHull.length, convexHull, 0);
 		
-		List<Point> convexHull = getConvexHull(lowerTangent, upperTangent, firstConvexHull, secondConvexHull);
-		
-		return convexHull;
+		return Arrays.copyOf(convexHull, convexHullSize);
 	}
 	
 	/**
-	 * Given the two convex hulls, with the first one containing the lowest x coordinates 
-	 * and the second contains the highest coordinates, given also the lower and upper tangent,
-	 * returns a convex hull set of points by discarding the points between those two tangents.
+	 * Merges two convex hulls using the tangent method, writing the merged hull to a given array.
 	 * 
-	 * @param lowerTangent the lower tangent of the two convex hulls
-	 * @param upperTangent the upper tangent of the two convex hulls
-	 * @param firstConvexHull the first convex hull containing the lowest x coordinates points
-	 * @param secondConvexHull the second convex hull containing the highest x coordinates points
-	 * @return the convex hull merged
+	 * Both hulls are in counterclockwise order starting at their lowest point in (x, y) order,
+	 * and every point of the first hull comes before every point of the second one in that order.
+	 * Each hull is split by index in its lower chain (from the first point to the rightmost one)
+	 * and its upper chain (from the rightmost point back to the first one). The lower tangent 
+	 * is found by walking down the lower chains away from each other, and the upper tangent 
+	 * by walking up the upper chains. Every step only tests the orientation of the current
+	 * tangent and the next point of one hull, and no point is visited twice by the same walk,
+	 * so the merge is linear in the size of the hulls. The merged hull is the lower chain of the 
+	 * first hull up to the lower tangent, the second hull between the tangents and the rest of
+	 * the first hull, copied as three runs.
+	 * 
+	 * The merged hull must not overlap any of the given hulls.
+	 * 
+	 * Complexity: O(h)
+	 * 
+	 * @param points a given set of points
+	 * @param firstConvexHull an array holding the indices of a convex hull
+	 * @param firstFrom the position of the first point of the first hull
+	 * @param firstSize the number of points on the first hull
+	 * @param secondConvexHull an array holding the indices of another convex hull, to the right of the first one
+	 * @param secondFrom the position of the first point of the second hull
+	 * @param secondSize the number of points on the second hull
+	 * @param convexHull the array receiving the merged hull, with at least firstSize + secondSize positions after <b>convexHullFrom</b>
+	 * @param convexHullFrom the position of the first point of the merged hull
+	 * @return the number of points on the merged hull
+	 * @see http://www.cs.wustl.edu/~pless/506/l3.html
+	 */
+	protected static int mergeHulls(PointSet points, int[] firstConvexHull, int firstFrom, int firstSize, int[] secondConvexHull, int secondFrom, int secondSize, int[] convexHull, int convexHullFrom)
+	{
+		return mergeHulls(points, firstConvexHull, firstFrom, firstSize, secondConvexHull, secondFrom, secondSize, convexHull, convexHullFrom, null);
+	}
+	
+	/**
+	 * Same as {@link #mergeHulls(PointSet, int[], int, int, int[], int, int, int[], int)}, recording
+	 * the time of the tangent search and of the copy of the merged hull when a recorder is given.
 	 */
-	private static List<Point> getConvexHull(LineSegment lowerTangent, LineSegment upperTangent, List<Point> firstConvexHull, List<Point> secondConvexHull)
+	private static int mergeHulls(PointSet points, int[] firstConvexHull, int firstFrom, int firstSize, int[] secondConvexHull, int secondFrom, int secondSize, int[] convexHull, int convexHullFrom, HullRecorder recorder)
 	{
-		List<Point> convexHull = new ArrayList<Point>();
+		long time = recorder != null ? System.nanoTime() : 0L;
+		
+		int firstRightmostIndex = getRightmostIndex(points, firstConvexHull, firstFrom, firstSize);
+		int secondRightmostIndex = getRightmostIndex(points, secondConvexHull, secondFrom, secondSize);
+		
+		// lower tangent: the first hull walks clockwise from its rightmost point,
+		// the second hull walks counterclockwise from its leftmost point
+		int firstLowerIndex = firstRightmostIndex;
+		int secondLowerIndex = 0;
+		boolean isTangentMoving = true;
 		
-		for (Point point : firstConvexHull)
+		while(isTangentMoving)
 		{
-			if(point.x() > upperTangent.a().x() || point.x() > lowerTangent.a().x())
+			isTangentMoving = false;
+			
+			int first = firstConvexHull[firstFrom + firstLowerIndex];
+			
+			while(secondLowerIndex < secondRightmostIndex && crossProduct(points, first, secondConvexHull[secondFrom + secondLowerIndex], secondConvexHull[secondFrom + secondLowerIndex + 1]) <= 0.0)
 			{
-				if(point.y() < upperTangent.a().y() || point.y() > lowerTangent.a().y())
-				{
-					continue;
-				}
+				secondLowerIndex++;
+				isTangentMoving = true;
 			}
 			
-			convexHull.add(point);
+			int second = secondConvexHull[secondFrom + secondLowerIndex];
+			
+			while(firstLowerIndex > 0 && crossProduct(points, firstConvexHull[firstFrom + firstLowerIndex], second, firstConvexHull[firstFrom + firstLowerIndex - 1]) <= 0.0)
+			{
+				firstLowerIndex--;
+				isTangentMoving = true;
+			}
 		}
 		
-		for (Point point : secondConvexHull)
+		// upper tangent: the first hull walks counterclockwise from its rightmost point,
+		// the second hull walks clockwise from its leftmost point (index secondSize is index 0)
+		int firstUpperIndex = firstRightmostIndex;
+		int secondUpperIndex = secondSize;
+		isTangentMoving = true;
+		
+		while(isTangentMoving)
 		{
-			if(point.x() < upperTangent.b().x() || point.x() < lowerTangent.b().x())
+			isTangentMoving = false;
+			
+			int first = firstConvexHull[firstFrom + wrap(firstUpperIndex, firstSize)];
+			
+			while(secondUpperIndex > secondRightmostIndex && crossProduct(points, first, secondConvexHull[secondFrom + wrap(secondUpperIndex, secondSize)], secondConvexHull[secondFrom + secondUpperIndex - 1]) >= 0.0)
 			{
-				if(point.y() < upperTangent.b().y() && point.y() > lowerTangent.b().y())
-				{
-					continue;
-				}
+				secondUpperIndex--;
+				isTangentMoving = true;
 			}
 			
-			convexHull.add(point);
+			int second = secondConvexHull[secondFrom + wrap(secondUpperIndex, secondSize)];
+			
+			while(firstUpperIndex < firstSize && crossProduct(points, firstConvexHull[firstFrom + wrap(firstUpperIndex, firstSize)], second, firstConvexHull[firstFrom + wrap(firstUpperIndex + 1, firstSize)]) >= 0.0)
+			{
+				firstUpperIndex++;
+				isTangentMoving = true;
+			}
 		}
 		
-		return convexHull;
+		if(recorder != null)
+		{
+			time = recorder.endPhase(HullMetrics.Phase.TANGENT_SEARCH, time);
+		}
+		
+		int convexHullSize = convexHullFrom;
+		
+		System.arraycopy(firstConvexHull, firstFrom, convexHull, convexHullSize, firstLowerIndex + 1);
+		convexHullSize += firstLowerIndex + 1;
+		
+		// the second hull from the lower tangent to the upper one, where index secondSize is index 0
+		int secondEndIndex = Math.min(secondUpperIndex, secondSize - 1);
+		System.arraycopy(secondConvexHull, secondFrom + secondLowerIndex, convexHull, convexHullSize, secondEndIndex - secondLowerIndex + 1);
+		convexHullSize += secondEndIndex - secondLowerIndex + 1;
+		
+		if(secondUpperIndex == secondSize && secondLowerIndex > 0)
+		{
+			convexHull[convexHullSize++] = secondConvexHull[secondFrom];
+		}
+		
+		int firstTailIndex = firstUpperIndex == firstLowerIndex ? firstUpperIndex + 1 : firstUpperIndex;
+		
+		if(firstTailIndex < firstSize)
+		{
+			System.arraycopy(firstConvexHull, firstFrom + firstTailIndex, convexHull, convexHullSize, firstSize - firstTailIndex);
+			convexHullSize += firstSize - firstTailIndex;
+		}
+		
+		if(recorder != null)
+		{
+			recorder.endPhase(HullMetrics.Phase.MERGE, time);
+		}
+		
+		return convexHullSize - convexHullFrom;
+	}
+	
+	/**
+	 * @return the position in a cyclic sequence of <b>size</b> elements, where <b>size</b> is position 0
+	 */
+	private static int wrap(int index, int size)
+	{
+		return index == size ? 0 : index;
+	}
+	
+	/**
+	 * Returns the position of the last point in (x, y) order of a convex hull in counterclockwise
+	 * order starting at its first point, i.e the end of its lower chain. The points of the lower 
+	 * chain are increasing in that order, so it is the last point before the order goes down.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull an array holding the indices of a convex hull in counterclockwise order
+	 * @param from the position of the first point of the hull
+	 * @param size the number of points on the hull
+	 * @return the position of the rightmost point in the hull, relative to its first point
+	 */
+	private static int getRightmostIndex(PointSet points, int[] convexHull, int from, int size)
+	{
+		int rightmostIndex = 0;
+		
+		while(rightmostIndex + 1 < size && points.compare(convexHull[from + rightmostIndex + 1], convexHull[from + rightmostIndex]) > 0)
+		{
+			rightmostIndex++;
+		}
+		
+		return rightmostIndex;
 	}
 
 	/**
 	 * This method find the upper tangent. This method is symmetric to the lower tangent method.
 	 * 
-	 * @param firstConvexHull the first convex hull containing the leftmost points
-	 * @param secondConvexHull the second convex hull containing the rightmost points
+	 * @param firstConvexHull the first convex hull containing the leftmost points, in clockwise order
+	 * @param secondConvexHull the second convex hull containing the rightmost points, in counterclockwise order
 	 * @return upperTangent the upperTangent between those two convex hulls
 	 */
 	protected static LineSegment findUpperTangent(List<Point> firstConvexHull, List<Point> secondConvexHull)
 	{
-		Point rightmostPointFirstConvexHull = getRightMostPoint(firstConvexHull);
-		Point leftmostPointSecondConvexHull = getLeftMostPoint(secondConvexHull); 
+		int firstSize = firstConvexHull.size();
+		int secondSize = secondConvexHull.size();
 		
-		LineSegment upperTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
-
-		Boolean isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(upperTangent, firstConvexHull, secondConvexHull);
+		int firstIndex = getRightmostIndex(firstConvexHull);
+		int secondIndex = getLeftmostIndex(secondConvexHull);
+		boolean isTangentMoving = true;
 		
-		while(!isEveryPointOnTheSameLine)
+		while(isTangentMoving)
 		{
-			int leftmostPointSecondConvexHullIndex = secondConvexHull.indexOf(leftmostPointSecondConvexHull) ;
-			leftmostPointSecondConvexHullIndex = (leftmostPointSecondConvexHullIndex - 1) % secondConvexHull.size();
-			
-			if(leftmostPointSecondConvexHullIndex < 0)
-			{
-				leftmostPointSecondConvexHullIndex+= secondConvexHull.size();
-			}
-			
-			leftmostPointSecondConvexHull = secondConvexHull.get(leftmostPointSecondConvexHullIndex); 
-			
-			upperTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
+			isTangentMoving = false;
 			
-			isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(upperTangent, firstConvexHull, secondConvexHull);
+			int nextSecondIndex = (secondIndex + secondSize - 1) % secondSize;
 			
-			if(isEveryPointOnTheSameLine)
+			while(crossProduct(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex), secondConvexHull.get(nextSecondIndex)) > 0.0)
 			{
-				return upperTangent;
+				secondIndex = nextSecondIndex;
+				nextSecondIndex = (secondIndex + secondSize - 1) % secondSize;
+				isTangentMoving = true;
 			}
-
-			int rightmostPointFirstConvexHullIndex = firstConvexHull.indexOf(rightmostPointFirstConvexHull);
-			rightmostPointFirstConvexHullIndex = (rightmostPointFirstConvexHullIndex - 1) % firstConvexHull.size();
 			
-			if(rightmostPointFirstConvexHullIndex < 0)
+			int nextFirstIndex = (firstIndex + firstSize - 1) % firstSize;
+			
+			while(crossProduct(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex), firstConvexHull.get(nextFirstIndex)) > 0.0)
 			{
-				rightmostPointFirstConvexHullIndex+= firstConvexHull.size();
+				firstIndex = nextFirstIndex;
+				nextFirstIndex = (firstIndex + firstSize - 1) % firstSize;
+				isTangentMoving = true;
 			}
-			
-			rightmostPointFirstConvexHull = firstConvexHull.get(rightmostPointFirstConvexHullIndex);
-			
-			upperTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
-			
-			isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(upperTangent, firstConvexHull, secondConvexHull);
 		}
 		
-		return upperTangent;
+		return new LineSegment(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex));
 	}
 
 	/**
 	 * This method find the lower tangent using a simple walking procedure.
 	 * 
-	 * @param firstConvexHull the first convex hull containing the leftmost points
-	 * @param secondConvexHull the second convex hull containing the rightmost points
+	 * The walk starts at the rightmost point of the first hull and the leftmost point of the second one.
+	 * The second hull walks down while its next point is below the line through both points, then
+	 * the first hull does the same, until neither moves. Each step tests a single point, so the 
+	 * walk is linear in the size of the hulls. The tangent ends at the points nearest to each other
+	 * when there are collinear points on it.
+	 * 
+	 * @param firstConvexHull the first convex hull containing the leftmost points, in clockwise order
+	 * @param secondConvexHull the second convex hull containing the rightmost points, in counterclockwise order
 	 * @return lowerTangent the lowerTangent between those two convex hulls
 	 */
 	protected static LineSegment findLowerTangent(List<Point> firstConvexHull, List<Point> secondConvexHull)
 	{
-		Point rightmostPointFirstConvexHull = getRightMostPoint(firstConvexHull);
-		Point leftmostPointSecondConvexHull = getLeftMostPoint(secondConvexHull); 
+		int firstSize = firstConvexHull.size();
+		int secondSize = secondConvexHull.size();
 		
-		LineSegment lowerTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
-
-		Boolean isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(lowerTangent, firstConvexHull, secondConvexHull);
+		int firstIndex = getRightmostIndex(firstConvexHull);
+		int secondIndex = getLeftmostIndex(secondConvexHull);
+		boolean isTangentMoving = true;
 		
-		while(!isEveryPointOnTheSameLine)
+		while(isTangentMoving)
 		{
-			int rightmostPointFirstConvexHullIndex = firstConvexHull.indexOf(rightmostPointFirstConvexHull);
-			rightmostPointFirstConvexHullIndex = (rightmostPointFirstConvexHullIndex + 1) % firstConvexHull.size();
-			rightmostPointFirstConvexHull = firstConvexHull.get(rightmostPointFirstConvexHullIndex);
+			isTangentMoving = false;
 			
-			lowerTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
-
-			isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(lowerTangent, firstConvexHull, secondConvexHull);
+			int nextSecondIndex = (secondIndex + 1) % secondSize;
 			
-			if(isEveryPointOnTheSameLine)
+			while(crossProduct(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex), secondConvexHull.get(nextSecondIndex)) < 0.0)
 			{
-				return lowerTangent;
+				secondIndex = nextSecondIndex;
+				nextSecondIndex = (secondIndex + 1) % secondSize;
+				isTangentMoving = true;
 			}
-
-			int leftmostPointSecondConvexHullIndex = secondConvexHull.indexOf(leftmostPointSecondConvexHull);
-			leftmostPointSecondConvexHullIndex = (leftmostPointSecondConvexHullIndex + 1) % secondConvexHull.size();
-			leftmostPointSecondConvexHull = secondConvexHull.get(leftmostPointSecondConvexHullIndex); 
 			
-			lowerTangent = new LineSegment(rightmostPointFirstConvexHull, leftmostPointSecondConvexHull);
-
-			isEveryPointOnTheSameLine = checkIfEveryPointIsOnTheSameSide(lowerTangent, firstConvexHull, secondConvexHull);
+			int nextFirstIndex = (firstIndex + 1) % firstSize;
+			
+			while(crossProduct(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex), firstConvexHull.get(nextFirstIndex)) < 0.0)
+			{
+				firstIndex = nextFirstIndex;
+				nextFirstIndex = (firstIndex + 1) % firstSize;
+				isTangentMoving = true;
+			}
 		}
 		
-		return lowerTangent;
+		return new LineSegment(firstConvexHull.get(firstIndex), secondConvexHull.get(secondIndex));
 	}
-
+	
+	private static double crossProduct(Point o, Point a, Point b)
+	{
+		return crossProduct(o.x(), o.y(), a.x(), a.y(), b.x(), b.y());
+	}
+	
 	/**
 	 * Given a set of points P and a set of line segments,
 	 * iterate over all line segments to check if it makes an edge of
@@ -320,81 +1484,71 @@ public class ConvexHull
 	
 	/**
 	 * Given a line segment and a set of points, check if every point is on the same side of the line segment.
+	 * Points on the line, other than its end points, are on the right.
+	 * 
 	 * @param line a given line
 	 * @param points a given set of points
 	 * @return <b>true</b> if every point is on the same side <b>false</b> if not
 	 */
 	private static boolean checkIfEveryPointIsOnTheSameSide(LineSegment line, List<Point> points)
 	{
-		Boolean lastOrientation = null;
-		Boolean orientation = null;
+		Point a = line.a();
+		Point b = line.b();
 		
-		for (Point point : points)
+		boolean isAnyPointOnTheLeft = false;
+		boolean isAnyPointOnTheRight = false;
+		
+		for (int i = 0; i < points.size(); i++)
 		{
-			if(line.isPointOnLineSegment(point))
+			Point point = points.get(i);
+			
+			if(a.equals(point) || b.equals(point))
 			{
 				continue;
 			}
 			
-			if(lastOrientation == null)
+			if(crossProduct(a.x(), a.y(), b.x(), b.y(), point.x(), point.y()) > 0.0)
 			{
-				lastOrientation = point.isPointOnTheLeftOfLineSegment(line);
+				isAnyPointOnTheLeft = true;
+			}
+			else
+			{
+				isAnyPointOnTheRight = true;
 			}
 			
-			orientation = point.isPointOnTheLeftOfLineSegment(line);
-			
-			if(!lastOrientation.equals(orientation))
+			if(isAnyPointOnTheLeft && isAnyPointOnTheRight)
 			{
 				return false;
 			}
-			
-			lastOrientation = orientation;
 		}
 		
 		return true;
 	}
 	
 	/**
-	 * Given a line segment and two set of points, check if every point (considering both sets) is on the same side of the line segment.
+	 * Given the line through two points of a set, check if every point of the set on the line is 
+	 * between them, i.e. if they are the ends of the line's intersection with the set.
 	 * 
-	 * @param line a given line segment
-	 * @param firstConvexHull a set of points
-	 * @param secondConvexHull another set of points
-	 * @return true if every point is on the same side or false otherwise
+	 * @param points a given set of points
+	 * @param a the index of the first point of the line
+	 * @param b the index of the second point of the line
+	 * @return <b>true</b> if no point on the line is beyond <b>a</b> or <b>b</b> <b>false</b> if not
 	 */
-	private static boolean checkIfEveryPointIsOnTheSameSide(LineSegment line, List<Point> firstConvexHull, List<Point> secondConvexHull)
+	private static boolean isEveryPointOnTheLineBetween(PointSet points, int a, int b)
 	{
-		Boolean lastOrientation = null;
-		Boolean orientation = null;
-		
-		List<Point> points = new ArrayList<Point>(firstConvexHull);
-		points.addAll(secondConvexHull);
+		double ax = points.xs[a];
+		double ay = points.ys[a];
+		double bx = points.xs[b];
+		double by = points.ys[b];
 		
-		for (Point point : points)
+		for (int i = 0; i < points.size(); i++)
 		{
-			if(line.isPointOnLineSegment(point))
-			{
-				continue;
-			}
-
-			if(point.isPointAlignedWithLineSegment(line))
-			{
-				continue;
-			}
-			
-			if(lastOrientation == null)
-			{
-				lastOrientation = point.isPointOnTheLeftOfLineSegment(line);
-			}
-			
-			orientation = point.isPointOnTheLeftOfLineSegment(line);
-			
-			if(!lastOrientation.equals(orientation))
+			if(crossProduct(points, a, b, i) == 0.0
+					&& (RobustPredicates.dotProduct(ax, ay, bx, by, ax, ay, points.xs[i], points.ys[i]) < 0.0
+						|| RobustPredicates.dotProduct(bx, by, ax, ay, bx, by, points.xs[i], points.ys[i]) < 0.0))
 			{
 				return false;
 			}
-			
-			lastOrientation = orientation;
 		}
 		
 		return true;
@@ -451,54 +1605,42 @@ public class ConvexHull
 	}
 
 	/**
-	 * Return the leftmost point in a list.
+	 * Return the position of the leftmost point in a list, the first one on ties.
 	 * @param points
-	 * @return leftMost the leftMost point
+	 * @return the position of the leftmost point
 	 */
-	private static Point getLeftMostPoint(List<Point> points)
+	private static int getLeftmostIndex(List<Point> points)
 	{
-		Point leftMost = null;
+		int leftmostIndex = 0;
 		
-		for (Point point : points)
+		for (int i = 1; i < points.size(); i++)
 		{
-			if(leftMost == null)
-			{
-				leftMost = point;
-			}
-			
-			if(point.x() < leftMost.x())
+			if(points.get(i).x() < points.get(leftmostIndex).x())
 			{
-				leftMost = point;
+				leftmostIndex = i;
 			}
 		}
 		
-		return leftMost;
+		return leftmostIndex;
 	}
-
-	
 	
 	/**
-	 * Return the rightMost point of a given list.
+	 * Return the position of the rightmost point in a list, the first one on ties.
 	 * @param points
-	 * @return rightMost the rightmost point of a list
+	 * @return the position of the rightmost point
 	 */
-	private static Point getRightMostPoint(List<Point> points)
+	private static int getRightmostIndex(List<Point> points)
 	{
-		Point rightMost = null;
+		int rightmostIndex = 0;
 		
-		for (Point point : points)
+		for (int i = 1; i < points.size(); i++)
 		{
-			if(rightMost == null)
-			{
-				rightMost = point;
-			}
-			
-			if(point.x() > rightMost.x())
+			if(points.get(i).x() > points.get(rightmostIndex).x())
 			{
-				rightMost = point;
+				rightmostIndex = i;
 			}
 		}
 		
-		return rightMost;
+		return rightmostIndex;
 	}
 }
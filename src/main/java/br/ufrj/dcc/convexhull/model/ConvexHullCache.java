@@ -0,0 +1,320 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a cache of convex hulls in front of {@link ConvexHull}, for callers which compute
+ * the hull of the same point sets again and again.
+ * 
+ * Basic idea: A point set is identified by a 64-bit hash of the bits of its coordinates and by
+ * its size. The hulls are kept in least recently used order and the least recently used
+ * ones are evicted when the cache holds more than a maximum number of hulls, or more than a maximum
+ * weight, the total number of points on the cached hulls. Threads asking for a hull which is being
+ * computed wait for that computation instead of starting another one.
+ * 
+ * Two point sets of the same size with the same hash share their hull, which happens with a
+ * probability of about 2^-64 for a pair of different sets.
+ * 
+ * This class is thread safe.
+ */
+public class ConvexHullCache
+{
+	private static final long PRIME_1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME_3 = 0x165667B19E3779F9L;
+	
+	private Algorithm algorithm;
+	private int maximumSize;
+	private long maximumWeight;
+	
+	private LinkedHashMap<Key, int[]> hulls;
+	private long weight;
+	private ConcurrentHashMap<Key, FutureTask<int[]>> computations;
+	
+	private AtomicLong hits;
+	private AtomicLong misses;
+	private AtomicLong evictions;
+	
+	/**
+	 * Creates a cache of hulls computed by {@link Algorithm#MONOTONE_CHAIN}.
+	 * 
+	 * @param maximumSize the maximum number of cached hulls
+	 * @param maximumWeight the maximum number of points on the cached hulls
+	 */
+	public ConvexHullCache(int maximumSize, long maximumWeight)
+	{
+		this(Algorithm.MONOTONE_CHAIN, maximumSize, maximumWeight);
+	}
+	
+	/**
+	 * Creates a cache of hulls computed by a given algorithm.
+	 * 
+	 * @param algorithm the algorithm computing the hulls which are not cached
+	 * @param maximumSize the maximum number of cached hulls
+	 * @param maximumWeight the maximum number of points on the cached hulls
+	 */
+	public ConvexHullCache(Algorithm algorithm, int maximumSize, long maximumWeight)
+	{
+		if(maximumSize < 1)
+		{
+			throw new IllegalArgumentException("The maximum size must be positive: " + maximumSize);
+		}
+		
+		if(maximumWeight < 1)
+		{
+			throw new IllegalArgumentException("The maximum weight must be positive: " + maximumWeight);
+		}
+		
+		this.algorithm = algorithm;
+		this.maximumSize = maximumSize;
+		this.maximumWeight = maximumWeight;
+		this.hulls = new LinkedHashMap<Key, int[]>(16, 0.75f, true);
+		this.weight = 0;
+		this.computations = new ConcurrentHashMap<Key, FutureTask<int[]>>();
+		this.hits = new AtomicLong();
+		this.misses = new AtomicLong();
+		this.evictions = new AtomicLong();
+	}
+	
+	/**
+	 * Returns the convex hull of a given point set, from the cache if it is there.
+	 * 
+	 * Complexity: O(n) to hash the points, plus the algorithm on a miss
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, as returned by the algorithm
+	 */
+	public int[] compute(final PointSet points)
+	{
+		final Key key = new Key(fingerprint(points), points.size());
+		int[] convexHull = get(key);
+		
+		if(convexHull != null)
+		{
+			hits.incrementAndGet();
+			return convexHull.clone();
+		}
+		
+		FutureTask<int[]> computation = new FutureTask<int[]>(new Callable<int[]>()
+		{
+			@Override
+			public int[] call()
+			{
+				// the hull may have been cached since the lookup
+				int[] convexHull = get(key);
+				
+				if(convexHull != null)
+				{
+					hits.incrementAndGet();
+					return convexHull;
+				}
+				
+				misses.incrementAndGet();
+				convexHull = algorithm.compute(points);
+				put(key, convexHull);
+				
+				return convexHull;
+			}
+		});
+		
+		FutureTask<int[]> runningComputation = computations.putIfAbsent(key, computation);
+		
+		if(runningComputation == null)
+		{
+			try
+			{
+				computation.run();
+			}
+			finally
+			{
+				computations.remove(key, computation);
+			}
+		}
+		else
+		{
+			hits.incrementAndGet();
+			computation = runningComputation;
+		}
+		
+		return getResult(computation).clone();
+	}
+	
+	private static int[] getResult(FutureTask<int[]> computation)
+	{
+		boolean isInterrupted = false;
+		
+		try
+		{
+			while(true)
+			{
+				try
+				{
+					return computation.get();
+				}
+				catch (InterruptedException e)
+				{
+					// the waiting thread can not give up the computation of another one
+					isInterrupted = true;
+				}
+			}
+		}
+		catch (ExecutionException e)
+		{
+			Throwable cause = e.getCause();
+			
+			if(cause instanceof RuntimeException) throw (RuntimeException) cause;
+			if(cause instanceof Error) throw (Error) cause;
+			
+			throw new IllegalStateException(cause);
+		}
+		finally
+		{
+			if(isInterrupted)
+			{
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+	
+	private synchronized int[] get(Key key)
+	{
+		return hulls.get(key);
+	}
+	
+	private synchronized void put(Key key, int[] convexHull)
+	{
+		// a hull heavier than the whole cache would only evict every other one
+		if(convexHull.length > maximumWeight || hulls.containsKey(key))
+		{
+			return;
+		}
+		
+		hulls.put(key, convexHull);
+		weight += convexHull.length;
+		
+		Iterator<Map.Entry<Key, int[]>> iterator = hulls.entrySet().iterator();
+		
+		while(hulls.size() > maximumSize || weight > maximumWeight)
+		{
+			weight -= iterator.next().getValue().length;
+			iterator.remove();
+			evictions.incrementAndGet();
+		}
+	}
+	
+	/**
+	 * Removes every hull from the cache. The statistics are kept.
+	 */
+	public synchronized void clear()
+	{
+		hulls.clear();
+		weight = 0;
+	}
+	
+	/**
+	 * @return the number of cached hulls
+	 */
+	public synchronized int size()
+	{
+		return hulls.size();
+	}
+	
+	/**
+	 * @return the number of points on the cached hulls
+	 */
+	public synchronized long weight()
+	{
+		return weight;
+	}
+	
+	/**
+	 * @return the number of requests answered without computing a hull, including the ones which waited for the computation of another thread
+	 */
+	public long getHitCount()
+	{
+		return hits.get();
+	}
+	
+	/**
+	 * @return the number of requests which computed a hull
+	 */
+	public long getMissCount()
+	{
+		return misses.get();
+	}
+	
+	/**
+	 * @return the number of hulls evicted to respect the maximum size and weight
+	 */
+	public long getEvictionCount()
+	{
+		return evictions.get();
+	}
+	
+	/**
+	 * Computes a 64-bit hash of the bits of the coordinates of a point set. The x and y coordinates
+	 * are mixed in two independent chains, so the processor can work on both at the same time.
+	 * 
+	 * Complexity: O(n)
+	 * 
+	 * @param points a given set of points
+	 * @return the hash of the coordinates
+	 */
+	public static long fingerprint(PointSet points)
+	{
+		long xHash = PRIME_3;
+		long yHash = PRIME_2;
+		
+		for (int i = 0; i < points.size; i++)
+		{
+			xHash = Long.rotateLeft(xHash + Double.doubleToRawLongBits(points.xs[i]) * PRIME_2, 31) * PRIME_1;
+			yHash = Long.rotateLeft(yHash + Double.doubleToRawLongBits(points.ys[i]) * PRIME_2, 31) * PRIME_1;
+		}
+		
+		long hash = Long.rotateLeft(xHash, 7) + Long.rotateLeft(yHash, 18) + points.size * PRIME_3;
+		
+		// final avalanche, so every bit of the input affects every bit of the hash
+		hash ^= hash >>> 33;
+		hash *= PRIME_2;
+		hash ^= hash >>> 29;
+		hash *= PRIME_3;
+		hash ^= hash >>> 32;
+		
+		return hash;
+	}
+	
+	private static class Key
+	{
+		private final long fingerprint;
+		private final int size;
+		
+		Key(long fingerprint, int size)
+		{
+			this.fingerprint = fingerprint;
+			this.size = size;
+		}
+		
+		@Override
+		public boolean equals(Object other)
+		{
+			if(!(other instanceof Key)) return false;
+			
+			Key otherKey = (Key) other;
+			
+			return otherKey.fingerprint == fingerprint && otherKey.size == size;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return (int) (fingerprint ^ (fingerprint >>> 32));
+		}
+	}
+}
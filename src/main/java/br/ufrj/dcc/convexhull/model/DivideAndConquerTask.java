@@ -0,0 +1,51 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class is a fork/join task computing the convex hull of a range of sorted points
+ * with the divide and conquer method. The first half is forked while the current thread 
+ * solves the second one, and the two hulls are merged once both are done.
+ * 
+ * @see ConvexHull#parallelDivideAndConquer(PointSet)
+ */
+class DivideAndConquerTask extends RecursiveTask<int[]>
+{
+	private static final long serialVersionUID = 1L;
+	
+	private PointSet points;
+	private int[] sortedIndices;
+	private int from;
+	private int to;
+	private int sequentialCutoff;
+	
+	DivideAndConquerTask(PointSet points, int[] sortedIndices, int from, int to, int sequentialCutoff)
+	{
+		this.points = points;
+		this.sortedIndices = sortedIndices;
+		this.from = from;
+		this.to = to;
+		this.sequentialCutoff = sequentialCutoff;
+	}
+
+	@Override
+	protected int[] compute()
+	{
+		if(to - from <= sequentialCutoff)
+		{
+			return ConvexHull.divideAndConquer(points, sortedIndices, from, to, ConvexHull.DEFAULT_BASE_CASE_THRESHOLD);
+		}
+		
+		int middle = (from + to) >>> 1;
+		
+		DivideAndConquerTask firstHalf = new DivideAndConquerTask(points, sortedIndices, from, middle, sequentialCutoff);
+		DivideAndConquerTask secondHalf = new DivideAndConquerTask(points, sortedIndices, middle, to, sequentialCutoff);
+		
+		firstHalf.fork();
+		
+		int[] secondConvexHull = secondHalf.compute();
+		int[] firstConvexHull = firstHalf.join();
+		
+		return ConvexHull.mergeHulls(points, firstConvexHull, secondConvexHull);
+	}
+}
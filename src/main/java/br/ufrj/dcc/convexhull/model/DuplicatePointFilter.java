@@ -0,0 +1,83 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class is a {@link PointFilter} which keeps only the first occurrence of every repeated point.
+ * 
+ * Basic idea: The indices of the distinct points are kept in an open addressing hash table of ints, 
+ * probed linearly from the hash of the bits of the coordinates. Each point is looked up once and 
+ * added when it is not there, so repeated points are removed without sorting and without boxing.
+ * 
+ * Points are equal when their coordinates are equal as doubles, as in {@link PointSet#compare(int, int)},
+ * so 0.0 and -0.0 are the same coordinate.
+ * 
+ * Complexity: O(n) expected
+ */
+public class DuplicatePointFilter implements PointFilter
+{
+	private static final int EMPTY = -1;
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	
+	@Override
+	public int[] filter(PointSet points)
+	{
+		int size = points.size();
+		
+		// at most half full, so the probe sequences stay short
+		int capacity = Integer.highestOneBit(Math.max(2 * size - 1, 1)) << 1;
+		int mask = capacity - 1;
+		int[] table = new int[capacity];
+		Arrays.fill(table, EMPTY);
+		
+		int[] distinctPoints = new int[size];
+		int distinctPointCount = 0;
+		
+		for (int i = 0; i < size; i++)
+		{
+			double x = points.xs[i];
+			double y = points.ys[i];
+			int slot = hash(x, y) & mask;
+			
+			while(table[slot] != EMPTY && !(points.xs[table[slot]] == x && points.ys[table[slot]] == y))
+			{
+				slot = (slot + 1) & mask;
+			}
+			
+			if(table[slot] == EMPTY)
+			{
+				table[slot] = i;
+				distinctPoints[distinctPointCount++] = i;
+			}
+		}
+		
+		return Arrays.copyOf(distinctPoints, distinctPointCount);
+	}
+	
+	@Override
+	public List<Point> filter(List<Point> points)
+	{
+		int[] distinctPoints = filter(PointSet.fromPoints(points));
+		List<Point> distinctPointList = new ArrayList<Point>(distinctPoints.length);
+		
+		for (int index : distinctPoints)
+		{
+			distinctPointList.add(points.get(index));
+		}
+		
+		return distinctPointList;
+	}
+	
+	/**
+	 * Hashes the bits of the coordinates, adding 0.0 first so -0.0 hashes as 0.0. The high bits of 
+	 * the product depend on every bit of the coordinates, so they are the ones kept.
+	 */
+	private static int hash(double x, double y)
+	{
+		long hash = (Double.doubleToRawLongBits(x + 0.0) * HASH_MULTIPLIER + Double.doubleToRawLongBits(y + 0.0)) * HASH_MULTIPLIER;
+		
+		return (int) (hash >>> 32);
+	}
+}
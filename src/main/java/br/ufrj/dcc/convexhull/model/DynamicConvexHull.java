@@ -0,0 +1,104 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class is a convex hull of a set of points which supports both insertions and deletions.
+ * 
+ * Basic idea: The upper hull is kept by an {@link UpperHullTree} over the points, and the lower 
+ * hull by another one over the points reflected through the origin, whose upper hull is the
+ * lower hull of the original points rotated by 180 degrees.
+ * 
+ * Complexity: polylogarithmic per update, O(h) to report the hull
+ * 
+ * This class is not thread safe.
+ * 
+ * @see IncrementalConvexHull
+ */
+public class DynamicConvexHull
+{
+	private UpperHullTree upperHull;
+	private UpperHullTree reflectedUpperHull;
+	private int size;
+	
+	public DynamicConvexHull()
+	{
+		this.upperHull = new UpperHullTree(1L);
+		this.reflectedUpperHull = new UpperHullTree(2L);
+		this.size = 0;
+	}
+	
+	/**
+	 * Adds a point to the set. A point added more than once stays in the set until it is
+	 * removed as many times.
+	 * 
+	 * @param point a given point
+	 */
+	public void add(Point point)
+	{
+		upperHull.add(point.x(), point.y());
+		reflectedUpperHull.add(-point.x(), -point.y());
+		size++;
+	}
+	
+	/**
+	 * Removes a point from the set.
+	 * 
+	 * @param point a given point
+	 * @return <b>true</b> if the point was in the set <b>false</b> if not
+	 */
+	public boolean remove(Point point)
+	{
+		if(!upperHull.remove(point.x(), point.y()))
+		{
+			return false;
+		}
+		
+		reflectedUpperHull.remove(-point.x(), -point.y());
+		size--;
+		
+		return true;
+	}
+	
+	public boolean contains(Point point)
+	{
+		return upperHull.contains(point.x(), point.y());
+	}
+	
+	/**
+	 * @return the number of points in the set, counting repeated points
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Returns the current convex hull in counterclockwise order, starting at the point
+	 * with the lowest x coordinate (lowest y on ties), without collinear points.
+	 * 
+	 * Complexity: O(h)
+	 * 
+	 * @return the convex hull in counterclockwise order
+	 */
+	public List<Point> getConvexHull()
+	{
+		List<Point> lowerHullPoints = new ArrayList<Point>(reflectedUpperHull.size());
+		reflectedUpperHull.appendUpperHull(lowerHullPoints, -1.0);
+		Collections.reverse(lowerHullPoints);
+		
+		List<Point> upperHullPoints = new ArrayList<Point>(upperHull.size());
+		upperHull.appendUpperHull(upperHullPoints, 1.0);
+		
+		List<Point> convexHull = new ArrayList<Point>(lowerHullPoints);
+		
+		for (int i = upperHullPoints.size() - 2; i > 0; i--)
+		{
+			convexHull.add(upperHullPoints.get(i));
+		}
+		
+		return convexHull;
+	}
+}
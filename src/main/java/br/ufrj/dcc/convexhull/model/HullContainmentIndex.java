@@ -0,0 +1,265 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class answers whether points are inside a convex hull computed by {@link ConvexHull}.
+ * 
+ * Basic idea: The rays from the first point of the hull to the other ones split the hull in
+ * triangles, or wedges, ordered by angle. A query point is located in its wedge by binary search
+ * on the orientation of the point and the rays, then tested against the single edge of the hull
+ * which closes that wedge. Every test is the exact orientation predicate used by {@link Point},
+ * so points on the boundary are always found inside, whatever the rounding errors.
+ * 
+ * Complexity: O(h) to build, O(logh) per query, where h is the size of the hull
+ * 
+ * This class is immutable and thread safe.
+ */
+public class HullContainmentIndex
+{
+	private double[] xs;
+	private double[] ys;
+	private int size;
+	
+	/**
+	 * Creates the index of a convex hull given in counterclockwise order, without collinear points,
+	 * as returned by {@link ConvexHull#monotoneChain(List)}.
+	 * 
+	 * @param convexHull the points of the convex hull in counterclockwise order
+	 */
+	public HullContainmentIndex(List<Point> convexHull)
+	{
+		this(PointSet.fromPoints(convexHull), identity(convexHull.size()));
+	}
+	
+	/**
+	 * Creates the index of a convex hull given as indices of a set of points, in counterclockwise
+	 * order, without collinear points, as returned by {@link ConvexHull#monotoneChain(PointSet)}.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of the points on the convex hull in counterclockwise order
+	 */
+	public HullContainmentIndex(PointSet points, int[] convexHull)
+	{
+		this.size = convexHull.length;
+		this.xs = new double[size];
+		this.ys = new double[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			xs[i] = points.x(convexHull[i]);
+			ys[i] = points.y(convexHull[i]);
+		}
+	}
+	
+	private static int[] identity(int size)
+	{
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
+	
+	/**
+	 * @return the number of points on the convex hull
+	 */
+	public int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * @param point a given point
+	 * @return <b>true</b> if the point is inside the convex hull or on its boundary <b>false</b> if not
+	 * @see #contains(double, double)
+	 */
+	public boolean contains(Point point)
+	{
+		return contains(point.x(), point.y());
+	}
+	
+	/**
+	 * Checks whether a point is inside the convex hull or on its boundary.
+	 * 
+	 * Complexity: O(logh)
+	 * 
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return <b>true</b> if the point is inside the convex hull or on its boundary <b>false</b> if not
+	 */
+	public boolean contains(double x, double y)
+	{
+		if(size < 3)
+		{
+			return containsDegenerate(x, y);
+		}
+		
+		double originX = xs[0];
+		double originY = ys[0];
+		
+		// outside of the angle between the first and the last edges of the hull
+		if(orientation(originX, originY, 1, x, y) < 0.0 || orientation(originX, originY, size - 1, x, y) > 0.0)
+		{
+			return false;
+		}
+		
+		// last ray which has the point on its left or on it, the wedge is between it and the next ray
+		int low = 1;
+		int high = size - 2;
+		
+		while(low < high)
+		{
+			int middle = (low + high + 1) >>> 1;
+			
+			if(orientation(originX, originY, middle, x, y) >= 0.0)
+			{
+				low = middle;
+			}
+			else
+			{
+				high = middle - 1;
+			}
+		}
+		
+		return orientation(xs[low], ys[low], low + 1, x, y) >= 0.0;
+	}
+	
+	/**
+	 * Checks a hull with less than three points, i.e. empty, a single point or a segment.
+	 */
+	private boolean containsDegenerate(double x, double y)
+	{
+		if(size == 0)
+		{
+			return false;
+		}
+		
+		if(size == 1)
+		{
+			return xs[0] == x && ys[0] == y;
+		}
+		
+		return orientation(xs[0], ys[0], 1, x, y) == 0.0
+				&& Math.min(xs[0], xs[1]) <= x && x <= Math.max(xs[0], xs[1])
+				&& Math.min(ys[0], ys[1]) <= y && y <= Math.max(ys[0], ys[1]);
+	}
+	
+	/**
+	 * @return the orientation of a given origin, the point of the hull at a given position and the query point
+	 */
+	private double orientation(double originX, double originY, int position, double x, double y)
+	{
+		return RobustPredicates.orient2d(originX, originY, xs[position], ys[position], x, y);
+	}
+	
+	/**
+	 * Checks whether each point of a batch is inside the convex hull, on the common pool.
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of the query points
+	 * @return for each point, <b>true</b> if it is inside the convex hull or on its boundary
+	 * @see #contains(double[], boolean[], ForkJoinPool)
+	 */
+	public boolean[] contains(double[] coordinates)
+	{
+		boolean[] results = new boolean[coordinates.length / 2];
+		contains(coordinates, results, ForkJoinPool.commonPool());
+		
+		return results;
+	}
+	
+	/**
+	 * Checks whether each point of a batch is inside the convex hull or on its boundary. The points
+	 * are split in ranges of {@link ConvexHull#DEFAULT_SEQUENTIAL_CUTOFF} points, checked in parallel.
+	 * 
+	 * Complexity: O(mlogh), where m is the number of query points
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of the query points
+	 * @param results the buffer receiving, for each point, <b>true</b> if it is inside the convex hull
+	 * @param pool the pool that checks the points
+	 * @return the number of points inside the convex hull or on its boundary
+	 */
+	public int contains(double[] coordinates, boolean[] results, ForkJoinPool pool)
+	{
+		if(coordinates.length % 2 != 0)
+		{
+			throw new IllegalArgumentException("The coordinates must come in (x, y) pairs: " + coordinates.length);
+		}
+		
+		int pointCount = coordinates.length / 2;
+		
+		if(results.length < pointCount)
+		{
+			throw new IllegalArgumentException("The result buffer is smaller than the number of points: " + results.length + " < " + pointCount);
+		}
+		
+		if(pointCount == 0)
+		{
+			return 0;
+		}
+		
+		return pool.invoke(new ContainmentTask(this, coordinates, results, 0, pointCount));
+	}
+	
+	/**
+	 * This class is a fork/join task checking a range of query points, split in two while
+	 * it has more than {@link ConvexHull#DEFAULT_SEQUENTIAL_CUTOFF} points.
+	 */
+	private static class ContainmentTask extends RecursiveTask<Integer>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private HullContainmentIndex index;
+		private double[] coordinates;
+		private boolean[] results;
+		private int from;
+		private int to;
+		
+		ContainmentTask(HullContainmentIndex index, double[] coordinates, boolean[] results, int from, int to)
+		{
+			this.index = index;
+			this.coordinates = coordinates;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		protected Integer compute()
+		{
+			if(to - from > ConvexHull.DEFAULT_SEQUENTIAL_CUTOFF)
+			{
+				int middle = (from + to) >>> 1;
+				
+				ContainmentTask firstHalf = new ContainmentTask(index, coordinates, results, from, middle);
+				ContainmentTask secondHalf = new ContainmentTask(index, coordinates, results, middle, to);
+				
+				firstHalf.fork();
+				
+				int secondCount = secondHalf.compute();
+				
+				return firstHalf.join() + secondCount;
+			}
+			
+			int count = 0;
+			
+			for (int i = from; i < to; i++)
+			{
+				boolean isInside = index.contains(coordinates[2 * i], coordinates[2 * i + 1]);
+				results[i] = isInside;
+				
+				if(isInside)
+				{
+					count++;
+				}
+			}
+			
+			return count;
+		}
+	}
+}
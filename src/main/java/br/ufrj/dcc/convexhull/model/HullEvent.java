@@ -0,0 +1,83 @@
+package br.ufrj.dcc.convexhull.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * This class is the flight recorder event of a convex hull computation, with the same
+ * metrics as {@link HullMetrics}. Its duration is the duration of the computation.
+ * 
+ * @see HullInstrumentation
+ */
+@Name("br.ufrj.dcc.convexhull.HullComputation")
+@Label("Convex Hull Computation")
+@Category("Convex Hull")
+@Description("A convex hull computed by ConvexHull, with the time of each phase")
+class HullEvent extends jdk.jfr.Event
+{
+	@Label("Algorithm")
+	String algorithm;
+	
+	@Label("Input Size")
+	int inputSize;
+	
+	@Label("Hull Size")
+	int hullSize;
+	
+	@Label("Recursion Depth")
+	int recursionDepth;
+	
+	@Label("Sort")
+	@Timespan(Timespan.NANOSECONDS)
+	long sortTime;
+	
+	@Label("Split")
+	@Timespan(Timespan.NANOSECONDS)
+	long splitTime;
+	
+	@Label("Base Case")
+	@Timespan(Timespan.NANOSECONDS)
+	long baseCaseTime;
+	
+	@Label("Tangent Search")
+	@Timespan(Timespan.NANOSECONDS)
+	long tangentSearchTime;
+	
+	@Label("Merge")
+	@Timespan(Timespan.NANOSECONDS)
+	long mergeTime;
+	
+	@Label("Orientation Tests")
+	@Description("-1 when the orientation tests are not counted or the algorithm is parallel")
+	long orientationCount;
+	
+	@Label("Exact Fallbacks")
+	@Description("-1 when the orientation tests are not counted or the algorithm is parallel")
+	long exactFallbackCount;
+	
+	/**
+	 * @return <b>true</b> if a running recording has this event enabled <b>false</b> if not
+	 */
+	static boolean isRecorded()
+	{
+		return new HullEvent().isEnabled();
+	}
+	
+	void set(HullMetrics metrics)
+	{
+		algorithm = metrics.getAlgorithm().name();
+		inputSize = metrics.getInputSize();
+		hullSize = metrics.getHullSize();
+		recursionDepth = metrics.getRecursionDepth();
+		sortTime = metrics.getPhaseNanos(HullMetrics.Phase.SORT);
+		splitTime = metrics.getPhaseNanos(HullMetrics.Phase.SPLIT);
+		baseCaseTime = metrics.getPhaseNanos(HullMetrics.Phase.BASE_CASE);
+		tangentSearchTime = metrics.getPhaseNanos(HullMetrics.Phase.TANGENT_SEARCH);
+		mergeTime = metrics.getPhaseNanos(HullMetrics.Phase.MERGE);
+		orientationCount = metrics.getOrientationCount();
+		exactFallbackCount = metrics.getExactFallbackCount();
+	}
+}
@@ -0,0 +1,101 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * This class is the switch of the instrumentation of {@link ConvexHull}. While a {@link HullListener}
+ * is registered, or while a flight recording has the {@link HullEvent} enabled, each call to 
+ * {@link ConvexHull#divideAndConquer(PointSet)} or {@link ConvexHull#compute(PointSet, Algorithm)} 
+ * records its metrics and reports them to both. Only divide and conquer records the time of each 
+ * phase and the depth of its recursion; the other algorithms record the sizes, the total time and 
+ * the orientation tests.
+ * 
+ * When neither is there, a call only checks that once and runs the same code as without the
+ * instrumentation. The orientation tests are counted only when the JVM is started with the system
+ * property {@value #COUNT_PREDICATES_PROPERTY} set to true, as counting them costs a little on every
+ * test; otherwise the JIT compiler removes the counting code.
+ * 
+ * This class is thread safe.
+ */
+public class HullInstrumentation
+{
+	/**
+	 * The system property which turns on the counting of orientation tests.
+	 */
+	public static final String COUNT_PREDICATES_PROPERTY = "br.ufrj.dcc.convexhull.countPredicates";
+	
+	static final boolean IS_COUNTING_PREDICATES = Boolean.getBoolean(COUNT_PREDICATES_PROPERTY);
+	
+	// a runtime image may leave the flight recorder out, and then neither it nor HullEvent can be loaded
+	private static final boolean IS_FLIGHT_RECORDER_PRESENT = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+	
+	private static final List<HullListener> LISTENERS = new CopyOnWriteArrayList<HullListener>();
+	
+	private static volatile boolean hasListeners = false;
+	
+	/**
+	 * Registers a listener, which receives the metrics of every hull computed from now on.
+	 * 
+	 * @param listener a given listener
+	 */
+	public static synchronized void addListener(HullListener listener)
+	{
+		if(listener == null)
+		{
+			throw new IllegalArgumentException("The listener must not be null");
+		}
+		
+		LISTENERS.add(listener);
+		hasListeners = true;
+	}
+	
+	/**
+	 * Unregisters a listener.
+	 * 
+	 * @param listener a given listener
+	 * @return <b>true</b> if the listener was registered <b>false</b> if not
+	 */
+	public static synchronized boolean removeListener(HullListener listener)
+	{
+		boolean wasRegistered = LISTENERS.remove(listener);
+		hasListeners = !LISTENERS.isEmpty();
+		
+		return wasRegistered;
+	}
+	
+	/**
+	 * @return <b>true</b> if the orientation tests are counted <b>false</b> if not
+	 */
+	public static boolean isCountingPredicates()
+	{
+		return IS_COUNTING_PREDICATES;
+	}
+	
+	/**
+	 * @return <b>true</b> if a computation should record its metrics <b>false</b> if not
+	 */
+	static boolean isEnabled()
+	{
+		return hasListeners || isFlightRecorded();
+	}
+	
+	/**
+	 * @return <b>true</b> if a running flight recording has the {@link HullEvent} enabled <b>false</b> if not
+	 */
+	static boolean isFlightRecorded()
+	{
+		// loading an event class sets up the whole recorder, so HullEvent waits until a recording started it
+		return IS_FLIGHT_RECORDER_PRESENT && FlightRecorder.isInitialized() && HullEvent.isRecorded();
+	}
+	
+	static void report(HullMetrics metrics)
+	{
+		for (HullListener listener : LISTENERS)
+		{
+			listener.hullComputed(metrics);
+		}
+	}
+}
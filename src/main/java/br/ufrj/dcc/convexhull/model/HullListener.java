@@ -0,0 +1,19 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This interface receives the metrics of the convex hulls computed while it is registered
+ * in {@link HullInstrumentation}.
+ * 
+ * It is called on the thread which computed the hull, right after the computation, so it
+ * should return quickly. An exception thrown by a listener is thrown to the caller of
+ * {@link ConvexHull}.
+ */
+public interface HullListener
+{
+	/**
+	 * Receives the metrics of a convex hull which has just been computed.
+	 * 
+	 * @param metrics the metrics of the computation
+	 */
+	void hullComputed(HullMetrics metrics);
+}
@@ -0,0 +1,135 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This class holds the metrics of a single convex hull computation: how long each phase took,
+ * the sizes of the input and of the hull, how deep the recursion went and how many orientation
+ * tests were made.
+ * 
+ * The phases are not nested, so their times add up to about the total time of the computation.
+ * 
+ * @see HullInstrumentation
+ */
+public class HullMetrics
+{
+	/**
+	 * The phases of a convex hull computation.
+	 */
+	public enum Phase
+	{
+		/** Sorting the points and removing the repeated ones. */
+		SORT,
+		/** Splitting a set of points in two halves. */
+		SPLIT,
+		/** Solving the subsets small enough to skip the recursion. */
+		BASE_CASE,
+		/** Finding the tangents between two hulls. */
+		TANGENT_SEARCH,
+		/** Joining two hulls once their tangents are known. */
+		MERGE
+	}
+	
+	private Algorithm algorithm;
+	private int inputSize;
+	private int hullSize;
+	private int recursionDepth;
+	private long totalNanos;
+	private long[] phaseNanos;
+	private long orientationCount;
+	private long exactFallbackCount;
+	
+	HullMetrics(Algorithm algorithm, int inputSize, int hullSize, int recursionDepth, long totalNanos, long[] phaseNanos, long orientationCount, long exactFallbackCount)
+	{
+		this.algorithm = algorithm;
+		this.inputSize = inputSize;
+		this.hullSize = hullSize;
+		this.recursionDepth = recursionDepth;
+		this.totalNanos = totalNanos;
+		this.phaseNanos = phaseNanos;
+		this.orientationCount = orientationCount;
+		this.exactFallbackCount = exactFallbackCount;
+	}
+	
+	public Algorithm getAlgorithm()
+	{
+		return algorithm;
+	}
+	
+	/**
+	 * @return the number of points given to the algorithm
+	 */
+	public int getInputSize()
+	{
+		return inputSize;
+	}
+	
+	/**
+	 * @return the number of points on the convex hull
+	 */
+	public int getHullSize()
+	{
+		return hullSize;
+	}
+	
+	/**
+	 * @return the number of nested recursive calls, 0 when the whole set was a base case or the algorithm does not record it
+	 */
+	public int getRecursionDepth()
+	{
+		return recursionDepth;
+	}
+	
+	/**
+	 * @return the time of the whole computation, in nanoseconds
+	 */
+	public long getTotalNanos()
+	{
+		return totalNanos;
+	}
+	
+	/**
+	 * @param phase a given phase
+	 * @return the time spent in the phase, in nanoseconds, 0 if the algorithm does not record its phases
+	 */
+	public long getPhaseNanos(Phase phase)
+	{
+		return phaseNanos[phase.ordinal()];
+	}
+	
+	/**
+	 * @return the number of orientation tests, or -1 if they were not counted or the algorithm is parallel
+	 * @see HullInstrumentation#isCountingPredicates()
+	 */
+	public long getOrientationCount()
+	{
+		return orientationCount;
+	}
+	
+	/**
+	 * @return the number of orientation tests which needed exact arithmetic, or -1 if they were not counted or the algorithm is parallel
+	 * @see HullInstrumentation#isCountingPredicates()
+	 */
+	public long getExactFallbackCount()
+	{
+		return exactFallbackCount;
+	}
+	
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		
+		builder.append(algorithm).append(": ").append(inputSize).append(" points, ").append(hullSize).append(" on the hull");
+		builder.append(", depth ").append(recursionDepth).append(", ").append(totalNanos).append(" ns");
+		
+		for (Phase phase : Phase.values())
+		{
+			builder.append(", ").append(phase).append(' ').append(phaseNanos[phase.ordinal()]).append(" ns");
+		}
+		
+		if(orientationCount >= 0)
+		{
+			builder.append(", ").append(orientationCount).append(" orientation tests, ").append(exactFallbackCount).append(" exact");
+		}
+		
+		return builder.toString();
+	}
+}
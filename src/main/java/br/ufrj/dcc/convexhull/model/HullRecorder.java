@@ -0,0 +1,106 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This class records the metrics of a single convex hull computation, on the thread running it.
+ * A computation asks for a recorder with {@link #start(Algorithm, int)}, which returns null when the
+ * instrumentation is disabled, so the disabled path only pays for null checks.
+ * 
+ * This class is not thread safe.
+ */
+class HullRecorder
+{
+	private Algorithm algorithm;
+	private int inputSize;
+	private long startTime;
+	private long[] phaseNanos;
+	private int depth;
+	private int maximumDepth;
+	private long startOrientationCount;
+	private long startExactFallbackCount;
+	private HullEvent event;
+	
+	private HullRecorder(Algorithm algorithm, int inputSize)
+	{
+		this.algorithm = algorithm;
+		this.inputSize = inputSize;
+		this.phaseNanos = new long[HullMetrics.Phase.values().length];
+		this.startOrientationCount = RobustPredicates.getOrientationCount();
+		this.startExactFallbackCount = RobustPredicates.getExactFallbackCount();
+		
+		if(HullInstrumentation.isFlightRecorded())
+		{
+			this.event = new HullEvent();
+			this.event.begin();
+		}
+		
+		this.startTime = System.nanoTime();
+	}
+	
+	/**
+	 * @return a recorder for a new computation, or null if the instrumentation is disabled
+	 */
+	static HullRecorder start(Algorithm algorithm, int inputSize)
+	{
+		return HullInstrumentation.isEnabled() ? new HullRecorder(algorithm, inputSize) : null;
+	}
+	
+	/**
+	 * Adds the time elapsed since a given instant to a phase.
+	 * 
+	 * @param phase a given phase
+	 * @param startTime the instant the phase started, from {@link System#nanoTime()}
+	 * @return the current instant, so the next phase can start from it
+	 */
+	long endPhase(HullMetrics.Phase phase, long startTime)
+	{
+		long endTime = System.nanoTime();
+		phaseNanos[phase.ordinal()] += endTime - startTime;
+		
+		return endTime;
+	}
+	
+	void enter()
+	{
+		depth++;
+		maximumDepth = Math.max(maximumDepth, depth);
+	}
+	
+	void exit()
+	{
+		depth--;
+	}
+	
+	/**
+	 * Ends the computation and reports its metrics to the listeners and to the flight recorder.
+	 * 
+	 * @param hullSize the number of points on the convex hull
+	 */
+	void finish(int hullSize)
+	{
+		long totalNanos = System.nanoTime() - startTime;
+		long orientationCount = -1;
+		long exactFallbackCount = -1;
+		
+		// the counts are kept per thread, so they miss the tests made by the workers of a pool
+		if(HullInstrumentation.IS_COUNTING_PREDICATES && !algorithm.isParallel())
+		{
+			orientationCount = RobustPredicates.getOrientationCount() - startOrientationCount;
+			exactFallbackCount = RobustPredicates.getExactFallbackCount() - startExactFallbackCount;
+		}
+		
+		HullMetrics metrics = new HullMetrics(algorithm, inputSize, hullSize, maximumDepth, totalNanos, phaseNanos, orientationCount, exactFallbackCount);
+		
+		if(event != null)
+		{
+			event.end();
+			
+			if(event.shouldCommit())
+			{
+				event.set(metrics);
+				event.commit();
+			}
+		}
+		
+		HullInstrumentation.report(metrics);
+	}
+}
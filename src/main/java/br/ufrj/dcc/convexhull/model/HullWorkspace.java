@@ -0,0 +1,157 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This class holds the scratch arrays used to compute convex hulls on primitive coordinates,
+ * so they can be reused from one hull to the next. The arrays only grow, so once a workspace
+ * has seen its largest set, computing a hull with it allocates nothing.
+ * 
+ * The hull is the same as {@link ConvexHull#monotoneChain(PointSet)}: the indices of its points in 
+ * counterclockwise order, starting at the point with the lowest x coordinate (lowest y on ties),
+ * without collinear points.
+ * 
+ * This class is not thread safe, each thread needs its own workspace.
+ */
+public class HullWorkspace
+{
+	private static final int DEFAULT_CAPACITY = 64;
+	
+	private static final ThreadLocal<HullWorkspace> WORKSPACES = new ThreadLocal<HullWorkspace>()
+	{
+		@Override
+		protected HullWorkspace initialValue()
+		{
+			return new HullWorkspace();
+		}
+	};
+	
+	PointSet points;
+	int[] indices;
+	int[] hull;
+	
+	public HullWorkspace()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Creates a workspace which computes the hulls of up to <b>capacity</b> points without growing.
+	 * 
+	 * @param capacity the number of points
+	 */
+	public HullWorkspace(int capacity)
+	{
+		this.points = new PointSet(capacity);
+		this.indices = new int[capacity];
+		this.hull = new int[2 * capacity + 1];
+	}
+	
+	/**
+	 * @return the workspace of the current thread
+	 */
+	static HullWorkspace current()
+	{
+		return WORKSPACES.get();
+	}
+	
+	/**
+	 * Computes the convex hull of a set of points, writing the indices of its points to a buffer.
+	 * 
+	 * Complexity: O(nlogn)
+	 * 
+	 * @param points a given set of points P
+	 * @param convexHull the buffer receiving the hull, with at least as many positions as points
+	 * @return the number of points on the convex hull
+	 */
+	public int monotoneChain(PointSet points, int[] convexHull)
+	{
+		int size = points.size();
+		
+		ensureCapacity(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		int convexHullSize = monotoneChainOfIndices(points, size);
+		System.arraycopy(hull, 0, convexHull, 0, convexHullSize);
+		
+		return convexHullSize;
+	}
+	
+	/**
+	 * Computes the convex hull of the points between <b>from</b> (inclusive) and <b>to</b> (exclusive)
+	 * of a buffer of interleaved (x, y) coordinates, writing the indices of its points to a buffer.
+	 * 
+	 * Complexity: O(nlogn)
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of the points
+	 * @param from the index of the first point of the set
+	 * @param to the index after the last point of the set
+	 * @param convexHull the buffer receiving the hull
+	 * @param position the position of the first point of the hull in the buffer
+	 * @return the number of points on the convex hull
+	 * @throws IllegalArgumentException if a coordinate of the set is NaN or infinite
+	 */
+	public int monotoneChain(double[] coordinates, int from, int to, int[] convexHull, int position)
+	{
+		int size = to - from;
+		
+		ensureCapacity(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			double x = coordinates[2 * (from + i)];
+			double y = coordinates[2 * (from + i) + 1];
+			
+			// NaN breaks the sort, and the hull could then run past the positions of the set
+			if(!Double.isFinite(x) || !Double.isFinite(y))
+			{
+				throw new IllegalArgumentException("Non finite coordinates of point " + (from + i) + ": (" + x + ", " + y + ")");
+			}
+			
+			points.xs[i] = x;
+			points.ys[i] = y;
+			indices[i] = i;
+		}
+		
+		points.size = size;
+		
+		int convexHullSize = monotoneChainOfIndices(points, size);
+		
+		for (int i = 0; i < convexHullSize; i++)
+		{
+			convexHull[position + i] = from + hull[i];
+		}
+		
+		return convexHullSize;
+	}
+	
+	/**
+	 * Sorts the first <b>size</b> indices and builds their hull at the beginning of the hull array.
+	 */
+	private int monotoneChainOfIndices(PointSet points, int size)
+	{
+		IndexSort.sort(points, indices, 0, size);
+		int distinctPoints = IndexSort.removeRepeatedPoints(points, indices, 0, size);
+		
+		return ConvexHull.monotoneChainOfSortedIndices(points, indices, 0, distinctPoints, hull);
+	}
+	
+	/**
+	 * Makes room for a given number of points, growing the arrays by half at least.
+	 * 
+	 * @param capacity the number of points
+	 */
+	private void ensureCapacity(int capacity)
+	{
+		if(indices.length < capacity)
+		{
+			int newCapacity = Math.max(capacity, indices.length + (indices.length >> 1));
+			
+			points = new PointSet(newCapacity);
+			indices = new int[newCapacity];
+			hull = new int[2 * newCapacity + 1];
+		}
+	}
+}
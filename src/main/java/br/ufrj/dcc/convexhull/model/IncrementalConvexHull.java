@@ -0,0 +1,166 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * This class is a convex hull which accepts points incrementally.
+ * 
+ * Basic idea: Keep the lower and the upper chains of the convex hull in two balanced search trees
+ * ordered by x coordinate (ties broken by y). A new point is located between its neighbours in
+ * each chain; if it is outside the hull it is inserted and the neighbours which stop making
+ * a convex turn are removed on both sides.
+ * 
+ * Complexity: O(logh) amortized per point, where h is the size of the hull
+ * 
+ * This class is not thread safe.
+ * 
+ * @see https://en.wikipedia.org/wiki/Dynamic_convex_hull
+ */
+public class IncrementalConvexHull
+{
+	private TreeSet<Point> lowerHull;
+	private TreeSet<Point> upperHull;
+	
+	public IncrementalConvexHull()
+	{
+		this.lowerHull = new TreeSet<Point>();
+		this.upperHull = new TreeSet<Point>();
+	}
+	
+	/**
+	 * Adds a point to the set, updating the convex hull.
+	 * 
+	 * @param point a given point
+	 * @return <b>true</b> if the convex hull changed <b>false</b> if the point is inside it or on its boundary
+	 */
+	public boolean add(Point point)
+	{
+		boolean isOnLowerHull = addToChain(lowerHull, point, 1.0);
+		boolean isOnUpperHull = addToChain(upperHull, point, -1.0);
+		
+		return isOnLowerHull || isOnUpperHull;
+	}
+	
+	/**
+	 * Adds every point of a given collection, updating the convex hull.
+	 * 
+	 * @param points a given collection of points
+	 * @return <b>true</b> if the convex hull changed <b>false</b> if not
+	 */
+	public boolean addAll(Collection<Point> points)
+	{
+		boolean hasChanged = false;
+		
+		for (Point point : points)
+		{
+			hasChanged |= add(point);
+		}
+		
+		return hasChanged;
+	}
+	
+	/**
+	 * Returns the current convex hull in counterclockwise order, starting at the point
+	 * with the lowest x coordinate (lowest y on ties), without collinear points.
+	 * 
+	 * Complexity: O(h)
+	 * 
+	 * @return the convex hull in counterclockwise order
+	 */
+	public List<Point> getConvexHull()
+	{
+		List<Point> convexHull = new ArrayList<Point>(lowerHull.size() + upperHull.size());
+		
+		convexHull.addAll(lowerHull);
+		
+		if(upperHull.size() > 2)
+		{
+			Iterator<Point> iterator = upperHull.descendingIterator();
+			iterator.next();
+			
+			for (int i = 1; i < upperHull.size() - 1; i++)
+			{
+				convexHull.add(iterator.next());
+			}
+		}
+		
+		return convexHull;
+	}
+	
+	/**
+	 * @return the number of points on the convex hull
+	 */
+	public int size()
+	{
+		if(lowerHull.size() < 2)
+		{
+			return lowerHull.size();
+		}
+		
+		return lowerHull.size() + upperHull.size() - 2;
+	}
+	
+	/**
+	 * Adds a point to a chain of the hull. The lower chain turns counterclockwise from left to right
+	 * and the upper chain turns clockwise, so <b>orientation</b> is 1 for the lower chain and -1 for the upper one.
+	 * 
+	 * @param chain the points of the chain in (x, y) order
+	 * @param point a given point
+	 * @param orientation the sign of the cross product of every three consecutive points of the chain
+	 * @return <b>true</b> if the point was added to the chain <b>false</b> if not
+	 */
+	private static boolean addToChain(TreeSet<Point> chain, Point point, double orientation)
+	{
+		Point left = chain.lower(point);
+		Point right = chain.higher(point);
+		
+		if(chain.contains(point))
+		{
+			return false;
+		}
+		
+		if(left != null && right != null && orientation * crossProduct(left, point, right) <= 0.0)
+		{
+			return false;
+		}
+		
+		chain.add(point);
+		
+		while(right != null)
+		{
+			Point nextRight = chain.higher(right);
+			
+			if(nextRight == null || orientation * crossProduct(point, right, nextRight) > 0.0)
+			{
+				break;
+			}
+			
+			chain.remove(right);
+			right = nextRight;
+		}
+		
+		while(left != null)
+		{
+			Point nextLeft = chain.lower(left);
+			
+			if(nextLeft == null || orientation * crossProduct(nextLeft, left, point) > 0.0)
+			{
+				break;
+			}
+			
+			chain.remove(left);
+			left = nextLeft;
+		}
+		
+		return true;
+	}
+	
+	private static double crossProduct(Point o, Point a, Point b)
+	{
+		return ConvexHull.crossProduct(o.x(), o.y(), a.x(), a.y(), b.x(), b.y());
+	}
+}
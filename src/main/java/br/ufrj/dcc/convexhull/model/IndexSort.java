@@ -0,0 +1,283 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class sorts indices of a {@link PointSet} by x coordinate, breaking ties by y coordinate,
+ * without boxing the coordinates.
+ * 
+ * It is an introsort: a quicksort with median of three pivots which falls back to heapsort
+ * when the recursion gets too deep, and to insertion sort for small ranges.
+ */
+class IndexSort
+{
+	private static final int INSERTION_SORT_THRESHOLD = 24;
+	private static final int PARALLEL_SORT_THRESHOLD = 8192;
+	
+	/**
+	 * Returns the indices of every point of a given set, sorted by x and y coordinates.
+	 * 
+	 * @param points a given set of points
+	 * @return the sorted indices
+	 */
+	static int[] sortedIndices(PointSet points)
+	{
+		int[] indices = identity(points.size());
+		sort(points, indices, 0, indices.length);
+		
+		return indices;
+	}
+	
+	/**
+	 * Same as {@link #sortedIndices(PointSet)}, but large ranges are sorted in parallel on a given pool.
+	 * 
+	 * @param points a given set of points
+	 * @param pool the pool that runs the sort
+	 * @return the sorted indices
+	 */
+	static int[] parallelSortedIndices(PointSet points, ForkJoinPool pool)
+	{
+		int[] indices = identity(points.size());
+		pool.invoke(new SortTask(points, indices, 0, indices.length, depthLimit(indices.length)));
+		
+		return indices;
+	}
+	
+	/**
+	 * Sorts the indices between <b>from</b> (inclusive) and <b>to</b> (exclusive).
+	 * 
+	 * @param points a given set of points
+	 * @param indices the indices to sort
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 */
+	static void sort(PointSet points, int[] indices, int from, int to)
+	{
+		introSort(points, indices, from, to, depthLimit(to - from));
+	}
+	
+	/**
+	 * Given a range of sorted indices, keeps only one index for each repeated point,
+	 * moving them to the beginning of the range.
+	 * 
+	 * @param points a given set of points
+	 * @param sortedIndices the sorted indices
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @return the index after the last distinct point
+	 */
+	static int removeRepeatedPoints(PointSet points, int[] sortedIndices, int from, int to)
+	{
+		int distinctPoints = from;
+		
+		for (int i = from; i < to; i++)
+		{
+			int index = sortedIndices[i];
+			
+			if(distinctPoints == from || points.compare(index, sortedIndices[distinctPoints - 1]) != 0)
+			{
+				sortedIndices[distinctPoints++] = index;
+			}
+		}
+		
+		return distinctPoints;
+	}
+	
+	private static int[] identity(int size)
+	{
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
+	
+	private static int depthLimit(int size)
+	{
+		return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(size, 1)));
+	}
+	
+	private static void introSort(PointSet points, int[] indices, int from, int to, int depthLimit)
+	{
+		while(to - from > INSERTION_SORT_THRESHOLD)
+		{
+			if(depthLimit == 0)
+			{
+				heapSort(points, indices, from, to);
+				return;
+			}
+			
+			depthLimit--;
+			
+			int middle = partition(points, indices, from, to);
+			
+			// recurse into the smaller side to bound the stack depth
+			if(middle - from < to - middle)
+			{
+				introSort(points, indices, from, middle, depthLimit);
+				from = middle;
+			}
+			else
+			{
+				introSort(points, indices, middle, to, depthLimit);
+				to = middle;
+			}
+		}
+		
+		insertionSort(points, indices, from, to);
+	}
+	
+	/**
+	 * Hoare partition around the median of the first, middle and last indices.
+	 * 
+	 * @return the index splitting the range in two non empty ranges, with no index
+	 * of the first range after any index of the second one
+	 */
+	private static int partition(PointSet points, int[] indices, int from, int to)
+	{
+		int last = to - 1;
+		int middle = (from + last) >>> 1;
+		
+		if(points.compare(indices[middle], indices[from]) < 0) swap(indices, middle, from);
+		if(points.compare(indices[last], indices[middle]) < 0)
+		{
+			swap(indices, last, middle);
+			
+			if(points.compare(indices[middle], indices[from]) < 0) swap(indices, middle, from);
+		}
+		
+		int pivot = indices[middle];
+		int i = from - 1;
+		int j = to;
+		
+		while(true)
+		{
+			do
+			{
+				i++;
+			}
+			while(points.compare(indices[i], pivot) < 0);
+			
+			do
+			{
+				j--;
+			}
+			while(points.compare(indices[j], pivot) > 0);
+			
+			if(i >= j)
+			{
+				return j + 1;
+			}
+			
+			swap(indices, i, j);
+		}
+	}
+	
+	private static void insertionSort(PointSet points, int[] indices, int from, int to)
+	{
+		for (int i = from + 1; i < to; i++)
+		{
+			int index = indices[i];
+			int j = i - 1;
+			
+			while(j >= from && points.compare(indices[j], index) > 0)
+			{
+				indices[j + 1] = indices[j];
+				j--;
+			}
+			
+			indices[j + 1] = index;
+		}
+	}
+	
+	private static void heapSort(PointSet points, int[] indices, int from, int to)
+	{
+		int size = to - from;
+		
+		for (int i = size / 2 - 1; i >= 0; i--)
+		{
+			siftDown(points, indices, from, i, size);
+		}
+		
+		for (int i = size - 1; i > 0; i--)
+		{
+			swap(indices, from, from + i);
+			siftDown(points, indices, from, 0, i);
+		}
+	}
+	
+	private static void siftDown(PointSet points, int[] indices, int offset, int root, int size)
+	{
+		int index = indices[offset + root];
+		
+		while(2 * root + 1 < size)
+		{
+			int child = 2 * root + 1;
+			
+			if(child + 1 < size && points.compare(indices[offset + child + 1], indices[offset + child]) > 0)
+			{
+				child++;
+			}
+			
+			if(points.compare(indices[offset + child], index) <= 0)
+			{
+				break;
+			}
+			
+			indices[offset + root] = indices[offset + child];
+			root = child;
+		}
+		
+		indices[offset + root] = index;
+	}
+	
+	private static void swap(int[] indices, int i, int j)
+	{
+		int index = indices[i];
+		indices[i] = indices[j];
+		indices[j] = index;
+	}
+	
+	/**
+	 * This class is a fork/join task sorting a range of indices. Each partition step
+	 * forks the sort of the first side and sorts the second one in the current thread.
+	 */
+	private static class SortTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private int[] indices;
+		private int from;
+		private int to;
+		private int depthLimit;
+		
+		SortTask(PointSet points, int[] indices, int from, int to, int depthLimit)
+		{
+			this.points = points;
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+			this.depthLimit = depthLimit;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(to - from <= PARALLEL_SORT_THRESHOLD || depthLimit == 0)
+			{
+				introSort(points, indices, from, to, depthLimit);
+				return;
+			}
+			
+			int middle = partition(points, indices, from, to);
+			
+			invokeAll(new SortTask(points, indices, from, middle, depthLimit - 1),
+					  new SortTask(points, indices, middle, to, depthLimit - 1));
+		}
+	}
+}
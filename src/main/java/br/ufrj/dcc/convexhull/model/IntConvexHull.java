@@ -0,0 +1,220 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.Arrays;
+
+/**
+ * This class is a convex hull calculator for points with integer coordinates.
+ * 
+ * Basic idea: The differences of two ints fit in 33 bits, so their cross products fit in 
+ * 128 bits: {@link Math#multiplyHigh(long, long)} gives the high half of each product and the 
+ * orientation is exact, without the error bounds of doubles. The points are sorted by a radix sort
+ * of their (x, y) pairs packed in a long, which skips the bytes that every point shares, so small 
+ * grids take fewer passes.
+ * 
+ * The hull follows the conventions of {@link ConvexHull}: counterclockwise, starting at the point
+ * with the lowest x coordinate (lowest y on ties), without collinear or repeated points.
+ */
+public class IntConvexHull
+{
+	private static final int RADIX_BITS = 8;
+	private static final int RADIX = 1 << RADIX_BITS;
+	private static final int INSERTION_SORT_THRESHOLD = 32;
+	
+	/**
+	 * Basic idea: Andrew's monotone chain, as in {@link ConvexHull#monotoneChain(PointSet)}.
+	 * 
+	 * Complexity: O(n) to sort the points, O(n) to build the hull
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	public static int[] monotoneChain(IntPointSet points)
+	{
+		int size = points.size();
+		long[] keys = new long[size];
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			keys[i] = key(points.xs[i], points.ys[i]);
+			indices[i] = i;
+		}
+		
+		sort(keys, indices);
+		
+		int distinctPoints = 0;
+		
+		for (int i = 0; i < size; i++)
+		{
+			if(distinctPoints == 0 || keys[i] != keys[i - 1])
+			{
+				indices[distinctPoints++] = indices[i];
+			}
+		}
+		
+		int[] hull = new int[2 * distinctPoints + 1];
+		int hullSize = 0;
+		
+		for (int i = 0; i < distinctPoints; i++)
+		{
+			int point = indices[i];
+			
+			while(hullSize >= 2 && orientation(points, hull[hullSize - 2], hull[hullSize - 1], point) <= 0)
+			{
+				hullSize--;
+			}
+			
+			hull[hullSize++] = point;
+		}
+		
+		int lowerHullSize = hullSize + 1;
+		
+		for (int i = distinctPoints - 2; i >= 0; i--)
+		{
+			int point = indices[i];
+			
+			while(hullSize >= lowerHullSize && orientation(points, hull[hullSize - 2], hull[hullSize - 1], point) <= 0)
+			{
+				hullSize--;
+			}
+			
+			hull[hullSize++] = point;
+		}
+		
+		// the last point of the upper hull is the first point of the lower hull
+		return Arrays.copyOf(hull, hullSize > 1 ? hullSize - 1 : hullSize);
+	}
+	
+	/**
+	 * Computes the exact orientation of the points O, A and B of a given set.
+	 * 
+	 * @param points a given set of points
+	 * @param o the index of the origin point
+	 * @param a the index of a given point A
+	 * @param b the index of a given point B
+	 * @return 1 if O, A and B make a counterclockwise turn, -1 for a clockwise turn and 0 if they are collinear
+	 */
+	protected static int orientation(IntPointSet points, int o, int a, int b)
+	{
+		return orientation(points.xs[o], points.ys[o], points.xs[a], points.ys[a], points.xs[b], points.ys[b]);
+	}
+	
+	/**
+	 * Computes the exact orientation of the points O, A and B given by their coordinates, i.e.
+	 * the sign of the cross product of OA and OB.
+	 * 
+	 * @return 1 if O, A and B make a counterclockwise turn, -1 for a clockwise turn and 0 if they are collinear
+	 */
+	public static int orientation(int ox, int oy, int ax, int ay, int bx, int by)
+	{
+		long oax = (long) ax - ox;
+		long oay = (long) ay - oy;
+		long obx = (long) bx - ox;
+		long oby = (long) by - oy;
+		
+		long left = oax * oby;
+		long right = oay * obx;
+		long leftHigh = Math.multiplyHigh(oax, oby);
+		long rightHigh = Math.multiplyHigh(oay, obx);
+		
+		if(leftHigh != rightHigh)
+		{
+			return leftHigh > rightHigh ? 1 : -1;
+		}
+		
+		return Long.signum(Long.compareUnsigned(left, right));
+	}
+	
+	/**
+	 * Packs a point in a long whose unsigned order is the (x, y) order of the points.
+	 */
+	private static long key(int x, int y)
+	{
+		return ((long) (x ^ Integer.MIN_VALUE) << 32) | ((y ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+	}
+	
+	/**
+	 * Sorts the keys in unsigned order, moving the indices along (least significant digit radix sort).
+	 */
+	private static void sort(long[] keys, int[] indices)
+	{
+		int size = keys.length;
+		
+		if(size <= INSERTION_SORT_THRESHOLD)
+		{
+			insertionSort(keys, indices);
+			return;
+		}
+		
+		long[] sourceKeys = keys;
+		int[] sourceIndices = indices;
+		long[] targetKeys = new long[size];
+		int[] targetIndices = new int[size];
+		int[] counts = new int[RADIX];
+		
+		for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS)
+		{
+			Arrays.fill(counts, 0);
+			
+			for (int i = 0; i < size; i++)
+			{
+				counts[(int) (sourceKeys[i] >>> shift) & (RADIX - 1)]++;
+			}
+			
+			// every key has the same digit, the pass would not move anything
+			if(counts[(int) (sourceKeys[0] >>> shift) & (RADIX - 1)] == size)
+			{
+				continue;
+			}
+			
+			for (int digit = 0, position = 0; digit < RADIX; digit++)
+			{
+				int count = counts[digit];
+				counts[digit] = position;
+				position += count;
+			}
+			
+			for (int i = 0; i < size; i++)
+			{
+				int position = counts[(int) (sourceKeys[i] >>> shift) & (RADIX - 1)]++;
+				targetKeys[position] = sourceKeys[i];
+				targetIndices[position] = sourceIndices[i];
+			}
+			
+			long[] swapKeys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = swapKeys;
+			
+			int[] swapIndices = sourceIndices;
+			sourceIndices = targetIndices;
+			targetIndices = swapIndices;
+		}
+		
+		// after an odd number of passes the sorted keys are in the scratch arrays
+		if(sourceKeys != keys)
+		{
+			System.arraycopy(sourceKeys, 0, keys, 0, size);
+			System.arraycopy(sourceIndices, 0, indices, 0, size);
+		}
+	}
+	
+	private static void insertionSort(long[] keys, int[] indices)
+	{
+		for (int i = 1; i < keys.length; i++)
+		{
+			long key = keys[i];
+			int index = indices[i];
+			int j = i - 1;
+			
+			while(j >= 0 && Long.compareUnsigned(keys[j], key) > 0)
+			{
+				keys[j + 1] = keys[j];
+				indices[j + 1] = indices[j];
+				j--;
+			}
+			
+			keys[j + 1] = key;
+			indices[j + 1] = index;
+		}
+	}
+}
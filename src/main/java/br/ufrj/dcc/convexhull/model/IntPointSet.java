@@ -0,0 +1,154 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a set of 2-D points with integer coordinates, such as pixels or scaled
+ * latitudes and longitudes, stored as two parallel arrays of ints. Each point costs 8 bytes, half
+ * of a {@link PointSet}.
+ * 
+ * The points are identified by their index in the set. {@link IntConvexHull} returns the indices
+ * of the points on the convex hull, computed with exact integer arithmetic.
+ */
+public class IntPointSet
+{
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	int[] xs;
+	int[] ys;
+	int size;
+	
+	public IntPointSet()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public IntPointSet(int capacity)
+	{
+		this.xs = new int[capacity];
+		this.ys = new int[capacity];
+		this.size = 0;
+	}
+	
+	/**
+	 * Creates a point set over the given arrays, without copying them.
+	 * 
+	 * @param xs the x coordinates
+	 * @param ys the y coordinates
+	 */
+	public IntPointSet(int[] xs, int[] ys)
+	{
+		if(xs.length != ys.length)
+		{
+			throw new IllegalArgumentException("The coordinate arrays must have the same length: " + xs.length + " != " + ys.length);
+		}
+		
+		this.xs = xs;
+		this.ys = ys;
+		this.size = xs.length;
+	}
+	
+	public void add(int x, int y)
+	{
+		if(size == xs.length)
+		{
+			int capacity = Math.max(DEFAULT_CAPACITY, xs.length + (xs.length >> 1));
+			
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+		}
+		
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public int x(int index)
+	{
+		return xs[index];
+	}
+	
+	public int y(int index)
+	{
+		return ys[index];
+	}
+	
+	public Point get(int index)
+	{
+		return new Point((double) xs[index], (double) ys[index]);
+	}
+	
+	/**
+	 * Returns the points of a given list of indices, in the same order.
+	 * 
+	 * @param indices a list of indices of this set
+	 * @return the points of those indices
+	 */
+	public List<Point> toPoints(int[] indices)
+	{
+		List<Point> points = new ArrayList<Point>(indices.length);
+		
+		for (int index : indices)
+		{
+			points.add(get(index));
+		}
+		
+		return points;
+	}
+	
+	/**
+	 * Copies this set into a point set of doubles, keeping the indices. Every int is exactly a double.
+	 * 
+	 * @return a point set with the same points
+	 */
+	public PointSet toPointSet()
+	{
+		PointSet points = new PointSet(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			points.add(xs[i], ys[i]);
+		}
+		
+		return points;
+	}
+	
+	/**
+	 * Compares two points of this set by x coordinate, breaking ties by y coordinate.
+	 * 
+	 * @param i the index of a point
+	 * @param j the index of another point
+	 * @return a negative number, zero or a positive number if the first point comes before,
+	 * is equal to or comes after the second one
+	 */
+	public int compare(int i, int j)
+	{
+		int comparison = Integer.compare(xs[i], xs[j]);
+		
+		return comparison != 0 ? comparison : Integer.compare(ys[i], ys[j]);
+	}
+	
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("[");
+		
+		for (int i = 0; i < size; i++)
+		{
+			if(i > 0)
+			{
+				builder.append(", ");
+			}
+			
+			builder.append("(").append(xs[i]).append(", ").append(ys[i]).append(")");
+		}
+		
+		return builder.append("]").toString();
+	}
+}
@@ -48,8 +48,14 @@ public class LineSegment
 			   otherLineSegment.a().equals(this.b()) && otherLineSegment.b().equals(this.a());
 	}
 	
+	/**
+	 * Combines the hashes of the points in a fixed order, so a segment and its reverse hash alike.
+	 */
 	public int hashCode()
 	{
-		return (int) a.hashCode() * b.hashCode();
+		int first = Math.min(a.hashCode(), b.hashCode());
+		int second = Math.max(a.hashCode(), b.hashCode());
+		
+		return 31 * first + second;
 	}
 }
@@ -0,0 +1,91 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.nio.DoubleBuffer;
+import java.util.List;
+
+/**
+ * This class is a convex hull calculator for point sets stored outside of the Java heap.
+ * 
+ * Basic idea: The extreme points in the x, y, x + y and x - y directions make a convex polygon
+ * inside the convex hull. A first pass over the buffers finds them and a second pass keeps only
+ * the points which are not strictly inside that polygon (Akl-Toussaint heuristic). The survivors,
+ * usually a small fraction of the input, are copied to the heap and solved by {@link ConvexHull}.
+ * 
+ * Nothing is allocated per input point, so the garbage collector only sees the survivors.
+ * 
+ * @see AklToussaintFilter
+ */
+public class OffHeapConvexHull
+{
+	/**
+	 * Computes the convex hull of a point set stored outside of the heap.
+	 * 
+	 * Complexity: O(n) to filter the points, plus O(mlogm) for the m survivors
+	 * 
+	 * @param points a given set of points P
+	 * @return the convex hull in counterclockwise order
+	 */
+	public static List<Point> compute(OffHeapPointSet points)
+	{
+		PointSet survivors = getPointsOutsideOfExtremePolygon(points);
+		int[] convexHull = ConvexHull.divideAndConquer(survivors);
+		
+		return survivors.toPoints(convexHull);
+	}
+	
+	/**
+	 * Copies to the heap every point which is not strictly inside the polygon of the extreme points.
+	 * 
+	 * @param points a given set of points P
+	 * @return the points which may be on the convex hull
+	 */
+	protected static PointSet getPointsOutsideOfExtremePolygon(OffHeapPointSet points)
+	{
+		PointSet extremePolygon = getExtremePolygon(points);
+		PointSet survivors = new PointSet();
+		
+		for (int chunk = 0; chunk < points.chunkCount(); chunk++)
+		{
+			DoubleBuffer buffer = points.chunk(chunk);
+			int chunkSize = points.chunkSize(chunk);
+			
+			for (int i = 0; i < chunkSize; i++)
+			{
+				double x = buffer.get(2 * i);
+				double y = buffer.get(2 * i + 1);
+				
+				if(!AklToussaintFilter.isPointStrictlyInside(extremePolygon, x, y))
+				{
+					survivors.add(x, y);
+				}
+			}
+		}
+		
+		return survivors;
+	}
+	
+	/**
+	 * Finds the points with the lowest and highest x, y, x + y and x - y and returns
+	 * their convex hull, in counterclockwise order.
+	 * 
+	 * @param points a given set of points P
+	 * @return the polygon of the extreme points
+	 */
+	private static PointSet getExtremePolygon(OffHeapPointSet points)
+	{
+		AklToussaintFilter.Extremes extremes = new AklToussaintFilter.Extremes();
+		
+		for (int chunk = 0; chunk < points.chunkCount(); chunk++)
+		{
+			DoubleBuffer buffer = points.chunk(chunk);
+			int chunkSize = points.chunkSize(chunk);
+			
+			for (int i = 0; i < chunkSize; i++)
+			{
+				extremes.add(buffer.get(2 * i), buffer.get(2 * i + 1));
+			}
+		}
+		
+		return extremes.getPolygon();
+	}
+}
@@ -0,0 +1,176 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * This class represents a set of 2-D points stored outside of the Java heap, as interleaved
+ * (x, y) pairs of doubles in direct or memory-mapped buffers.
+ * 
+ * A single buffer can not hold more than 2^31 doubles, so the points are split in chunks of
+ * {@link #POINTS_PER_CHUNK} points and the set is indexed by a long.
+ */
+public class OffHeapPointSet
+{
+	public static final int POINTS_PER_CHUNK = 1 << 26;
+	
+	private static final int BYTES_PER_POINT = 2 * Double.BYTES;
+	
+	private DoubleBuffer[] chunks;
+	private int pointsPerChunk;
+	private long capacity;
+	private long size;
+	
+	private OffHeapPointSet(DoubleBuffer[] chunks, int pointsPerChunk, long capacity, long size)
+	{
+		this.chunks = chunks;
+		this.pointsPerChunk = pointsPerChunk;
+		this.capacity = capacity;
+		this.size = size;
+	}
+	
+	/**
+	 * Allocates an empty set able to hold a given number of points in direct buffers.
+	 * 
+	 * @param capacity the maximum number of points
+	 * @return an empty point set
+	 */
+	public static OffHeapPointSet allocateDirect(long capacity)
+	{
+		return allocateDirect(capacity, POINTS_PER_CHUNK);
+	}
+	
+	static OffHeapPointSet allocateDirect(long capacity, int pointsPerChunk)
+	{
+		DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(capacity, pointsPerChunk)];
+		
+		for (int i = 0; i < chunks.length; i++)
+		{
+			long chunkPoints = Math.min(pointsPerChunk, capacity - (long) i * pointsPerChunk);
+			
+			chunks[i] = ByteBuffer.allocateDirect((int) (chunkPoints * BYTES_PER_POINT)).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+		}
+		
+		return new OffHeapPointSet(chunks, pointsPerChunk, capacity, 0);
+	}
+	
+	/**
+	 * Maps a region of a file holding <b>count</b> interleaved (x, y) pairs of doubles, without copying it.
+	 * 
+	 * @param channel the channel of the file
+	 * @param mode the mapping mode, {@link FileChannel.MapMode#READ_ONLY} for an immutable set
+	 * @param position the position in the file of the first coordinate
+	 * @param count the number of points
+	 * @param order the byte order of the coordinates in the file
+	 * @return a point set backed by the file
+	 * @throws IOException if the file can not be mapped
+	 */
+	public static OffHeapPointSet map(FileChannel channel, FileChannel.MapMode mode, long position, long count, ByteOrder order) throws IOException
+	{
+		return map(channel, mode, position, count, order, POINTS_PER_CHUNK);
+	}
+	
+	static OffHeapPointSet map(FileChannel channel, FileChannel.MapMode mode, long position, long count, ByteOrder order, int pointsPerChunk) throws IOException
+	{
+		DoubleBuffer[] chunks = new DoubleBuffer[chunkCount(count, pointsPerChunk)];
+		
+		for (int i = 0; i < chunks.length; i++)
+		{
+			long firstPoint = (long) i * pointsPerChunk;
+			long chunkPoints = Math.min(pointsPerChunk, count - firstPoint);
+			
+			chunks[i] = channel.map(mode, position + firstPoint * BYTES_PER_POINT, chunkPoints * BYTES_PER_POINT).order(order).asDoubleBuffer();
+		}
+		
+		return new OffHeapPointSet(chunks, pointsPerChunk, count, count);
+	}
+	
+	/**
+	 * Creates a point set over the remaining interleaved (x, y) pairs of a given buffer, without copying it.
+	 * 
+	 * @param buffer a buffer of interleaved coordinates
+	 * @return a point set backed by the buffer
+	 */
+	public static OffHeapPointSet wrap(DoubleBuffer buffer)
+	{
+		int count = buffer.remaining() / 2;
+		
+		return new OffHeapPointSet(new DoubleBuffer[] {buffer.slice()}, Math.max(count, 1), count, count);
+	}
+	
+	private static int chunkCount(long count, int pointsPerChunk)
+	{
+		long chunkCount = (count + pointsPerChunk - 1) / pointsPerChunk;
+		
+		if(chunkCount > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("Too many points: " + count);
+		}
+		
+		return (int) chunkCount;
+	}
+	
+	public void add(double x, double y)
+	{
+		if(size == capacity)
+		{
+			throw new IllegalStateException("The point set is full: " + capacity);
+		}
+		
+		DoubleBuffer chunk = chunks[(int) (size / pointsPerChunk)];
+		int offset = 2 * (int) (size % pointsPerChunk);
+		
+		chunk.put(offset, x);
+		chunk.put(offset + 1, y);
+		size++;
+	}
+	
+	public long size()
+	{
+		return size;
+	}
+	
+	public double x(long index)
+	{
+		return chunks[(int) (index / pointsPerChunk)].get(2 * (int) (index % pointsPerChunk));
+	}
+	
+	public double y(long index)
+	{
+		return chunks[(int) (index / pointsPerChunk)].get(2 * (int) (index % pointsPerChunk) + 1);
+	}
+	
+	public Point get(long index)
+	{
+		return new Point(x(index), y(index));
+	}
+	
+	/**
+	 * @return the number of chunks holding points
+	 */
+	int chunkCount()
+	{
+		return (int) ((size + pointsPerChunk - 1) / pointsPerChunk);
+	}
+	
+	/**
+	 * @param chunk the index of a chunk
+	 * @return the buffer of the chunk, with the x coordinate of its i-th point at 2i and the y coordinate at 2i + 1
+	 */
+	DoubleBuffer chunk(int chunk)
+	{
+		return chunks[chunk];
+	}
+	
+	/**
+	 * @param chunk the index of a chunk
+	 * @return the number of points in the chunk
+	 */
+	int chunkSize(int chunk)
+	{
+		return (int) Math.min(pointsPerChunk, size - (long) chunk * pointsPerChunk);
+	}
+}
@@ -8,6 +8,8 @@ package br.ufrj.dcc.convexhull.model;
  */
 public class Point implements Comparable<Point>
 {
+	private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+	
 	private Double x;
 	private Double y;
 	
@@ -27,7 +29,7 @@ public class Point implements Comparable<Point>
 	 */
 	public boolean isPointOnTheLeftOfLineSegment(LineSegment line)
 	{
-		if(((line.a().x() - x) * (line.b().y() - y)) - ((line.a().y() - y) * (line.b().x() - x)) > 0.0)
+		if(RobustPredicates.orient2d(line.a().x(), line.a().y(), line.b().x(), line.b().y(), x, y) > 0.0)
 		{
 			return true;
 		}
@@ -37,7 +39,7 @@ public class Point implements Comparable<Point>
 	
 	public boolean isPointAlignedWithLineSegment(LineSegment line)
 	{
-		if(((line.a().x() - x) * (line.b().y() - y)) - ((line.a().y() - y) * (line.b().x() - x)) == 0.0)
+		if(RobustPredicates.orient2d(line.a().x(), line.a().y(), line.b().x(), line.b().y(), x, y) == 0.0)
 		{
 			return true;
 		}
@@ -70,9 +72,15 @@ public class Point implements Comparable<Point>
 		return otherPoint.x().equals(this.x()) && otherPoint.y().equals(this.y());
 	}
 	
+	/**
+	 * Mixes the bits of both coordinates, the same bits {@link Double#equals(Object)} compares, 
+	 * so points with fractional coordinates do not collide.
+	 */
 	public int hashCode()
 	{
-		return (int) x.intValue() * y.intValue();
+		long hash = (Double.doubleToLongBits(x) * HASH_MULTIPLIER + Double.doubleToLongBits(y)) * HASH_MULTIPLIER;
+		
+		return (int) (hash ^ (hash >>> 32));
 	}
 
 	@Override
@@ -84,6 +92,8 @@ public class Point implements Comparable<Point>
 		
 		if(this.x > other.x) return AFTER;
 		if(this.x < other.x) return BEFORE;
+		if(this.y > other.y) return AFTER;
+		if(this.y < other.y) return BEFORE;
 		
 		return EQUAL;
 	}
@@ -28,7 +28,7 @@ public class PointClockwiseComparator implements Comparator<Point>
 	    	return AFTER;
 	    }
 	    
-	    double det = (a.x() - center.x()) * (b.y() - center.y()) - (b.x() - center.x()) * (a.y() - center.y());
+	    double det = RobustPredicates.orient2d(center.x(), center.y(), a.x(), a.y(), b.x(), b.y());
 		if (det < 0) return BEFORE;
 		else if (det > 0) return AFTER;
 	    
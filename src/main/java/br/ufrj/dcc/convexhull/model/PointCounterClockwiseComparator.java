@@ -28,7 +28,7 @@ public class PointCounterClockwiseComparator implements Comparator<Point>
 	    	return BEFORE;
 	    }
 	    
-	    double det = (a.x() - center.x()) * (b.y() - center.y()) - (b.x() - center.x()) * (a.y() - center.y());
+	    double det = RobustPredicates.orient2d(center.x(), center.y(), a.x(), a.y(), b.x(), b.y());
 		if (det < 0) return AFTER;
 		else if (det > 0) return BEFORE;
 	    
@@ -0,0 +1,29 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.List;
+
+/**
+ * This interface is a stage which discards points that can not be on the convex hull,
+ * so the hull algorithms only work on the points which may be.
+ * 
+ * A filter never discards a point on the boundary of the convex hull, so any algorithm
+ * of {@link ConvexHull} chained behind it returns the same hull as on the whole set.
+ */
+public interface PointFilter
+{
+	/**
+	 * Returns the indices of the points which may be on the convex hull.
+	 * 
+	 * @param points a given set of points P
+	 * @return the indices of the points kept, in increasing order
+	 */
+	int[] filter(PointSet points);
+	
+	/**
+	 * Returns the points which may be on the convex hull.
+	 * 
+	 * @param points a given list of points P
+	 * @return the points kept, in the same order
+	 */
+	List<Point> filter(List<Point> points);
+}
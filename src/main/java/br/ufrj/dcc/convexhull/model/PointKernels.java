@@ -0,0 +1,172 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This class holds the scans over every point of a {@link PointSet} which the hull algorithms 
+ * spend most of their time in: the sides of a line, the lowest and highest points and the point 
+ * furthest from a line.
+ * 
+ * These are the scalar versions. When the Vector API (jdk.incubator.vector) is available, with 
+ * at least {@link #MINIMUM_VECTOR_LENGTH} doubles per vector, {@link #get()} returns a subclass 
+ * doing the same scans several points at a time, with the same results. It is loaded by name,
+ * so this class runs on JVMs without the module.
+ */
+class PointKernels
+{
+	static final int LEFT_SIDE = 1;
+	static final int RIGHT_SIDE = 2;
+	static final int BOTH_SIDES = LEFT_SIDE | RIGHT_SIDE;
+	
+	static final int MINIMUM_VECTOR_LENGTH = 4;
+	
+	private static final String VECTOR_KERNELS = "br.ufrj.dcc.convexhull.model.VectorPointKernels";
+	
+	private static final PointKernels INSTANCE = load();
+	
+	/**
+	 * @return the fastest kernels supported by the current JVM
+	 */
+	static PointKernels get()
+	{
+		return INSTANCE;
+	}
+	
+	/**
+	 * @return <b>true</b> if {@link #get()} returns vectorized kernels <b>false</b> if it returns the scalar ones
+	 */
+	static boolean isVectorized()
+	{
+		return INSTANCE.getClass() != PointKernels.class;
+	}
+	
+	private static PointKernels load()
+	{
+		try
+		{
+			PointKernels kernels = (PointKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+			
+			if(kernels.isSupported())
+			{
+				return kernels;
+			}
+		}
+		catch (ReflectiveOperationException | LinkageError e)
+		{
+			// the vector kernels were not built, or the module was not added to the JVM
+		}
+		
+		return new PointKernels();
+	}
+	
+	boolean isSupported()
+	{
+		return true;
+	}
+	
+	/**
+	 * Finds on which sides of the line from <b>a</b> to <b>b</b> are the points of a range. 
+	 * Points on the line are on neither side. The scan stops once points on both sides are found.
+	 * 
+	 * @param points a given set of points
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param a the index of the first point of the line
+	 * @param b the index of the second point of the line
+	 * @return {@link #LEFT_SIDE} and {@link #RIGHT_SIDE} combined if there are points on that side, 0 if there are none
+	 */
+	int getSides(PointSet points, int from, int to, int a, int b)
+	{
+		int sides = 0;
+		
+		for (int i = from; i < to && sides != BOTH_SIDES; i++)
+		{
+			sides |= getSide(ConvexHull.crossProduct(points, a, b, i));
+		}
+		
+		return sides;
+	}
+	
+	static int getSide(double orientation)
+	{
+		return orientation > 0.0 ? LEFT_SIDE : orientation < 0.0 ? RIGHT_SIDE : 0;
+	}
+	
+	/**
+	 * Finds the lowest point of a non empty range in (x, y) order.
+	 * 
+	 * @return the index of the lowest point, the first one if it is repeated
+	 */
+	int getLowestPoint(PointSet points, int from, int to)
+	{
+		int lowest = from;
+		
+		for (int i = from + 1; i < to; i++)
+		{
+			if(points.compare(i, lowest) < 0) lowest = i;
+		}
+		
+		return lowest;
+	}
+	
+	/**
+	 * Finds the highest point of a non empty range in (x, y) order.
+	 * 
+	 * @return the index of the highest point, the first one if it is repeated
+	 */
+	int getHighestPoint(PointSet points, int from, int to)
+	{
+		int highest = from;
+		
+		for (int i = from + 1; i < to; i++)
+		{
+			if(points.compare(i, highest) > 0) highest = i;
+		}
+		
+		return highest;
+	}
+	
+	/**
+	 * The orientations are the plain determinants of {@link RobustPredicates#orient2d}, along with
+	 * the bound on their rounding errors. Two points whose determinants differ by less than both 
+	 * bounds may be in either order, so {@link ConvexHull#isFurther(PointSet, int, int, int, int)}
+	 * compares them exactly.
+	 * 
+	 * @see ConvexHull#getFurthestPoint(PointSet, int[], int, int, int, int)
+	 */
+	int getFurthestPoint(PointSet points, int[] indices, int from, int to, int p, int q)
+	{
+		double[] xs = points.xs;
+		double[] ys = points.ys;
+		double px = xs[p];
+		double py = ys[p];
+		double qx = xs[q];
+		double qy = ys[q];
+		
+		int furthest = indices[from];
+		double left = (px - xs[furthest]) * (qy - ys[furthest]);
+		double right = (py - ys[furthest]) * (qx - xs[furthest]);
+		double furthestDistance = left - right;
+		double furthestSum = Math.abs(left) + Math.abs(right);
+		
+		for (int i = from + 1; i < to; i++)
+		{
+			int index = indices[i];
+			
+			left = (px - xs[index]) * (qy - ys[index]);
+			right = (py - ys[index]) * (qx - xs[index]);
+			
+			double distance = left - right;
+			double sum = Math.abs(left) + Math.abs(right);
+			double errorBound = RobustPredicates.COMPARISON_ERROR_BOUND * (sum + furthestSum);
+			double difference = distance - furthestDistance;
+			
+			if(difference < -errorBound || (difference <= errorBound && ConvexHull.isFurther(points, p, q, index, furthest)))
+			{
+				furthest = index;
+				furthestDistance = distance;
+				furthestSum = sum;
+			}
+		}
+		
+		return furthest;
+	}
+}
@@ -0,0 +1,177 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class represents a set of 2-D points stored as two parallel arrays of primitive
+ * coordinates, so each point costs 16 bytes instead of a {@link Point} and two boxed doubles.
+ * 
+ * The points are identified by their index in the set. The hull algorithms of {@link ConvexHull}
+ * taking a point set return the indices of the points on the convex hull.
+ */
+public class PointSet
+{
+	private static final int DEFAULT_CAPACITY = 16;
+	
+	double[] xs;
+	double[] ys;
+	int size;
+	
+	public PointSet()
+	{
+		this(DEFAULT_CAPACITY);
+	}
+	
+	public PointSet(int capacity)
+	{
+		this.xs = new double[capacity];
+		this.ys = new double[capacity];
+		this.size = 0;
+	}
+	
+	/**
+	 * Creates a point set over the given arrays, without copying them.
+	 * 
+	 * @param xs the x coordinates
+	 * @param ys the y coordinates
+	 */
+	public PointSet(double[] xs, double[] ys)
+	{
+		if(xs.length != ys.length)
+		{
+			throw new IllegalArgumentException("The coordinate arrays must have the same length: " + xs.length + " != " + ys.length);
+		}
+		
+		this.xs = xs;
+		this.ys = ys;
+		this.size = xs.length;
+	}
+	
+	/**
+	 * Copies a given list of points into a new point set, keeping their order.
+	 * 
+	 * @param points a given list of points
+	 * @return a point set with the coordinates of the given points
+	 */
+	public static PointSet fromPoints(List<Point> points)
+	{
+		PointSet pointSet = new PointSet(points.size());
+		
+		for (Point point : points)
+		{
+			pointSet.add(point.x(), point.y());
+		}
+		
+		return pointSet;
+	}
+	
+	public void add(double x, double y)
+	{
+		if(size == xs.length)
+		{
+			int capacity = Math.max(DEFAULT_CAPACITY, xs.length + (xs.length >> 1));
+			
+			xs = Arrays.copyOf(xs, capacity);
+			ys = Arrays.copyOf(ys, capacity);
+		}
+		
+		xs[size] = x;
+		ys[size] = y;
+		size++;
+	}
+	
+	public int size()
+	{
+		return size;
+	}
+	
+	public double x(int index)
+	{
+		return xs[index];
+	}
+	
+	public double y(int index)
+	{
+		return ys[index];
+	}
+	
+	public Point get(int index)
+	{
+		return new Point(xs[index], ys[index]);
+	}
+	
+	/**
+	 * Returns the points of a given list of indices, in the same order.
+	 * 
+	 * @param indices a list of indices of this set
+	 * @return the points of those indices
+	 */
+	public List<Point> toPoints(int[] indices)
+	{
+		List<Point> points = new ArrayList<Point>(indices.length);
+		
+		for (int index : indices)
+		{
+			points.add(get(index));
+		}
+		
+		return points;
+	}
+	
+	/**
+	 * Copies the points of a given list of indices into a new point set, in the same order.
+	 * 
+	 * @param indices a list of indices of this set
+	 * @return a point set with the points of those indices
+	 */
+	public PointSet subset(int[] indices)
+	{
+		PointSet subset = new PointSet(indices.length);
+		
+		for (int index : indices)
+		{
+			subset.xs[subset.size] = xs[index];
+			subset.ys[subset.size] = ys[index];
+			subset.size++;
+		}
+		
+		return subset;
+	}
+	
+	/**
+	 * Compares two points of this set by x coordinate, breaking ties by y coordinate.
+	 * 
+	 * @param i the index of a point
+	 * @param j the index of another point
+	 * @return a negative number, zero or a positive number if the first point comes before,
+	 * is equal to or comes after the second one
+	 */
+	public int compare(int i, int j)
+	{
+		if(xs[i] < xs[j]) return -1;
+		if(xs[i] > xs[j]) return 1;
+		if(ys[i] < ys[j]) return -1;
+		if(ys[i] > ys[j]) return 1;
+		
+		return 0;
+	}
+	
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("[");
+		
+		for (int i = 0; i < size; i++)
+		{
+			if(i > 0)
+			{
+				builder.append(", ");
+			}
+			
+			builder.append("(").append(xs[i]).append(", ").append(ys[i]).append(")");
+		}
+		
+		return builder.append("]").toString();
+	}
+}
@@ -0,0 +1,375 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class is a fork/join task computing the points of the convex hull outside of an edge
+ * with the Quickhull method.
+ * 
+ * The indices of the points outside of the edge are a range of a shared array. The furthest
+ * point is searched in parallel, and the range is partitioned in parallel into the points
+ * outside of each of the two new edges: each block of the range is partitioned in place, and 
+ * the blocks are then copied side by side into the same range of a second shared array. The 
+ * two new edges are solved by two tasks over that array, which use the first one as their 
+ * second array, so nothing is allocated per point.
+ * 
+ * @see ConvexHull#parallelQuickhull(PointSet)
+ */
+class QuickhullTask extends RecursiveTask<int[]>
+{
+	private static final long serialVersionUID = 1L;
+	
+	private PointSet points;
+	private int[] indices;
+	private int[] otherIndices;
+	private int from;
+	private int to;
+	private int p;
+	private int q;
+	private int sequentialCutoff;
+	
+	/**
+	 * Creates a task computing the convex hull of a whole set of points.
+	 * 
+	 * @param points a given set of points
+	 * @param sequentialCutoff the maximum number of points a task handles without forking new tasks
+	 */
+	QuickhullTask(PointSet points, int sequentialCutoff)
+	{
+		this(points, null, null, 0, points.size(), -1, -1, sequentialCutoff);
+	}
+	
+	private QuickhullTask(PointSet points, int[] indices, int[] otherIndices, int from, int to, int p, int q, int sequentialCutoff)
+	{
+		this.points = points;
+		this.indices = indices;
+		this.otherIndices = otherIndices;
+		this.from = from;
+		this.to = to;
+		this.p = p;
+		this.q = q;
+		this.sequentialCutoff = sequentialCutoff;
+	}
+	
+	@Override
+	protected int[] compute()
+	{
+		if(indices == null)
+		{
+			return computeConvexHull();
+		}
+		
+		if(to - from <= sequentialCutoff)
+		{
+			int[] convexHull = new int[to - from];
+			int convexHullSize = ConvexHull.quickhull(points, indices, from, to, p, q, convexHull, 0);
+			
+			return Arrays.copyOf(convexHull, convexHullSize);
+		}
+		
+		int furthest = new FurthestPointTask(points, indices, from, to, p, q, sequentialCutoff).compute();
+		int[] sizes = partition(points, indices, otherIndices, from, to, p, furthest, q, sequentialCutoff);
+		int middle = from + sizes[0];
+		
+		QuickhullTask firstEdge = new QuickhullTask(points, otherIndices, indices, from, middle, p, furthest, sequentialCutoff);
+		QuickhullTask secondEdge = new QuickhullTask(points, otherIndices, indices, middle, middle + sizes[1], furthest, q, sequentialCutoff);
+		
+		return join(firstEdge, furthest, secondEdge);
+	}
+	
+	/**
+	 * Splits the set by the line through its lowest and highest points in (x, y) order, and solves both sides.
+	 * 
+	 * @return the indices of the points on the convex hull, in counterclockwise order
+	 */
+	private int[] computeConvexHull()
+	{
+		int size = points.size();
+		
+		if(size == 0)
+		{
+			return new int[0];
+		}
+		
+		int[] extremePoints = new ExtremePointsTask(points, 0, size, sequentialCutoff).compute();
+		int lowest = extremePoints[0];
+		int highest = extremePoints[1];
+		
+		if(points.compare(lowest, highest) == 0)
+		{
+			return new int[] {lowest};
+		}
+		
+		int[] indices = new int[size];
+		int[] otherIndices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		// the points below the line go first, the points above it go next
+		int[] sizes = partition(points, indices, otherIndices, 0, size, lowest, highest, lowest, sequentialCutoff);
+		
+		QuickhullTask below = new QuickhullTask(points, otherIndices, indices, 0, sizes[0], lowest, highest, sequentialCutoff);
+		QuickhullTask above = new QuickhullTask(points, otherIndices, indices, sizes[0], sizes[0] + sizes[1], highest, lowest, sequentialCutoff);
+		
+		int[] convexHull = join(below, highest, above);
+		int[] convexHullFromLowest = new int[convexHull.length + 1];
+		
+		convexHullFromLowest[0] = lowest;
+		System.arraycopy(convexHull, 0, convexHullFromLowest, 1, convexHull.length);
+		
+		return convexHullFromLowest;
+	}
+	
+	/**
+	 * Solves two edges in parallel and returns their points with the point between them.
+	 */
+	private static int[] join(QuickhullTask firstEdge, int middle, QuickhullTask secondEdge)
+	{
+		secondEdge.fork();
+		
+		int[] firstConvexHull = firstEdge.compute();
+		int[] secondConvexHull = secondEdge.join();
+		
+		int[] convexHull = new int[firstConvexHull.length + 1 + secondConvexHull.length];
+		
+		System.arraycopy(firstConvexHull, 0, convexHull, 0, firstConvexHull.length);
+		convexHull[firstConvexHull.length] = middle;
+		System.arraycopy(secondConvexHull, 0, convexHull, firstConvexHull.length + 1, secondConvexHull.length);
+		
+		return convexHull;
+	}
+	
+	/**
+	 * Partitions the points of a range in parallel. The points strictly on the right of the line from 
+	 * <b>a</b> to <b>b</b> are copied first to the same range of another array, followed by the other 
+	 * points strictly on the right of the line from <b>b</b> to <b>c</b>. The other points are discarded.
+	 * 
+	 * @param points a given set of points
+	 * @param indices the indices of the range, partitioned in place block by block
+	 * @param otherIndices the array receiving the partitioned range
+	 * @param from the first index of the range
+	 * @param to the index after the last one of the range
+	 * @param a the index of the first point of the first line
+	 * @param b the index of the point shared by both lines
+	 * @param c the index of the second point of the second line
+	 * @param blockSize the number of points of each block
+	 * @return the number of points on the right of each line
+	 */
+	private static int[] partition(PointSet points, int[] indices, int[] otherIndices, int from, int to, int a, int b, int c, int blockSize)
+	{
+		int blockCount = (to - from + blockSize - 1) / blockSize;
+		
+		// the number of points of each block outside of the first and of the second line, then their positions in the other array
+		int[] blockSizes = new int[2 * blockCount];
+		int[] blockPositions = new int[2 * blockCount];
+		
+		new PartitionTask(points, indices, otherIndices, from, to, a, b, c, blockSize, blockSizes, blockPositions, 0, blockCount, false).compute();
+		
+		int[] sizes = new int[2];
+		
+		for (int block = 0; block < blockCount; block++)
+		{
+			sizes[0] += blockSizes[2 * block];
+			sizes[1] += blockSizes[2 * block + 1];
+		}
+		
+		int firstPosition = from;
+		int secondPosition = from + sizes[0];
+		
+		for (int block = 0; block < blockCount; block++)
+		{
+			blockPositions[2 * block] = firstPosition;
+			blockPositions[2 * block + 1] = secondPosition;
+			
+			firstPosition += blockSizes[2 * block];
+			secondPosition += blockSizes[2 * block + 1];
+		}
+		
+		new PartitionTask(points, indices, otherIndices, from, to, a, b, c, blockSize, blockSizes, blockPositions, 0, blockCount, true).compute();
+		
+		return sizes;
+	}
+	
+	/**
+	 * This class is a fork/join task over the blocks of a range. When partitioning, each block 
+	 * is partitioned in place and its sizes are recorded. When copying, each partitioned block is
+	 * copied to its positions in the other array.
+	 */
+	private static class PartitionTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private int[] indices;
+		private int[] otherIndices;
+		private int from;
+		private int to;
+		private int a;
+		private int b;
+		private int c;
+		private int blockSize;
+		private int[] blockSizes;
+		private int[] blockPositions;
+		private int firstBlock;
+		private int lastBlock;
+		private boolean isCopying;
+		
+		PartitionTask(PointSet points, int[] indices, int[] otherIndices, int from, int to, int a, int b, int c, int blockSize, int[] blockSizes, int[] blockPositions, int firstBlock, int lastBlock, boolean isCopying)
+		{
+			this.points = points;
+			this.indices = indices;
+			this.otherIndices = otherIndices;
+			this.from = from;
+			this.to = to;
+			this.a = a;
+			this.b = b;
+			this.c = c;
+			this.blockSize = blockSize;
+			this.blockSizes = blockSizes;
+			this.blockPositions = blockPositions;
+			this.firstBlock = firstBlock;
+			this.lastBlock = lastBlock;
+			this.isCopying = isCopying;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(lastBlock - firstBlock > 1)
+			{
+				int middle = (firstBlock + lastBlock) >>> 1;
+				
+				invokeAll(new PartitionTask(points, indices, otherIndices, from, to, a, b, c, blockSize, blockSizes, blockPositions, firstBlock, middle, isCopying),
+						  new PartitionTask(points, indices, otherIndices, from, to, a, b, c, blockSize, blockSizes, blockPositions, middle, lastBlock, isCopying));
+				return;
+			}
+			
+			int blockFrom = from + firstBlock * blockSize;
+			int blockTo = Math.min(blockFrom + blockSize, to);
+			
+			if(isCopying)
+			{
+				System.arraycopy(indices, blockFrom, otherIndices, blockPositions[2 * firstBlock], blockSizes[2 * firstBlock]);
+				System.arraycopy(indices, blockFrom + blockSizes[2 * firstBlock], otherIndices, blockPositions[2 * firstBlock + 1], blockSizes[2 * firstBlock + 1]);
+				return;
+			}
+			
+			int firstEnd = blockFrom;
+			int secondEnd = blockFrom;
+			
+			for (int i = blockFrom; i < blockTo; i++)
+			{
+				int index = indices[i];
+				
+				if(ConvexHull.crossProduct(points, a, b, index) < 0.0)
+				{
+					indices[i] = indices[secondEnd];
+					indices[secondEnd++] = indices[firstEnd];
+					indices[firstEnd++] = index;
+				}
+				else if(ConvexHull.crossProduct(points, b, c, index) < 0.0)
+				{
+					indices[i] = indices[secondEnd];
+					indices[secondEnd++] = index;
+				}
+			}
+			
+			blockSizes[2 * firstBlock] = firstEnd - blockFrom;
+			blockSizes[2 * firstBlock + 1] = secondEnd - firstEnd;
+		}
+	}
+	
+	/**
+	 * This class is a fork/join task finding the point of a range which is furthest on the right of a line.
+	 * 
+	 * @see ConvexHull#getFurthestPoint(PointSet, int[], int, int, int, int)
+	 */
+	private static class FurthestPointTask extends RecursiveTask<Integer>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private int[] indices;
+		private int from;
+		private int to;
+		private int p;
+		private int q;
+		private int sequentialCutoff;
+		
+		FurthestPointTask(PointSet points, int[] indices, int from, int to, int p, int q, int sequentialCutoff)
+		{
+			this.points = points;
+			this.indices = indices;
+			this.from = from;
+			this.to = to;
+			this.p = p;
+			this.q = q;
+			this.sequentialCutoff = sequentialCutoff;
+		}
+		
+		@Override
+		protected Integer compute()
+		{
+			if(to - from <= sequentialCutoff)
+			{
+				return ConvexHull.getFurthestPoint(points, indices, from, to, p, q);
+			}
+			
+			int middle = (from + to) >>> 1;
+			
+			FurthestPointTask firstHalf = new FurthestPointTask(points, indices, from, middle, p, q, sequentialCutoff);
+			firstHalf.fork();
+			
+			int secondFurthest = new FurthestPointTask(points, indices, middle, to, p, q, sequentialCutoff).compute();
+			int firstFurthest = firstHalf.join();
+			
+			// an exact comparison, so the halves give the same point as a sequential scan
+			return ConvexHull.isFurther(points, p, q, secondFurthest, firstFurthest) ? secondFurthest : firstFurthest;
+		}
+	}
+	
+	/**
+	 * This class is a fork/join task finding the lowest and the highest points of a range in (x, y) order.
+	 */
+	private static class ExtremePointsTask extends RecursiveTask<int[]>
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private PointSet points;
+		private int from;
+		private int to;
+		private int sequentialCutoff;
+		
+		ExtremePointsTask(PointSet points, int from, int to, int sequentialCutoff)
+		{
+			this.points = points;
+			this.from = from;
+			this.to = to;
+			this.sequentialCutoff = sequentialCutoff;
+		}
+		
+		@Override
+		protected int[] compute()
+		{
+			if(to - from <= sequentialCutoff)
+			{
+				return new int[] {PointKernels.get().getLowestPoint(points, from, to), PointKernels.get().getHighestPoint(points, from, to)};
+			}
+			
+			int middle = (from + to) >>> 1;
+			
+			ExtremePointsTask firstHalf = new ExtremePointsTask(points, from, middle, sequentialCutoff);
+			firstHalf.fork();
+			
+			int[] second = new ExtremePointsTask(points, middle, to, sequentialCutoff).compute();
+			int[] first = firstHalf.join();
+			
+			return new int[] {points.compare(second[0], first[0]) < 0 ? second[0] : first[0], points.compare(second[1], first[1]) > 0 ? second[1] : first[1]};
+		}
+	}
+}
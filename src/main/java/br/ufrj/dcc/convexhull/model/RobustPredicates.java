@@ -0,0 +1,418 @@
+package br.ufrj.dcc.convexhull.model;
+
+/**
+ * This class implements the orientation test of three points, and the cross and dot products of
+ * two vectors, with an exact sign, whatever the rounding errors of floating-point arithmetic.
+ * 
+ * Basic idea (Shewchuk): The determinant is first computed with doubles. If it is further from
+ * zero than a bound on its rounding error, its sign is right and it is returned. Otherwise it is
+ * recomputed with expansions, i.e. sums of non overlapping doubles which represent a number
+ * exactly, adding only as many terms as needed to make the sign certain.
+ * 
+ * Almost every call takes the first path, so the test costs about the same as the plain determinant.
+ * Only nearly collinear points pay for the exact arithmetic.
+ * 
+ * @see https://www.cs.cmu.edu/~quake/robust.html
+ */
+public class RobustPredicates
+{
+	private static final double EPSILON = 0x1p-53;
+	private static final double SPLITTER = 0x1p27 + 1.0;
+	
+	private static final double RESULT_ERROR_BOUND = (3.0 + 8.0 * EPSILON) * EPSILON;
+	static final double ORIENTATION_ERROR_BOUND_A = (3.0 + 16.0 * EPSILON) * EPSILON;
+	// the errors of two plain determinants, relative to both sums, and the rounding of their difference
+	static final double COMPARISON_ERROR_BOUND = (6.0 + 64.0 * EPSILON) * EPSILON;
+	private static final double ORIENTATION_ERROR_BOUND_B = (2.0 + 12.0 * EPSILON) * EPSILON;
+	private static final double ORIENTATION_ERROR_BOUND_C = (9.0 + 64.0 * EPSILON) * EPSILON * EPSILON;
+	
+	private static final ThreadLocal<Expansions> EXPANSIONS = new ThreadLocal<Expansions>()
+	{
+		@Override
+		protected Expansions initialValue()
+		{
+			return new Expansions();
+		}
+	};
+	
+	/**
+	 * Computes the orientation of the points A, B and C, i.e. the cross product of the vectors
+	 * AB and AC. It is positive if they make a counterclockwise turn, negative for a clockwise
+	 * turn and zero if they are collinear. The sign is always exact, the value is an approximation.
+	 * 
+	 * Complexity: O(1)
+	 * 
+	 * @return a value with the sign of the cross product of AB and AC
+	 */
+	public static double orient2d(double ax, double ay, double bx, double by, double cx, double cy)
+	{
+		if(HullInstrumentation.IS_COUNTING_PREDICATES)
+		{
+			EXPANSIONS.get().orientationCount++;
+		}
+		
+		double left = (ax - cx) * (by - cy);
+		double right = (ay - cy) * (bx - cx);
+		double determinant = left - right;
+		double sum;
+		
+		if(left > 0.0)
+		{
+			if(right <= 0.0)
+			{
+				return determinant;
+			}
+			
+			sum = left + right;
+		}
+		else if(left < 0.0)
+		{
+			if(right >= 0.0)
+			{
+				return determinant;
+			}
+			
+			sum = -left - right;
+		}
+		else
+		{
+			return determinant;
+		}
+		
+		double errorBound = ORIENTATION_ERROR_BOUND_A * sum;
+		
+		if(determinant >= errorBound || -determinant >= errorBound)
+		{
+			return determinant;
+		}
+		
+		return orient2dAdaptive(ax, ay, bx, by, cx, cy, sum);
+	}
+	
+	/**
+	 * Computes the cross product of the vectors AB and CD. It is positive if CD turns counterclockwise
+	 * from AB, negative if it turns clockwise and zero if they are parallel. The sign is always exact,
+	 * the value is an approximation.
+	 * 
+	 * Among others, it compares the orientations of two points C and D to the same line AB, since
+	 * orient2d(A, B, D) - orient2d(A, B, C) is the cross product of AB and CD.
+	 * 
+	 * Complexity: O(1)
+	 * 
+	 * @return a value with the sign of the cross product of AB and CD
+	 */
+	public static double crossProduct(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy)
+	{
+		if(HullInstrumentation.IS_COUNTING_PREDICATES)
+		{
+			EXPANSIONS.get().orientationCount++;
+		}
+		
+		// the same rounding errors as orient2d, two differences in each product
+		double left = (bx - ax) * (dy - cy);
+		double right = (by - ay) * (dx - cx);
+		double determinant = left - right;
+		double errorBound = ORIENTATION_ERROR_BOUND_A * (Math.abs(left) + Math.abs(right));
+		
+		if(determinant > errorBound || -determinant > errorBound)
+		{
+			return determinant;
+		}
+		
+		return crossProductExact(ax, ay, bx, by, cx, cy, dx, dy);
+	}
+	
+	/**
+	 * Computes the dot product of the vectors AB and CD, with an exact sign like {@link #crossProduct(double, double, double, double, double, double, double, double)}.
+	 * 
+	 * Complexity: O(1)
+	 * 
+	 * @return a value with the sign of the dot product of AB and CD
+	 */
+	public static double dotProduct(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy)
+	{
+		// CD turned by a quarter turn counterclockwise is (cy - dy, dx - cx), from (dy, cx) to (cy, dx)
+		return crossProduct(ax, ay, bx, by, dy, cx, cy, dx);
+	}
+	
+	/**
+	 * @return the number of orientation tests made by the current thread, 0 if they are not counted
+	 * @see HullInstrumentation#isCountingPredicates()
+	 */
+	static long getOrientationCount()
+	{
+		return HullInstrumentation.IS_COUNTING_PREDICATES ? EXPANSIONS.get().orientationCount : 0;
+	}
+	
+	/**
+	 * @return the number of orientation tests of the current thread which needed more than the plain determinant, 0 if they are not counted
+	 * @see HullInstrumentation#isCountingPredicates()
+	 */
+	static long getExactFallbackCount()
+	{
+		return HullInstrumentation.IS_COUNTING_PREDICATES ? EXPANSIONS.get().exactFallbackCount : 0;
+	}
+	
+	/**
+	 * Refines the determinant in three steps: the products of the rounded differences computed
+	 * exactly, then a first order correction with the rounding errors of the differences,
+	 * then the exact determinant.
+	 */
+	private static double orient2dAdaptive(double ax, double ay, double bx, double by, double cx, double cy, double sum)
+	{
+		Expansions expansions = EXPANSIONS.get();
+		
+		if(HullInstrumentation.IS_COUNTING_PREDICATES)
+		{
+			expansions.exactFallbackCount++;
+		}
+		
+		double acx = ax - cx;
+		double bcx = bx - cx;
+		double acy = ay - cy;
+		double bcy = by - cy;
+		
+		twoTwoDiff(acx, bcy, acy, bcx, expansions.b);
+		
+		double determinant = estimate(expansions.b, 4);
+		double errorBound = ORIENTATION_ERROR_BOUND_B * sum;
+		
+		if(determinant >= errorBound || -determinant >= errorBound)
+		{
+			return determinant;
+		}
+		
+		double acxTail = twoDiffTail(ax, cx, acx);
+		double bcxTail = twoDiffTail(bx, cx, bcx);
+		double acyTail = twoDiffTail(ay, cy, acy);
+		double bcyTail = twoDiffTail(by, cy, bcy);
+		
+		if(acxTail == 0.0 && acyTail == 0.0 && bcxTail == 0.0 && bcyTail == 0.0)
+		{
+			return determinant;
+		}
+		
+		errorBound = ORIENTATION_ERROR_BOUND_C * sum + RESULT_ERROR_BOUND * Math.abs(determinant);
+		determinant += (acx * bcyTail + bcy * acxTail) - (acy * bcxTail + bcx * acyTail);
+		
+		if(determinant >= errorBound || -determinant >= errorBound)
+		{
+			return determinant;
+		}
+		
+		twoTwoDiff(acxTail, bcy, acyTail, bcx, expansions.u);
+		int c1Length = fastExpansionSum(expansions.b, 4, expansions.u, 4, expansions.c1);
+		
+		twoTwoDiff(acx, bcyTail, acy, bcxTail, expansions.u);
+		int c2Length = fastExpansionSum(expansions.c1, c1Length, expansions.u, 4, expansions.c2);
+		
+		twoTwoDiff(acxTail, bcyTail, acyTail, bcxTail, expansions.u);
+		int dLength = fastExpansionSum(expansions.c2, c2Length, expansions.u, 4, expansions.d);
+		
+		return expansions.d[dLength - 1];
+	}
+	
+	/**
+	 * Computes the cross product of AB and CD exactly, expanding it in the products of the rounded
+	 * differences and of their rounding errors. It is rare enough not to need the intermediate steps
+	 * of {@link #orient2dAdaptive(double, double, double, double, double, double, double)}.
+	 */
+	private static double crossProductExact(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy)
+	{
+		Expansions expansions = EXPANSIONS.get();
+		
+		if(HullInstrumentation.IS_COUNTING_PREDICATES)
+		{
+			expansions.exactFallbackCount++;
+		}
+		
+		double abx = bx - ax;
+		double aby = by - ay;
+		double cdx = dx - cx;
+		double cdy = dy - cy;
+		double abxTail = twoDiffTail(bx, ax, abx);
+		double abyTail = twoDiffTail(by, ay, aby);
+		double cdxTail = twoDiffTail(dx, cx, cdx);
+		double cdyTail = twoDiffTail(dy, cy, cdy);
+		
+		twoTwoDiff(abx, cdy, aby, cdx, expansions.b);
+		
+		twoTwoDiff(abxTail, cdy, abyTail, cdx, expansions.u);
+		int c1Length = fastExpansionSum(expansions.b, 4, expansions.u, 4, expansions.c1);
+		
+		twoTwoDiff(abx, cdyTail, aby, cdxTail, expansions.u);
+		int c2Length = fastExpansionSum(expansions.c1, c1Length, expansions.u, 4, expansions.c2);
+		
+		twoTwoDiff(abxTail, cdyTail, abyTail, cdxTail, expansions.u);
+		int dLength = fastExpansionSum(expansions.c2, c2Length, expansions.u, 4, expansions.d);
+		
+		return expansions.d[dLength - 1];
+	}
+	
+	/**
+	 * Computes a * b - c * d exactly, as an expansion of four terms in increasing magnitude.
+	 */
+	private static void twoTwoDiff(double a, double b, double c, double d, double[] expansion)
+	{
+		double first = a * b;
+		double firstTail = twoProductTail(a, b, first);
+		double second = c * d;
+		double secondTail = twoProductTail(c, d, second);
+		
+		// (first + firstTail) - secondTail
+		double i = firstTail - secondTail;
+		expansion[0] = twoDiffTail(firstTail, secondTail, i);
+		double j = first + i;
+		double k = twoSumTail(first, i, j);
+		
+		// (j + k) - second
+		i = k - second;
+		expansion[1] = twoDiffTail(k, second, i);
+		expansion[3] = j + i;
+		expansion[2] = twoSumTail(j, i, expansion[3]);
+	}
+	
+	/**
+	 * @return the rounding error of the sum x = a + b
+	 */
+	private static double twoSumTail(double a, double b, double x)
+	{
+		double bVirtual = x - a;
+		double aVirtual = x - bVirtual;
+		
+		return (a - aVirtual) + (b - bVirtual);
+	}
+	
+	/**
+	 * @return the rounding error of the difference x = a - b
+	 */
+	private static double twoDiffTail(double a, double b, double x)
+	{
+		double bVirtual = a - x;
+		double aVirtual = x + bVirtual;
+		
+		return (a - aVirtual) + (bVirtual - b);
+	}
+	
+	/**
+	 * @return the rounding error of the product x = a * b, splitting both factors in halves of 26 bits (Dekker)
+	 */
+	private static double twoProductTail(double a, double b, double x)
+	{
+		double c = SPLITTER * a;
+		double aHigh = c - (c - a);
+		double aLow = a - aHigh;
+		
+		c = SPLITTER * b;
+		double bHigh = c - (c - b);
+		double bLow = b - bHigh;
+		
+		double error = x - aHigh * bHigh;
+		error -= aLow * bHigh;
+		error -= aHigh * bLow;
+		
+		return aLow * bLow - error;
+	}
+	
+	private static double estimate(double[] expansion, int length)
+	{
+		double sum = expansion[0];
+		
+		for (int i = 1; i < length; i++)
+		{
+			sum += expansion[i];
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Sums two expansions, merging their terms by magnitude and dropping the zero terms.
+	 * 
+	 * @return the number of terms of the sum
+	 */
+	private static int fastExpansionSum(double[] e, int eLength, double[] f, int fLength, double[] h)
+	{
+		int eIndex = 0;
+		int fIndex = 0;
+		int hIndex = 0;
+		double q;
+		
+		if((f[0] > e[0]) == (f[0] > -e[0]))
+		{
+			q = e[eIndex++];
+		}
+		else
+		{
+			q = f[fIndex++];
+		}
+		
+		if(eIndex < eLength && fIndex < fLength)
+		{
+			double next;
+			
+			if((f[fIndex] > e[eIndex]) == (f[fIndex] > -e[eIndex]))
+			{
+				next = e[eIndex++];
+			}
+			else
+			{
+				next = f[fIndex++];
+			}
+			
+			double sum = next + q;
+			double tail = q - (sum - next);
+			q = sum;
+			
+			if(tail != 0.0)
+			{
+				h[hIndex++] = tail;
+			}
+		}
+		
+		while(eIndex < eLength || fIndex < fLength)
+		{
+			double next;
+			
+			if(fIndex == fLength || (eIndex < eLength && (f[fIndex] > e[eIndex]) == (f[fIndex] > -e[eIndex])))
+			{
+				next = e[eIndex++];
+			}
+			else
+			{
+				next = f[fIndex++];
+			}
+			
+			double sum = q + next;
+			double tail = twoSumTail(q, next, sum);
+			q = sum;
+			
+			if(tail != 0.0)
+			{
+				h[hIndex++] = tail;
+			}
+		}
+		
+		if(q != 0.0 || hIndex == 0)
+		{
+			h[hIndex++] = q;
+		}
+		
+		return hIndex;
+	}
+	
+	/**
+	 * The buffers of the exact path, kept per thread so it does not allocate, and the counters of the
+	 * tests of the thread when {@link HullInstrumentation} counts them.
+	 */
+	private static class Expansions
+	{
+		private final double[] b = new double[4];
+		private final double[] u = new double[4];
+		private final double[] c1 = new double[8];
+		private final double[] c2 = new double[12];
+		private final double[] d = new double[16];
+		private long orientationCount;
+		private long exactFallbackCount;
+	}
+}
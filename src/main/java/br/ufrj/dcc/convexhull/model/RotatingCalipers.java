@@ -0,0 +1,630 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class measures convex hulls computed by {@link ConvexHull}: their diameter, their width
+ * and their minimum area and minimum perimeter bounding rectangles.
+ * 
+ * Basic idea (Shamos, Toussaint): Rotate a set of calipers around the hull, one of them flush with
+ * each edge in turn. The points touched by the other calipers, the furthest one from the edge and
+ * the furthest ones along it in both directions, only move forward around the hull as the edges
+ * turn, so all of them are found in a single turn. The diameter is the longest distance between
+ * the points touched by two parallel calipers, the width is the shortest distance between an edge
+ * and its furthest point, and an optimal rectangle has a side on an edge of the hull (Freeman and Shapira).
+ * 
+ * The hulls are in counterclockwise order without collinear points, as returned by
+ * {@link ConvexHull#monotoneChain(List)}.
+ * 
+ * Complexity: O(h), where h is the size of the hull
+ * 
+ * @see https://en.wikipedia.org/wiki/Rotating_calipers
+ */
+public class RotatingCalipers
+{
+	/** Position of the diameter among the measures of a hull in a batch. */
+	public static final int DIAMETER = 0;
+	/** Position of the width among the measures of a hull in a batch. */
+	public static final int WIDTH = 1;
+	/** Position of the area of the minimum area rectangle among the measures of a hull in a batch. */
+	public static final int MINIMUM_AREA = 2;
+	/** Position of the perimeter of the minimum perimeter rectangle among the measures of a hull in a batch. */
+	public static final int MINIMUM_PERIMETER = 3;
+	/** Number of measures of each hull in a batch. */
+	public static final int MEASURE_COUNT = 4;
+	
+	/**
+	 * Finds the two points of a convex hull which are the furthest apart.
+	 * 
+	 * @param convexHull the points of a convex hull in counterclockwise order
+	 * @return the segment between the furthest pair of points
+	 */
+	public static LineSegment diameter(List<Point> convexHull)
+	{
+		int[] pair = new int[2];
+		diameter(getCoordinates(convexHull), convexHull.size(), pair);
+		
+		return new LineSegment(convexHull.get(pair[0]), convexHull.get(pair[1]));
+	}
+	
+	/**
+	 * Same as {@link #diameter(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of the points on a convex hull in counterclockwise order
+	 * @return the indices of the furthest pair of points
+	 */
+	public static int[] diameter(PointSet points, int[] convexHull)
+	{
+		int[] pair = new int[2];
+		diameter(getCoordinates(points, convexHull), convexHull.length, pair);
+		
+		return new int[] {convexHull[pair[0]], convexHull[pair[1]]};
+	}
+	
+	/**
+	 * Computes the width of a convex hull, i.e. the shortest distance between two parallel lines
+	 * with the hull between them.
+	 * 
+	 * @param convexHull the points of a convex hull in counterclockwise order
+	 * @return the width of the hull
+	 */
+	public static double width(List<Point> convexHull)
+	{
+		return measure(getCoordinates(convexHull), convexHull.size()).width;
+	}
+	
+	/**
+	 * Same as {@link #width(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of the points on a convex hull in counterclockwise order
+	 * @return the width of the hull
+	 */
+	public static double width(PointSet points, int[] convexHull)
+	{
+		return measure(getCoordinates(points, convexHull), convexHull.length).width;
+	}
+	
+	/**
+	 * Finds the rectangle with the smallest area which contains a convex hull.
+	 * 
+	 * @param convexHull the points of a convex hull in counterclockwise order
+	 * @return the minimum area rectangle
+	 */
+	public static Rectangle minimumAreaRectangle(List<Point> convexHull)
+	{
+		double[] hull = getCoordinates(convexHull);
+		Measures measures = measure(hull, convexHull.size());
+		
+		return new Rectangle(hull, measures.areaEdge, measures.areaBox);
+	}
+	
+	/**
+	 * Same as {@link #minimumAreaRectangle(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of the points on a convex hull in counterclockwise order
+	 * @return the minimum area rectangle
+	 */
+	public static Rectangle minimumAreaRectangle(PointSet points, int[] convexHull)
+	{
+		double[] hull = getCoordinates(points, convexHull);
+		Measures measures = measure(hull, convexHull.length);
+		
+		return new Rectangle(hull, measures.areaEdge, measures.areaBox);
+	}
+	
+	/**
+	 * Finds the rectangle with the smallest perimeter which contains a convex hull.
+	 * 
+	 * @param convexHull the points of a convex hull in counterclockwise order
+	 * @return the minimum perimeter rectangle
+	 */
+	public static Rectangle minimumPerimeterRectangle(List<Point> convexHull)
+	{
+		double[] hull = getCoordinates(convexHull);
+		Measures measures = measure(hull, convexHull.size());
+		
+		return new Rectangle(hull, measures.perimeterEdge, measures.perimeterBox);
+	}
+	
+	/**
+	 * Same as {@link #minimumPerimeterRectangle(List)}, over a set of primitive points.
+	 * 
+	 * @param points a given set of points
+	 * @param convexHull the indices of the points on a convex hull in counterclockwise order
+	 * @return the minimum perimeter rectangle
+	 */
+	public static Rectangle minimumPerimeterRectangle(PointSet points, int[] convexHull)
+	{
+		double[] hull = getCoordinates(points, convexHull);
+		Measures measures = measure(hull, convexHull.length);
+		
+		return new Rectangle(hull, measures.perimeterEdge, measures.perimeterBox);
+	}
+	
+	/**
+	 * Measures each hull of a batch on the common pool.
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of every point
+	 * @param offsets the index of the first point of each set, followed by the number of points
+	 * @param convexHulls the hull of each set, from the offset of the set
+	 * @param convexHullSizes the number of points on the hull of each set
+	 * @return the measures of each hull
+	 * @see #compute(double[], int[], int[], int[], double[], ForkJoinPool)
+	 */
+	public static double[] compute(double[] coordinates, int[] offsets, int[] convexHulls, int[] convexHullSizes)
+	{
+		double[] measures = new double[MEASURE_COUNT * Math.max(offsets.length - 1, 0)];
+		compute(coordinates, offsets, convexHulls, convexHullSizes, measures, ForkJoinPool.commonPool());
+		
+		return measures;
+	}
+	
+	/**
+	 * Measures each hull of a batch computed by {@link BatchConvexHull}, in the same layout. The
+	 * measures of the j-th hull are written to measures from MEASURE_COUNT * j, in the order
+	 * {@link #DIAMETER}, {@link #WIDTH}, {@link #MINIMUM_AREA} and {@link #MINIMUM_PERIMETER}.
+	 * The measures of an empty hull are zero.
+	 * 
+	 * The hulls are spread across the threads of a fork/join pool, and each thread copies the
+	 * coordinates of its hulls to the same buffer, so nothing is allocated per hull.
+	 * 
+	 * Complexity: O(h) per hull
+	 * 
+	 * @param coordinates the interleaved (x, y) coordinates of every point
+	 * @param offsets the index of the first point of each set, followed by the number of points
+	 * @param convexHulls the hull of each set, from the offset of the set
+	 * @param convexHullSizes the number of points on the hull of each set
+	 * @param measures the buffer receiving the measures, with at least MEASURE_COUNT positions per set
+	 * @param pool the pool that measures the hulls
+	 */
+	public static void compute(double[] coordinates, int[] offsets, int[] convexHulls, int[] convexHullSizes, double[] measures, ForkJoinPool pool)
+	{
+		int setCount = BatchConvexHull.checkOffsets(coordinates, offsets);
+		
+		if(convexHullSizes.length < setCount)
+		{
+			throw new IllegalArgumentException("The size buffer is smaller than the number of sets: " + convexHullSizes.length + " < " + setCount);
+		}
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			if(convexHullSizes[set] < 0 || convexHullSizes[set] > offsets[set + 1] - offsets[set] || offsets[set] + convexHullSizes[set] > convexHulls.length)
+			{
+				throw new IllegalArgumentException("Invalid size of the hull of set " + set + ": " + convexHullSizes[set]);
+			}
+		}
+		
+		if(measures.length < (long) MEASURE_COUNT * setCount)
+		{
+			throw new IllegalArgumentException("The measure buffer is smaller than the number of measures: " + measures.length + " < " + (long) MEASURE_COUNT * setCount);
+		}
+		
+		if(setCount > 0)
+		{
+			pool.invoke(new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, measures, 0, setCount));
+		}
+	}
+	
+	/**
+	 * @return the interleaved coordinates of a list of points
+	 */
+	private static double[] getCoordinates(List<Point> convexHull)
+	{
+		double[] hull = new double[2 * convexHull.size()];
+		
+		for (int i = 0; i < convexHull.size(); i++)
+		{
+			hull[2 * i] = convexHull.get(i).x();
+			hull[2 * i + 1] = convexHull.get(i).y();
+		}
+		
+		return hull;
+	}
+	
+	/**
+	 * @return the interleaved coordinates of the points of a hull
+	 */
+	private static double[] getCoordinates(PointSet points, int[] convexHull)
+	{
+		double[] hull = new double[2 * convexHull.length];
+		
+		for (int i = 0; i < convexHull.length; i++)
+		{
+			hull[2 * i] = points.x(convexHull[i]);
+			hull[2 * i + 1] = points.y(convexHull[i]);
+		}
+		
+		return hull;
+	}
+	
+	/**
+	 * Finds the furthest pair of points of a hull. For each edge, the point furthest from its line
+	 * is moved forward while the next point is further, and both ends of the edge are paired with it.
+	 * 
+	 * @param hull the interleaved coordinates of the hull in counterclockwise order
+	 * @param size the number of points on the hull
+	 * @param pair the buffer receiving the positions of the pair in the hull
+	 * @return the squared distance between the pair
+	 */
+	private static double diameter(double[] hull, int size, int[] pair)
+	{
+		checkSize(size);
+		
+		pair[0] = 0;
+		pair[1] = 0;
+		
+		double squaredDiameter = 0.0;
+		int furthest = 1 % size;
+		
+		for (int i = 0; i < size; i++)
+		{
+			int next = next(i, size);
+			furthest = advanceAcross(hull, size, furthest, i, next);
+			
+			double distance = squaredDistance(hull, i, furthest);
+			
+			if(distance > squaredDiameter)
+			{
+				squaredDiameter = distance;
+				pair[0] = i;
+				pair[1] = furthest;
+			}
+			
+			distance = squaredDistance(hull, next, furthest);
+			
+			if(distance > squaredDiameter)
+			{
+				squaredDiameter = distance;
+				pair[0] = next;
+				pair[1] = furthest;
+			}
+		}
+		
+		return squaredDiameter;
+	}
+	
+	private static Measures measure(double[] hull, int size)
+	{
+		Measures measures = new Measures();
+		measure(hull, size, measures);
+		
+		return measures;
+	}
+	
+	/**
+	 * Puts each edge of a hull against a caliper, finding the furthest point from its line and the
+	 * furthest points along it in both directions. The three points move forward around the hull
+	 * while the next point is further, starting from where they were for the previous edge.
+	 * 
+	 * @param hull the interleaved coordinates of the hull in counterclockwise order
+	 * @param size the number of points on the hull
+	 * @param measures the width and the best rectangles found
+	 */
+	private static void measure(double[] hull, int size, Measures measures)
+	{
+		checkSize(size);
+		
+		measures.width = size == 1 ? 0.0 : Double.POSITIVE_INFINITY;
+		measures.area = size == 1 ? 0.0 : Double.POSITIVE_INFINITY;
+		measures.perimeter = size == 1 ? 0.0 : Double.POSITIVE_INFINITY;
+		measures.areaEdge = 0;
+		measures.perimeterEdge = 0;
+		
+		int forward = 0;
+		int furthest = 0;
+		int backward = 0;
+		
+		for (int i = 0; i < size && size > 1; i++)
+		{
+			int next = next(i, size);
+			double x = hull[2 * i];
+			double y = hull[2 * i + 1];
+			double length = Math.hypot(hull[2 * next] - x, hull[2 * next + 1] - y);
+			double unitX = (hull[2 * next] - x) / length;
+			double unitY = (hull[2 * next + 1] - y) / length;
+			
+			if(i == 0)
+			{
+				forward = advanceAlong(hull, size, 0, i, next);
+				furthest = advanceAcross(hull, size, forward, i, next);
+				backward = advanceAlong(hull, size, furthest, next, i);
+			}
+			else
+			{
+				forward = advanceAlong(hull, size, forward, i, next);
+				furthest = advanceAcross(hull, size, furthest, i, next);
+				backward = advanceAlong(hull, size, backward, next, i);
+			}
+			
+			double maximum = unitX * (hull[2 * forward] - x) + unitY * (hull[2 * forward + 1] - y);
+			double minimum = unitX * (hull[2 * backward] - x) + unitY * (hull[2 * backward + 1] - y);
+			double height = unitX * (hull[2 * furthest + 1] - y) - unitY * (hull[2 * furthest] - x);
+			
+			double area = (maximum - minimum) * height;
+			double perimeter = 2.0 * (maximum - minimum + height);
+			
+			if(height < measures.width)
+			{
+				measures.width = height;
+			}
+			
+			if(area < measures.area)
+			{
+				measures.area = area;
+				measures.areaEdge = i;
+				measures.areaBox[0] = minimum;
+				measures.areaBox[1] = maximum;
+				measures.areaBox[2] = height;
+			}
+			
+			if(perimeter < measures.perimeter)
+			{
+				measures.perimeter = perimeter;
+				measures.perimeterEdge = i;
+				measures.perimeterBox[0] = minimum;
+				measures.perimeterBox[1] = maximum;
+				measures.perimeterBox[2] = height;
+			}
+		}
+	}
+	
+	/**
+	 * Moves forward around a hull from a given point while the next point is further in the direction
+	 * of the edge from <b>from</b> to <b>to</b>. The steps are compared to the edge with an exact sign, 
+	 * since the rounded one stops early on thin hulls, whose edges are nearly parallel.
+	 * 
+	 * @return the position of the furthest point found
+	 */
+	private static int advanceAlong(double[] hull, int size, int position, int from, int to)
+	{
+		for (int step = 0; step < size; step++)
+		{
+			int candidate = next(position, size);
+			
+			if(RobustPredicates.dotProduct(hull[2 * from], hull[2 * from + 1], hull[2 * to], hull[2 * to + 1], hull[2 * position], hull[2 * position + 1], hull[2 * candidate], hull[2 * candidate + 1]) <= 0.0)
+			{
+				break;
+			}
+			
+			position = candidate;
+		}
+		
+		return position;
+	}
+	
+	/**
+	 * Same as {@link #advanceAlong(double[], int, int, int, int)}, but while the next point is 
+	 * further on the left of the edge.
+	 * 
+	 * @return the position of the furthest point found
+	 */
+	private static int advanceAcross(double[] hull, int size, int position, int from, int to)
+	{
+		for (int step = 0; step < size; step++)
+		{
+			int candidate = next(position, size);
+			
+			if(RobustPredicates.crossProduct(hull[2 * from], hull[2 * from + 1], hull[2 * to], hull[2 * to + 1], hull[2 * position], hull[2 * position + 1], hull[2 * candidate], hull[2 * candidate + 1]) <= 0.0)
+			{
+				break;
+			}
+			
+			position = candidate;
+		}
+		
+		return position;
+	}
+	
+	private static int next(int position, int size)
+	{
+		return position + 1 == size ? 0 : position + 1;
+	}
+	
+	private static double squaredDistance(double[] hull, int a, int b)
+	{
+		double dx = hull[2 * a] - hull[2 * b];
+		double dy = hull[2 * a + 1] - hull[2 * b + 1];
+		
+		return dx * dx + dy * dy;
+	}
+	
+	private static void checkSize(int size)
+	{
+		if(size == 0)
+		{
+			throw new IllegalArgumentException("The convex hull is empty");
+		}
+	}
+	
+	/**
+	 * The width of a hull and the rectangles with the smallest area and perimeter found so far. A
+	 * rectangle is given by the edge of the hull on its side, as a position in the hull, and by its
+	 * box on the axes of that edge: the lowest and highest offsets along the edge from its first
+	 * point, and the height.
+	 */
+	private static class Measures
+	{
+		private double width;
+		private double area;
+		private double perimeter;
+		private int areaEdge;
+		private int perimeterEdge;
+		private final double[] areaBox = new double[3];
+		private final double[] perimeterBox = new double[3];
+	}
+	
+	/**
+	 * This class represents a rectangle, not necessarily aligned with the axes.
+	 */
+	public static class Rectangle
+	{
+		private double[] corners;
+		private double width;
+		private double height;
+		
+		/**
+		 * Creates the rectangle with a side on an edge of a hull.
+		 * 
+		 * @param hull the interleaved coordinates of the hull in counterclockwise order
+		 * @param edge the position of the first point of the edge
+		 * @param box the lowest and highest offsets along the edge from its first point, and the height
+		 */
+		Rectangle(double[] hull, int edge, double[] box)
+		{
+			int size = hull.length / 2;
+			int next = next(edge, size);
+			double x = hull[2 * edge];
+			double y = hull[2 * edge + 1];
+			double unitX = 0.0;
+			double unitY = 0.0;
+			
+			// the rectangle of a single point is that point
+			if(size > 1)
+			{
+				double length = Math.hypot(hull[2 * next] - x, hull[2 * next + 1] - y);
+				unitX = (hull[2 * next] - x) / length;
+				unitY = (hull[2 * next + 1] - y) / length;
+			}
+			
+			this.width = box[1] - box[0];
+			this.height = box[2];
+			this.corners = new double[] {
+				x + unitX * box[0], y + unitY * box[0],
+				x + unitX * box[1], y + unitY * box[1],
+				x + unitX * box[1] - unitY * box[2], y + unitY * box[1] + unitX * box[2],
+				x + unitX * box[0] - unitY * box[2], y + unitY * box[0] + unitX * box[2]
+			};
+		}
+		
+		/**
+		 * @return the four corners in counterclockwise order, starting with the ones on the edge of the hull
+		 */
+		public List<Point> corners()
+		{
+			List<Point> points = new ArrayList<Point>(4);
+			
+			for (int i = 0; i < 4; i++)
+			{
+				points.add(new Point(corners[2 * i], corners[2 * i + 1]));
+			}
+			
+			return points;
+		}
+		
+		/**
+		 * @return the length of the side on the edge of the hull
+		 */
+		public double width()
+		{
+			return width;
+		}
+		
+		/**
+		 * @return the length of the side perpendicular to the edge of the hull
+		 */
+		public double height()
+		{
+			return height;
+		}
+		
+		public double area()
+		{
+			return width * height;
+		}
+		
+		public double perimeter()
+		{
+			return 2.0 * (width + height);
+		}
+		
+		public String toString()
+		{
+			return corners().toString();
+		}
+	}
+	
+	/**
+	 * This class is a fork/join task measuring the hulls of a range of sets. Ranges with more than
+	 * {@link ConvexHull#DEFAULT_SEQUENTIAL_CUTOFF} points are split in two by number of sets.
+	 */
+	private static class BatchTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+		
+		private double[] coordinates;
+		private int[] offsets;
+		private int[] convexHulls;
+		private int[] convexHullSizes;
+		private double[] measures;
+		private int firstSet;
+		private int lastSet;
+		
+		BatchTask(double[] coordinates, int[] offsets, int[] convexHulls, int[] convexHullSizes, double[] measures, int firstSet, int lastSet)
+		{
+			this.coordinates = coordinates;
+			this.offsets = offsets;
+			this.convexHulls = convexHulls;
+			this.convexHullSizes = convexHullSizes;
+			this.measures = measures;
+			this.firstSet = firstSet;
+			this.lastSet = lastSet;
+		}
+		
+		@Override
+		protected void compute()
+		{
+			if(lastSet - firstSet > 1 && offsets[lastSet] - offsets[firstSet] > ConvexHull.DEFAULT_SEQUENTIAL_CUTOFF)
+			{
+				int middle = (firstSet + lastSet) >>> 1;
+				
+				invokeAll(new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, measures, firstSet, middle),
+						  new BatchTask(coordinates, offsets, convexHulls, convexHullSizes, measures, middle, lastSet));
+				return;
+			}
+			
+			double[] hull = new double[0];
+			int[] pair = new int[2];
+			Measures hullMeasures = new Measures();
+			
+			for (int set = firstSet; set < lastSet; set++)
+			{
+				int size = convexHullSizes[set];
+				int position = MEASURE_COUNT * set;
+				
+				if(size == 0)
+				{
+					measures[position + DIAMETER] = 0.0;
+					measures[position + WIDTH] = 0.0;
+					measures[position + MINIMUM_AREA] = 0.0;
+					measures[position + MINIMUM_PERIMETER] = 0.0;
+					continue;
+				}
+				
+				if(hull.length < 2 * size)
+				{
+					hull = new double[Math.max(2 * size, hull.length + (hull.length >> 1))];
+				}
+				
+				for (int i = 0; i < size; i++)
+				{
+					int point = convexHulls[offsets[set] + i];
+					hull[2 * i] = coordinates[2 * point];
+					hull[2 * i + 1] = coordinates[2 * point + 1];
+				}
+				
+				measure(hull, size, hullMeasures);
+				
+				measures[position + DIAMETER] = Math.sqrt(diameter(hull, size, pair));
+				measures[position + WIDTH] = hullMeasures.width;
+				measures[position + MINIMUM_AREA] = hullMeasures.area;
+				measures[position + MINIMUM_PERIMETER] = hullMeasures.perimeter;
+			}
+		}
+	}
+}
@@ -0,0 +1,502 @@
+package br.ufrj.dcc.convexhull.model;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class keeps the upper hull of a dynamic set of points, i.e the chain of the convex hull
+ * from the lowest point in (x, y) order to the highest one, turning clockwise.
+ * 
+ * Basic idea (Overmars and van Leeuwen): The points are kept in a balanced search tree (a treap)
+ * ordered by (x, y). Every node stores the upper hull of its subtree, obtained by bridging the
+ * upper hulls of its left subtree, its own point and its right subtree. The hulls are persistent
+ * sequences which share their nodes, so a node builds its hull from the hulls of its children
+ * without copying them. An update only rebuilds the hulls on the path from the root to the point.
+ * 
+ * Complexity: O(log^4 n) expected per update, O(h) to report the hull
+ * 
+ * @see https://en.wikipedia.org/wiki/Dynamic_convex_hull
+ */
+class UpperHullTree
+{
+	private Random random;
+	private Node root;
+	
+	UpperHullTree(long seed)
+	{
+		this.random = new Random(seed);
+		this.root = null;
+	}
+	
+	/**
+	 * Adds a point to the set. Repeated points are counted, so each one has to be removed.
+	 * 
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 */
+	void add(double x, double y)
+	{
+		root = add(root, x, y);
+	}
+	
+	/**
+	 * Removes a point from the set.
+	 * 
+	 * @param x the x coordinate of the point
+	 * @param y the y coordinate of the point
+	 * @return <b>true</b> if the point was in the set <b>false</b> if not
+	 */
+	boolean remove(double x, double y)
+	{
+		if(!contains(x, y))
+		{
+			return false;
+		}
+		
+		root = remove(root, x, y);
+		
+		return true;
+	}
+	
+	boolean contains(double x, double y)
+	{
+		Node node = root;
+		
+		while(node != null)
+		{
+			int comparison = compare(x, y, node.x, node.y);
+			
+			if(comparison == 0)
+			{
+				return true;
+			}
+			
+			node = comparison < 0 ? node.left : node.right;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * @return the number of points on the upper hull
+	 */
+	int size()
+	{
+		return root == null ? 0 : Chain.size(root.hull);
+	}
+	
+	/**
+	 * Appends the points of the upper hull to a given list, in (x, y) order.
+	 * 
+	 * @param points the list receiving the points
+	 * @param sign 1 to append the points as they are, -1 to append them reflected through the origin
+	 */
+	void appendUpperHull(List<Point> points, double sign)
+	{
+		if(root != null)
+		{
+			Chain.append(root.hull, points, sign);
+		}
+	}
+	
+	private Node add(Node node, double x, double y)
+	{
+		if(node == null)
+		{
+			return new Node(x, y, random.nextInt());
+		}
+		
+		int comparison = compare(x, y, node.x, node.y);
+		
+		if(comparison == 0)
+		{
+			node.count++;
+			return node;
+		}
+		
+		if(comparison < 0)
+		{
+			node.left = add(node.left, x, y);
+			
+			if(node.left.priority > node.priority)
+			{
+				node = rotateRight(node);
+			}
+		}
+		else
+		{
+			node.right = add(node.right, x, y);
+			
+			if(node.right.priority > node.priority)
+			{
+				node = rotateLeft(node);
+			}
+		}
+		
+		node.update(random);
+		
+		return node;
+	}
+	
+	private Node remove(Node node, double x, double y)
+	{
+		int comparison = compare(x, y, node.x, node.y);
+		
+		if(comparison == 0)
+		{
+			if(node.count > 1)
+			{
+				node.count--;
+				return node;
+			}
+			
+			if(node.left == null)
+			{
+				return node.right;
+			}
+			
+			if(node.right == null)
+			{
+				return node.left;
+			}
+			
+			// rotate the node down until it has a single child
+			if(node.left.priority > node.right.priority)
+			{
+				node = rotateRight(node);
+				node.right = remove(node.right, x, y);
+			}
+			else
+			{
+				node = rotateLeft(node);
+				node.left = remove(node.left, x, y);
+			}
+		}
+		else if(comparison < 0)
+		{
+			node.left = remove(node.left, x, y);
+		}
+		else
+		{
+			node.right = remove(node.right, x, y);
+		}
+		
+		node.update(random);
+		
+		return node;
+	}
+	
+	private Node rotateRight(Node node)
+	{
+		Node left = node.left;
+		node.left = left.right;
+		node.update(random);
+		left.right = node;
+		
+		return left;
+	}
+	
+	private Node rotateLeft(Node node)
+	{
+		Node right = node.right;
+		node.right = right.left;
+		node.update(random);
+		right.left = node;
+		
+		return right;
+	}
+	
+	static int compare(double ax, double ay, double bx, double by)
+	{
+		if(ax < bx) return -1;
+		if(ax > bx) return 1;
+		if(ay < by) return -1;
+		if(ay > by) return 1;
+		
+		return 0;
+	}
+	
+	/**
+	 * Merges the upper hulls of two sets of points, with every point of the first set before
+	 * every point of the second one in (x, y) order.
+	 * 
+	 * The first hull keeps its points up to the first edge which has a point of the second hull
+	 * on or above its line, found by binary search. The point of the second hull furthest in the
+	 * direction of an edge's normal is found by binary search too, as the edges of an upper hull
+	 * turn clockwise. The second hull keeps its points from the tangent from the last point kept
+	 * in the first hull.
+	 * 
+	 * @param first the upper hull of the first set
+	 * @param second the upper hull of the second set
+	 * @return the upper hull of both sets
+	 */
+	static Chain mergeUpperHulls(Chain first, Chain second)
+	{
+		if(first == null)
+		{
+			return second;
+		}
+		
+		if(second == null)
+		{
+			return first;
+		}
+		
+		int firstSize = Chain.size(first);
+		int secondSize = Chain.size(second);
+		
+		// first edge of the first hull which is not an edge of the merged hull
+		int low = 0;
+		int high = firstSize - 1;
+		
+		while(low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			Chain a = Chain.get(first, middle);
+			Chain b = Chain.get(first, middle + 1);
+			Chain extreme = Chain.get(second, getExtremeIndex(second, secondSize, a, b));
+			
+			if(ConvexHull.crossProduct(a.x, a.y, b.x, b.y, extreme.x, extreme.y) < 0.0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		
+		Chain bridge = Chain.get(first, low);
+		
+		// tangent from the last point of the first hull to the second hull
+		int secondLow = 0;
+		int secondHigh = secondSize - 1;
+		
+		while(secondLow < secondHigh)
+		{
+			int middle = (secondLow + secondHigh) >>> 1;
+			
+			Chain a = Chain.get(second, middle);
+			Chain b = Chain.get(second, middle + 1);
+			
+			if(ConvexHull.crossProduct(bridge.x, bridge.y, a.x, a.y, b.x, b.y) >= 0.0)
+			{
+				secondLow = middle + 1;
+			}
+			else
+			{
+				secondHigh = middle;
+			}
+		}
+		
+		return Chain.join(Chain.prefix(first, low + 1), Chain.suffix(second, secondLow));
+	}
+	
+	/**
+	 * Finds the point of an upper hull which is furthest on the left of the direction from <b>from</b> to <b>to</b>.
+	 * The edges of the hull are compared to the direction with an exact sign, since the rounded one
+	 * is wrong for nearly parallel edges.
+	 * 
+	 * @return the position of the point in the hull
+	 */
+	private static int getExtremeIndex(Chain hull, int size, Chain from, Chain to)
+	{
+		int low = 0;
+		int high = size - 1;
+		
+		while(low < high)
+		{
+			int middle = (low + high) >>> 1;
+			
+			Chain a = Chain.get(hull, middle);
+			Chain b = Chain.get(hull, middle + 1);
+			
+			if(RobustPredicates.crossProduct(from.x, from.y, to.x, to.y, a.x, a.y, b.x, b.y) > 0.0)
+			{
+				low = middle + 1;
+			}
+			else
+			{
+				high = middle;
+			}
+		}
+		
+		return low;
+	}
+	
+	/**
+	 * A node of the search tree, holding a distinct point, how many times it was added
+	 * and the upper hull of its subtree.
+	 */
+	private static class Node
+	{
+		private double x;
+		private double y;
+		private int count;
+		private int priority;
+		private Node left;
+		private Node right;
+		private Chain hull;
+		
+		Node(double x, double y, int priority)
+		{
+			this.x = x;
+			this.y = y;
+			this.count = 1;
+			this.priority = priority;
+			this.hull = new Chain(x, y, priority, null, null);
+		}
+		
+		void update(Random random)
+		{
+			Chain hull = new Chain(x, y, random.nextInt(), null, null);
+			
+			if(left != null)
+			{
+				hull = mergeUpperHulls(left.hull, hull);
+			}
+			
+			if(right != null)
+			{
+				hull = mergeUpperHulls(hull, right.hull);
+			}
+			
+			this.hull = hull;
+		}
+	}
+	
+	/**
+	 * An immutable sequence of points, stored as a treap ordered by position. Splitting and
+	 * joining copy only the nodes on the paths they walk, so older sequences stay valid.
+	 */
+	static class Chain
+	{
+		private final double x;
+		private final double y;
+		private final int priority;
+		private final int size;
+		private final Chain left;
+		private final Chain right;
+		
+		Chain(double x, double y, int priority, Chain left, Chain right)
+		{
+			this.x = x;
+			this.y = y;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+			this.size = size(left) + size(right) + 1;
+		}
+		
+		static int size(Chain chain)
+		{
+			return chain == null ? 0 : chain.size;
+		}
+		
+		static Chain get(Chain chain, int position)
+		{
+			while(true)
+			{
+				int leftSize = size(chain.left);
+				
+				if(position == leftSize)
+				{
+					return chain;
+				}
+				
+				if(position < leftSize)
+				{
+					chain = chain.left;
+				}
+				else
+				{
+					position -= leftSize + 1;
+					chain = chain.right;
+				}
+			}
+		}
+		
+		/**
+		 * @return the first <b>count</b> points of a sequence
+		 */
+		static Chain prefix(Chain chain, int count)
+		{
+			if(chain == null || count <= 0)
+			{
+				return null;
+			}
+			
+			if(count >= chain.size)
+			{
+				return chain;
+			}
+			
+			int leftSize = size(chain.left);
+			
+			if(count <= leftSize)
+			{
+				return prefix(chain.left, count);
+			}
+			
+			return new Chain(chain.x, chain.y, chain.priority, chain.left, prefix(chain.right, count - leftSize - 1));
+		}
+		
+		/**
+		 * @return the points of a sequence from a given position on
+		 */
+		static Chain suffix(Chain chain, int position)
+		{
+			if(chain == null || position <= 0)
+			{
+				return chain;
+			}
+			
+			if(position >= chain.size)
+			{
+				return null;
+			}
+			
+			int leftSize = size(chain.left);
+			
+			if(position <= leftSize)
+			{
+				return new Chain(chain.x, chain.y, chain.priority, suffix(chain.left, position), chain.right);
+			}
+			
+			return suffix(chain.right, position - leftSize - 1);
+		}
+		
+		static Chain join(Chain first, Chain second)
+		{
+			if(first == null)
+			{
+				return second;
+			}
+			
+			if(second == null)
+			{
+				return first;
+			}
+			
+			if(first.priority > second.priority)
+			{
+				return new Chain(first.x, first.y, first.priority, first.left, join(first.right, second));
+			}
+			
+			return new Chain(second.x, second.y, second.priority, join(first, second.left), second.right);
+		}
+		
+		static void append(Chain chain, List<Point> points, double sign)
+		{
+			if(chain == null)
+			{
+				return;
+			}
+			
+			append(chain.left, points, sign);
+			points.add(new Point(sign * chain.x, sign * chain.y));
+			append(chain.right, points, sign);
+		}
+	}
+}
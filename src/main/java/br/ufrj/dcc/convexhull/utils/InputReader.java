@@ -2,11 +2,19 @@ package br.ufrj.dcc.convexhull.utils;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
+import br.ufrj.dcc.convexhull.model.OffHeapPointSet;
 import br.ufrj.dcc.convexhull.model.Point;
+import br.ufrj.dcc.convexhull.model.PointSet;
 
 /**
  * This class is a tool to read the input.
@@ -16,6 +24,12 @@ import br.ufrj.dcc.convexhull.model.Point;
  */
 public class InputReader
 {
+	public static final int BINARY_HEADER_SIZE = Long.BYTES;
+	public static final int TEXT_CHUNK_SIZE = 1 << 20;
+	
+	// the shortest point line, such as "0 0\n"
+	private static final int MINIMUM_TEXT_POINT_SIZE = 4;
+	
 	public static List<Point> readFromFile(File input) throws FileNotFoundException
 	{
 		Scanner scanner = new Scanner(input);
@@ -35,4 +49,386 @@ public class InputReader
 		
 		return points;
 	}
+	
+	/**
+	 * Reads a binary point file by mapping it in memory, without copying the coordinates.
+	 * 
+	 * The file starts with the number of points as a little-endian long, followed by the
+	 * (x, y) coordinates of each point as little-endian doubles.
+	 * 
+	 * @param input a binary point file
+	 * @return a read-only point set backed by the file
+	 * @throws IOException if the file can not be read or is shorter than its header says
+	 */
+	public static OffHeapPointSet readFromBinaryFile(File input) throws IOException
+	{
+		FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ);
+		
+		try
+		{
+			ByteBuffer header = ByteBuffer.allocate(BINARY_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			
+			while(header.hasRemaining())
+			{
+				if(channel.read(header, header.position()) < 0)
+				{
+					throw new IOException("Missing header in " + input);
+				}
+			}
+			
+			long count = header.getLong(0);
+			long maximumCount = (channel.size() - BINARY_HEADER_SIZE) / (2 * Double.BYTES);
+			
+			if(count < 0 || count > maximumCount)
+			{
+				throw new IOException("Expected " + count + " points in " + input + ", but it has " + channel.size() + " bytes");
+			}
+			
+			return OffHeapPointSet.map(channel, FileChannel.MapMode.READ_ONLY, BINARY_HEADER_SIZE, count, ByteOrder.LITTLE_ENDIAN);
+		}
+		finally
+		{
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Reads a text point file in the same format as {@link #readFromFile(File)}, without
+	 * {@link Scanner} and without boxing the coordinates.
+	 * 
+	 * The file is read through a {@link FileChannel} in chunks of {@link #TEXT_CHUNK_SIZE} bytes 
+	 * and the numbers are parsed straight from the bytes. Numbers with up to 15 significant digits 
+	 * and small exponents are converted exactly with one multiplication or division; any other 
+	 * number falls back to {@link Double#parseDouble(String)} so the result is always correctly rounded.
+	 * 
+	 * The leading number is used to presize the point set. It is only a hint: every pair of 
+	 * numbers after it is read.
+	 * 
+	 * @param input a text point file
+	 * @return the points of the file
+	 * @throws IOException if the file can not be read or has an invalid number
+	 */
+	public static PointSet readPointSetFromFile(File input) throws IOException
+	{
+		return readPointSetFromFile(input, TEXT_CHUNK_SIZE);
+	}
+	
+	static PointSet readPointSetFromFile(File input, int chunkSize) throws IOException
+	{
+		TextTokenizer tokenizer = new TextTokenizer(FileChannel.open(input.toPath(), StandardOpenOption.READ), chunkSize);
+		
+		try
+		{
+			if(!tokenizer.hasNext())
+			{
+				return new PointSet(0);
+			}
+			
+			long count = (long) tokenizer.nextDouble();
+			long maximumCount = tokenizer.size() / MINIMUM_TEXT_POINT_SIZE;
+			
+			PointSet points = new PointSet((int) Math.max(0, Math.min(count, maximumCount)));
+			
+			while(tokenizer.hasNext())
+			{
+				double x = tokenizer.nextDouble();
+				
+				if(!tokenizer.hasNext())
+				{
+					throw new IOException("Missing y coordinate of the point " + points.size() + " in " + input);
+				}
+				
+				double y = tokenizer.nextDouble();
+				
+				points.add(x, y);
+			}
+			
+			return points;
+		}
+		finally
+		{
+			tokenizer.close();
+		}
+	}
+	
+	/**
+	 * This class splits the bytes of a channel in tokens separated by whitespace and parses them as doubles.
+	 */
+	private static class TextTokenizer
+	{
+		private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+		};
+		
+		private static final int MAXIMUM_EXACT_DIGITS = 15;
+		
+		private FileChannel channel;
+		private ByteBuffer buffer;
+		private byte[] bytes;
+		private int position;
+		private int limit;
+		private boolean isEndOfFile;
+		
+		TextTokenizer(FileChannel channel, int chunkSize)
+		{
+			this.channel = channel;
+			this.buffer = ByteBuffer.allocate(chunkSize);
+			this.bytes = buffer.array();
+			this.position = 0;
+			this.limit = 0;
+			this.isEndOfFile = false;
+		}
+		
+		long size() throws IOException
+		{
+			return channel.size();
+		}
+		
+		void close() throws IOException
+		{
+			channel.close();
+		}
+		
+		boolean hasNext() throws IOException
+		{
+			while(true)
+			{
+				while(position < limit && isWhitespace(bytes[position]))
+				{
+					position++;
+				}
+				
+				if(position < limit)
+				{
+					return true;
+				}
+				
+				if(!fill())
+				{
+					return false;
+				}
+			}
+		}
+		
+		double nextDouble() throws IOException
+		{
+			if(!hasNext())
+			{
+				throw new IOException("Unexpected end of file");
+			}
+			
+			int end = position;
+			
+			while(true)
+			{
+				while(end < limit && !isWhitespace(bytes[end]))
+				{
+					end++;
+				}
+				
+				if(end < limit || isEndOfFile)
+				{
+					break;
+				}
+				
+				// the token may continue in the next chunk
+				int tokenLength = end - position;
+				boolean isFilled = fill();
+				
+				end = position + tokenLength;
+				
+				if(!isFilled)
+				{
+					break;
+				}
+			}
+			
+			double value = parseDouble(position, end);
+			position = end;
+			
+			return value;
+		}
+		
+		/**
+		 * Moves the unread bytes to the beginning of the buffer and reads the next chunk after them.
+		 * 
+		 * @return <b>true</b> if any byte was read <b>false</b> at the end of the file
+		 */
+		private boolean fill() throws IOException
+		{
+			if(isEndOfFile)
+			{
+				return false;
+			}
+			
+			int unreadBytes = limit - position;
+			
+			if(unreadBytes == bytes.length)
+			{
+				throw new IOException("Token longer than " + bytes.length + " bytes");
+			}
+			
+			System.arraycopy(bytes, position, bytes, 0, unreadBytes);
+			position = 0;
+			limit = unreadBytes;
+			
+			buffer.clear();
+			buffer.position(limit);
+			
+			int readBytes = channel.read(buffer);
+			
+			while(readBytes == 0)
+			{
+				readBytes = channel.read(buffer);
+			}
+			
+			if(readBytes < 0)
+			{
+				isEndOfFile = true;
+				return false;
+			}
+			
+			limit += readBytes;
+			
+			return true;
+		}
+		
+		private double parseDouble(int from, int to) throws IOException
+		{
+			int i = from;
+			boolean isNegative = false;
+			
+			if(bytes[i] == '-' || bytes[i] == '+')
+			{
+				isNegative = bytes[i] == '-';
+				i++;
+			}
+			
+			long mantissa = 0;
+			int digits = 0;
+			int exponent = 0;
+			boolean hasDigits = false;
+			boolean isFraction = false;
+			
+			for (; i < to; i++)
+			{
+				byte character = bytes[i];
+				
+				if(character >= '0' && character <= '9')
+				{
+					hasDigits = true;
+					
+					if(mantissa == 0 && character == '0')
+					{
+						// leading zeros are not significant
+					}
+					else if(digits < MAXIMUM_EXACT_DIGITS)
+					{
+						mantissa = mantissa * 10 + (character - '0');
+						digits++;
+					}
+					else
+					{
+						return parseDoubleSlowly(from, to);
+					}
+					
+					if(isFraction)
+					{
+						exponent--;
+					}
+				}
+				else if(character == '.' && !isFraction)
+				{
+					isFraction = true;
+				}
+				else
+				{
+					break;
+				}
+			}
+			
+			if(i < to)
+			{
+				if(!hasDigits || (bytes[i] != 'e' && bytes[i] != 'E'))
+				{
+					return parseDoubleSlowly(from, to);
+				}
+				
+				i++;
+				
+				boolean isExponentNegative = false;
+				
+				if(i < to && (bytes[i] == '-' || bytes[i] == '+'))
+				{
+					isExponentNegative = bytes[i] == '-';
+					i++;
+				}
+				
+				if(i == to || to - i > 3)
+				{
+					return parseDoubleSlowly(from, to);
+				}
+				
+				int explicitExponent = 0;
+				
+				for (; i < to; i++)
+				{
+					if(bytes[i] < '0' || bytes[i] > '9')
+					{
+						return parseDoubleSlowly(from, to);
+					}
+					
+					explicitExponent = explicitExponent * 10 + (bytes[i] - '0');
+				}
+				
+				exponent += isExponentNegative ? -explicitExponent : explicitExponent;
+			}
+			
+			if(!hasDigits)
+			{
+				return parseDoubleSlowly(from, to);
+			}
+			
+			double value;
+			
+			if(mantissa == 0)
+			{
+				value = 0.0;
+			}
+			else if(exponent >= 0 && exponent < POWERS_OF_TEN.length)
+			{
+				value = mantissa * POWERS_OF_TEN[exponent];
+			}
+			else if(exponent < 0 && -exponent < POWERS_OF_TEN.length)
+			{
+				value = mantissa / POWERS_OF_TEN[-exponent];
+			}
+			else
+			{
+				return parseDoubleSlowly(from, to);
+			}
+			
+			return isNegative ? -value : value;
+		}
+		
+		private double parseDoubleSlowly(int from, int to) throws IOException
+		{
+			String token = new String(bytes, from, to - from, StandardCharsets.US_ASCII);
+			
+			try
+			{
+				return Double.parseDouble(token);
+			}
+			catch(NumberFormatException e)
+			{
+				throw new IOException("Invalid number: " + token, e);
+			}
+		}
+		
+		private static boolean isWhitespace(byte character)
+		{
+			return character == ' ' || character == '\n' || character == '\r' || character == '\t' || character == '\f';
+		}
+	}
 }
@@ -0,0 +1,295 @@
+package br.ufrj.dcc.convexhull.action;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import br.ufrj.dcc.convexhull.model.ConvexHull;
+import br.ufrj.dcc.convexhull.model.PointSet;
+
+public class HullServerUnitTest
+{
+	@Test
+	public void serve() throws Exception
+	{
+		Random random = new Random(42);
+		List<PointSet> requests = new ArrayList<PointSet>();
+		
+		for (int request = 0; request < 300; request++)
+		{
+			int size = request % 50 == 0 ? 0 : random.nextInt(request % 7 == 0 ? 5000 : 60);
+			PointSet points = new PointSet(size);
+			
+			for (int i = 0; i < size; i++)
+			{
+				points.add(random.nextInt(100), random.nextInt(100));
+			}
+			
+			requests.add(points);
+		}
+		
+		// small batches, so the requests are spread over many of them
+		ByteBuffer responses = serve(new HullServer(ForkJoinPool.commonPool(), 1000, 5000, 1), requests);
+		
+		for (int request = 0; request < requests.size(); request++)
+		{
+			int[] expectedConvexHull = ConvexHull.monotoneChain(requests.get(request));
+			
+			assertEquals(12 + 4 * expectedConvexHull.length, responses.getInt());
+			assertEquals(1000L + request, responses.getLong());
+			
+			int[] convexHull = new int[responses.getInt()];
+			
+			for (int i = 0; i < convexHull.length; i++)
+			{
+				convexHull[i] = responses.getInt();
+			}
+			
+			assertEquals(requests.get(request).toPoints(expectedConvexHull), requests.get(request).toPoints(convexHull));
+		}
+		
+		assertFalse(responses.hasRemaining());
+	}
+	
+	@Test
+	public void serve_noRequests() throws Exception
+	{
+		assertArrayEquals(new byte[0], serve(new HullServer(), new ArrayList<PointSet>()).array());
+	}
+	
+	@Test(expected = IOException.class)
+	public void serve_invalidFrame() throws Exception
+	{
+		ByteBuffer frame = ByteBuffer.allocate(4 + 12).order(ByteOrder.LITTLE_ENDIAN);
+		frame.putInt(12).putLong(1L).putInt(0);
+		
+		new HullServer().serve(new ByteArrayInputStream(frame.array()), new ByteArrayOutputStream());
+	}
+	
+	@Test(expected = IOException.class)
+	public void serve_truncatedFrame() throws Exception
+	{
+		ByteBuffer frame = ByteBuffer.allocate(4 + 8).order(ByteOrder.LITTLE_ENDIAN);
+		frame.putInt(24).putLong(1L);
+		
+		new HullServer().serve(new ByteArrayInputStream(frame.array()), new ByteArrayOutputStream());
+	}
+	
+	@Test
+	public void serve_invalidFrameAfterRequests() throws Exception
+	{
+		ByteBuffer frames = ByteBuffer.allocate(2 * (4 + 8 + 16) + 4).order(ByteOrder.LITTLE_ENDIAN);
+		frames.putInt(8 + 16).putLong(1L).putDouble(1.0).putDouble(2.0);
+		frames.putInt(8 + 16).putLong(2L).putDouble(3.0).putDouble(4.0);
+		frames.putInt(12);
+		
+		ByteBuffer responses = serveUntilFailure(frames.array());
+		
+		for (long id = 1L; id <= 2L; id++)
+		{
+			assertEquals(12 + 4, responses.getInt());
+			assertEquals(id, responses.getLong());
+			assertEquals(1, responses.getInt());
+			assertEquals(0, responses.getInt());
+		}
+		
+		assertFalse(responses.hasRemaining());
+	}
+	
+	@Test
+	public void serve_nonFiniteCoordinate() throws Exception
+	{
+		ByteBuffer frames = ByteBuffer.allocate(3 * (4 + 8) + 16 + 2 * 32).order(ByteOrder.LITTLE_ENDIAN);
+		frames.putInt(8 + 16).putLong(1L).putDouble(1.0).putDouble(2.0);
+		frames.putInt(8 + 32).putLong(2L).putDouble(3.0).putDouble(Double.NaN).putDouble(0.0).putDouble(0.0);
+		frames.putInt(8 + 32).putLong(3L).putDouble(0.0).putDouble(0.0).putDouble(1.0).putDouble(1.0);
+		
+		ByteBuffer responses = serveUntilFailure(frames.array());
+		
+		// only the request before the invalid one is answered, the next one does not get its points
+		assertEquals(12 + 4, responses.getInt());
+		assertEquals(1L, responses.getLong());
+		assertEquals(1, responses.getInt());
+		assertEquals(0, responses.getInt());
+		assertFalse(responses.hasRemaining());
+	}
+	
+	@Test(expected = IOException.class)
+	public void serve_requestTooLarge() throws Exception
+	{
+		PointSet points = new PointSet();
+		
+		for (int i = 0; i < 11; i++)
+		{
+			points.add(i, i * i);
+		}
+		
+		serve(new HullServer(ForkJoinPool.commonPool(), 10), Arrays.asList(points));
+	}
+	
+	@Test
+	public void serve_connectionLimit() throws Exception
+	{
+		final HullServer server = new HullServer(ForkJoinPool.commonPool(), 1000, 1000, 1);
+		final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		
+		Thread serverThread = new Thread(new Runnable()
+		{
+			@Override
+			public void run()
+			{
+				try
+				{
+					server.serve(serverSocket);
+				}
+				catch (IOException e)
+				{
+					// the socket was closed
+				}
+			}
+		});
+		
+		serverThread.start();
+		
+		try
+		{
+			Socket first = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+			Socket second = new Socket(InetAddress.getLoopbackAddress(), serverSocket.getLocalPort());
+			
+			try
+			{
+				assertEquals(1L, request(first, 1L));
+				
+				// the second connection waits until the first one ends
+				second.setSoTimeout(300);
+				
+				try
+				{
+					request(second, 2L);
+					fail();
+				}
+				catch (SocketTimeoutException e)
+				{
+					// no response yet
+				}
+				
+				first.close();
+				second.setSoTimeout(10000);
+				
+				assertEquals(2L, readId(second));
+			}
+			finally
+			{
+				first.close();
+				second.close();
+			}
+		}
+		finally
+		{
+			serverSocket.close();
+			serverThread.join();
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidRequestSize() throws Exception
+	{
+		new HullServer(ForkJoinPool.commonPool(), 10, -1, 1);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidConnectionLimit() throws Exception
+	{
+		new HullServer(ForkJoinPool.commonPool(), 10, 10, 0);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidBatchSize() throws Exception
+	{
+		new HullServer(ForkJoinPool.commonPool(), 0);
+	}
+	
+	/**
+	 * Sends a request with a single point through a socket and reads the id of its response.
+	 */
+	private static long request(Socket socket, long id) throws IOException
+	{
+		ByteBuffer frame = ByteBuffer.allocate(4 + 8 + 16).order(ByteOrder.LITTLE_ENDIAN);
+		frame.putInt(8 + 16).putLong(id).putDouble(1.0).putDouble(2.0);
+		
+		socket.getOutputStream().write(frame.array());
+		socket.getOutputStream().flush();
+		
+		return readId(socket);
+	}
+	
+	private static long readId(Socket socket) throws IOException
+	{
+		byte[] response = new byte[4 + 12 + 4];
+		new DataInputStream(socket.getInputStream()).readFully(response);
+		
+		return ByteBuffer.wrap(response).order(ByteOrder.LITTLE_ENDIAN).getLong(4);
+	}
+	
+	private static ByteBuffer serveUntilFailure(byte[] frames) throws Exception
+	{
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		
+		try
+		{
+			new HullServer().serve(new ByteArrayInputStream(frames), output);
+			fail();
+		}
+		catch (IOException e)
+		{
+			// the invalid frame fails the stream
+		}
+		
+		return ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+	}
+	
+	private static ByteBuffer serve(HullServer server, List<PointSet> requests) throws IOException
+	{
+		ByteArrayOutputStream input = new ByteArrayOutputStream();
+		
+		for (int request = 0; request < requests.size(); request++)
+		{
+			PointSet points = requests.get(request);
+			ByteBuffer frame = ByteBuffer.allocate(4 + 8 + 16 * points.size()).order(ByteOrder.LITTLE_ENDIAN);
+			
+			frame.putInt(8 + 16 * points.size());
+			frame.putLong(1000L + request);
+			
+			for (int i = 0; i < points.size(); i++)
+			{
+				frame.putDouble(points.x(i)).putDouble(points.y(i));
+			}
+			
+			input.write(frame.array());
+		}
+		
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		server.serve(new ByteArrayInputStream(input.toByteArray()), output);
+		
+		return ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+	}
+}
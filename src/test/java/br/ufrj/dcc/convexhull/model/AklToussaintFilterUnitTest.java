@@ -0,0 +1,113 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class AklToussaintFilterUnitTest
+{
+	@Test
+	public void filter() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(4.0, 0.0);
+		Point c = new Point(4.0, 4.0);
+		Point d = new Point(0.0, 4.0);
+		Point e = new Point(2.0, 2.0);
+		Point f = new Point(1.0, 3.0);
+		Point g = new Point(2.0, 0.0);
+		
+		AklToussaintFilter filter = new AklToussaintFilter();
+		
+		assertEquals(asList(a, b, c, d, g), filter.filter(asList(a, b, c, d, e, f, g)));
+		assertEquals(2, filter.getDiscardedPoints());
+	}
+	
+	@Test
+	public void filter_UniformPoints() throws Exception
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet();
+		
+		for (int i = 0; i < 100000; i++)
+		{
+			points.add(random.nextDouble(), random.nextDouble());
+		}
+		
+		AklToussaintFilter filter = new AklToussaintFilter();
+		int[] survivors = filter.filter(points);
+		
+		assertTrue(filter.getDiscardedPoints() > 90000);
+		
+		PointSet survivingPoints = points.subset(survivors);
+		
+		assertEquals(points.toPoints(ConvexHull.monotoneChain(points)), survivingPoints.toPoints(ConvexHull.monotoneChain(survivingPoints)));
+	}
+	
+	@Test
+	public void filter_Parallel() throws Exception
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet();
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			points.add(random.nextGaussian(), random.nextGaussian());
+		}
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			AklToussaintFilter filter = new AklToussaintFilter();
+			AklToussaintFilter parallelFilter = new AklToussaintFilter(pool, 100);
+			
+			assertArrayEquals(filter.filter(points), parallelFilter.filter(points));
+			assertEquals(filter.getDiscardedPoints(), parallelFilter.getDiscardedPoints());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void filter_ChainedBehindBruteForce() throws Exception
+	{
+		Random random = new Random(42);
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 200; i++)
+		{
+			points.add(new Point((double) random.nextInt(100), (double) random.nextInt(100)));
+		}
+		
+		List<Point> survivors = new AklToussaintFilter().filter(points);
+		
+		assertEquals(ConvexHull.divideAndConquer(points), ConvexHull.divideAndConquer(survivors));
+		assertEquals(ConvexHull.bruteForce(points).size(), ConvexHull.bruteForce(survivors).size());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void filter_InvalidSequentialCutoff() throws Exception
+	{
+		ForkJoinPool pool = new ForkJoinPool(1);
+		
+		try
+		{
+			new AklToussaintFilter(pool, 0);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class BatchConvexHullUnitTest
+{
+	@Test
+	public void compute() throws Exception
+	{
+		double[] coordinates = {
+			0.0, 0.0,  4.0, 0.0,  2.0, 1.0,  4.0, 4.0,  0.0, 4.0,
+			1.0, 1.0,
+			3.0, 3.0,  3.0, 3.0,  1.0, 2.0
+		};
+		int[] offsets = {0, 5, 6, 6, 9};
+		int[] convexHulls = new int[9];
+		
+		int[] convexHullSizes = BatchConvexHull.compute(coordinates, offsets, convexHulls);
+		
+		assertArrayEquals(new int[] {4, 1, 0, 2}, convexHullSizes);
+		assertArrayEquals(new int[] {0, 1, 3, 4}, Arrays.copyOfRange(convexHulls, 0, 4));
+		assertEquals(5, convexHulls[5]);
+		assertArrayEquals(new int[] {8, 6}, Arrays.copyOfRange(convexHulls, 6, 8));
+	}
+	
+	@Test
+	public void compute_SameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		
+		int setCount = 2000;
+		int[] offsets = new int[setCount + 1];
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			offsets[set + 1] = offsets[set] + random.nextInt(100);
+		}
+		
+		double[] coordinates = new double[2 * offsets[setCount]];
+		
+		for (int i = 0; i < coordinates.length; i++)
+		{
+			coordinates[i] = random.nextInt(30);
+		}
+		
+		int[] convexHulls = new int[offsets[setCount]];
+		int[] convexHullSizes = new int[setCount];
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			BatchConvexHull.compute(coordinates, offsets, convexHulls, convexHullSizes, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			PointSet points = new PointSet();
+			
+			for (int i = offsets[set]; i < offsets[set + 1]; i++)
+			{
+				points.add(coordinates[2 * i], coordinates[2 * i + 1]);
+			}
+			
+			PointSet convexHull = new PointSet();
+			
+			for (int i = 0; i < convexHullSizes[set]; i++)
+			{
+				int index = convexHulls[offsets[set] + i];
+				convexHull.add(coordinates[2 * index], coordinates[2 * index + 1]);
+			}
+			
+			assertEquals(points.toPoints(ConvexHull.monotoneChain(points)), convexHull.toPoints(identity(convexHull.size())));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_DecreasingOffsets() throws Exception
+	{
+		BatchConvexHull.compute(new double[8], new int[] {0, 3, 2, 4}, new int[4]);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_OffsetsPastCoordinates() throws Exception
+	{
+		BatchConvexHull.compute(new double[8], new int[] {0, 5}, new int[5]);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_SmallHullBuffer() throws Exception
+	{
+		BatchConvexHull.compute(new double[8], new int[] {0, 4}, new int[3]);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_NaNCoordinate() throws Exception
+	{
+		double[] coordinates = new double[2 * 20];
+		
+		for (int i = 0; i < coordinates.length; i++)
+		{
+			coordinates[i] = i % 7;
+		}
+		
+		coordinates[5] = Double.NaN;
+		
+		BatchConvexHull.compute(coordinates, new int[] {0, 10, 20}, new int[20]);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_InfiniteCoordinate() throws Exception
+	{
+		BatchConvexHull.compute(new double[] {0.0, 0.0, Double.POSITIVE_INFINITY, 1.0, 2.0, 2.0}, new int[] {0, 3}, new int[3]);
+	}
+	
+	private static int[] identity(int size)
+	{
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
+}
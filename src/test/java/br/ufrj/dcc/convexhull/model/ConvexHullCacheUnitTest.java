@@ -0,0 +1,164 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class ConvexHullCacheUnitTest
+{
+	@Test
+	public void compute_HitsAndMisses() throws Exception
+	{
+		ConvexHullCache cache = new ConvexHullCache(10, 1000);
+		PointSet points = generate(new Random(42), 1000);
+		
+		int[] convexHull = cache.compute(points);
+		
+		assertArrayEquals(ConvexHull.monotoneChain(points), convexHull);
+		assertEquals(0, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		
+		// an equal set is a hit, and the cached hull can not be changed through the returned one
+		convexHull[0] = -1;
+		PointSet copy = new PointSet(points.xs.clone(), points.ys.clone());
+		
+		assertArrayEquals(ConvexHull.monotoneChain(points), cache.compute(copy));
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(1, cache.size());
+		
+		copy.xs[500] += 1e-9;
+		
+		assertArrayEquals(ConvexHull.monotoneChain(copy), cache.compute(copy));
+		assertEquals(2, cache.getMissCount());
+		assertEquals(2, cache.size());
+	}
+	
+	@Test
+	public void compute_EvictsLeastRecentlyUsed() throws Exception
+	{
+		ConvexHullCache cache = new ConvexHullCache(Algorithm.QUICKHULL, 2, 1000);
+		Random random = new Random(42);
+		PointSet a = generate(random, 100);
+		PointSet b = generate(random, 100);
+		PointSet c = generate(random, 100);
+		
+		cache.compute(a);
+		cache.compute(b);
+		cache.compute(a);
+		cache.compute(c);
+		
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictionCount());
+		
+		// b was the least recently used
+		cache.compute(a);
+		cache.compute(b);
+		
+		assertEquals(2, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		assertEquals(2, cache.getEvictionCount());
+	}
+	
+	@Test
+	public void compute_EvictsByWeight() throws Exception
+	{
+		PointSet square = new PointSet(new double[] {0.0, 1.0, 1.0, 0.0, 0.5}, new double[] {0.0, 0.0, 1.0, 1.0, 0.5});
+		PointSet triangle = new PointSet(new double[] {0.0, 1.0, 0.0}, new double[] {0.0, 0.0, 1.0});
+		PointSet otherTriangle = new PointSet(new double[] {0.0, 2.0, 0.0}, new double[] {0.0, 0.0, 2.0});
+		ConvexHullCache cache = new ConvexHullCache(10, 7);
+		
+		cache.compute(square);
+		cache.compute(triangle);
+		
+		assertEquals(7, cache.weight());
+		
+		cache.compute(otherTriangle);
+		
+		assertEquals(2, cache.size());
+		assertEquals(6, cache.weight());
+		assertEquals(1, cache.getEvictionCount());
+		
+		// a hull heavier than the whole cache is not kept
+		cache.compute(generate(new Random(42), 1000));
+		
+		assertEquals(2, cache.size());
+	}
+	
+	@Test
+	public void compute_ConcurrentRequestsComputeOnce() throws Exception
+	{
+		final ConvexHullCache cache = new ConvexHullCache(Algorithm.BRUTE_FORCE, 10, 1000);
+		final PointSet points = generate(new Random(42), 400);
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		List<Future<int[]>> results = new ArrayList<Future<int[]>>();
+		
+		for (int i = 0; i < 8; i++)
+		{
+			results.add(executor.submit(new Callable<int[]>()
+			{
+				@Override
+				public int[] call() throws Exception
+				{
+					start.await();
+					return cache.compute(points);
+				}
+			}));
+		}
+		
+		start.countDown();
+		
+		for (Future<int[]> result : results)
+		{
+			assertArrayEquals(ConvexHull.bruteForce(points), result.get());
+		}
+		
+		executor.shutdown();
+		
+		assertEquals(1, cache.getMissCount());
+		assertEquals(7, cache.getHitCount());
+	}
+	
+	@Test
+	public void fingerprint() throws Exception
+	{
+		PointSet points = generate(new Random(42), 100);
+		PointSet swapped = new PointSet(points.ys.clone(), points.xs.clone());
+		PointSet prefix = new PointSet(points.xs.clone(), points.ys.clone());
+		prefix.size = 99;
+		
+		assertEquals(ConvexHullCache.fingerprint(points), ConvexHullCache.fingerprint(new PointSet(points.xs.clone(), points.ys.clone())));
+		assertNotEquals(ConvexHullCache.fingerprint(points), ConvexHullCache.fingerprint(swapped));
+		assertNotEquals(ConvexHullCache.fingerprint(points), ConvexHullCache.fingerprint(prefix));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidMaximumSize() throws Exception
+	{
+		new ConvexHullCache(0, 10);
+	}
+	
+	private static PointSet generate(Random random, int size)
+	{
+		PointSet points = new PointSet(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			points.add(random.nextDouble(), random.nextDouble());
+		}
+		
+		return points;
+	}
+}
@@ -3,13 +3,16 @@ package br.ufrj.dcc.convexhull.model;
 import static br.ufrj.dcc.convexhull.model.ConvexHull.IS_FIRST_HALF;
 import static br.ufrj.dcc.convexhull.model.ConvexHull.IS_NOT_FIRST_HALF;
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 
@@ -154,4 +157,429 @@ public class ConvexHullUnitTest
 		assertEquals(b, points.get(2));
 		assertEquals(a, points.get(3));
 	}
+	
+	@Test
+	public void monotoneChain() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(4.0, 0.0);
+		Point c = new Point(4.0, 4.0);
+		Point d = new Point(0.0, 4.0);
+		Point e = new Point(2.0, 2.0);
+		Point f = new Point(2.0, 0.0);
+		Point g = new Point(1.0, 3.0);
+		
+		List<Point> points = new ArrayList<Point>();
+		points.addAll(asList(e, c, f, a, g, d, b));
+		
+		List<Point> convexHull = ConvexHull.monotoneChain(points);
+		
+		assertEquals(asList(a, b, c, d), convexHull);
+		assertEquals(asList(e, c, f, a, g, d, b), points);
+	}
+	
+	@Test
+	public void monotoneChain_degenerateSets() throws Exception
+	{
+		Point a = new Point(1.0, 1.0);
+		Point b = new Point(2.0, 2.0);
+		Point c = new Point(3.0, 3.0);
+		
+		assertEquals(new ArrayList<Point>(), ConvexHull.monotoneChain(new ArrayList<Point>()));
+		assertEquals(asList(a), ConvexHull.monotoneChain(asList(a, new Point(1.0, 1.0))));
+		assertEquals(asList(a, c), ConvexHull.monotoneChain(asList(b, c, a)));
+	}
+	
+	@Test
+	public void divideAndConquer() throws Exception
+	{
+		Point a = new Point(0.0, 3.0);
+		Point b = new Point(1.0, 1.0);
+		Point c = new Point(2.0, 2.0);
+		Point d = new Point(4.0, 4.0);
+		Point e = new Point(0.0, 0.0);
+		Point f = new Point(1.0, 2.0);
+		Point g = new Point(3.0, 1.0);
+		Point h = new Point(3.0, 3.0);
+		
+		List<Point> points = new ArrayList<Point>();
+		points.addAll(asList(a, b, c, d, e, f, g, h));
+		
+		List<Point> convexHull = ConvexHull.divideAndConquer(points, 1);
+		
+		assertEquals(asList(e, g, d, a), convexHull);
+		assertEquals(asList(a, b, c, d, e, f, g, h), points);
+	}
+	
+	@Test
+	public void divideAndConquer_sameAsMonotoneChain() throws Exception
+	{
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 200; i++)
+		{
+			points.add(new Point((double) ((i * 37) % 23), (double) ((i * 11) % 17)));
+		}
+		
+		List<Point> expectedConvexHull = ConvexHull.monotoneChain(points);
+		
+		for (int baseCaseThreshold = 1; baseCaseThreshold <= 8; baseCaseThreshold++)
+		{
+			assertEquals(expectedConvexHull, ConvexHull.divideAndConquer(points, baseCaseThreshold));
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void divideAndConquer_invalidBaseCaseThreshold() throws Exception
+	{
+		ConvexHull.divideAndConquer(new ArrayList<Point>(), 0);
+	}
+	
+	@Test
+	public void mergeHulls_sameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(7);
+		
+		for (int test = 0; test < 200; test++)
+		{
+			PointSet points = new PointSet(40);
+			
+			for (int i = 0; i < 40; i++)
+			{
+				points.add(random.nextInt(12), random.nextInt(12));
+			}
+			
+			int[] sortedIndices = IndexSort.sortedIndices(points);
+			int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, sortedIndices.length);
+			int middle = 1 + random.nextInt(distinctPoints - 1);
+			
+			int[] firstConvexHull = ConvexHull.monotoneChainOfSortedIndices(points, sortedIndices, 0, middle);
+			int[] secondConvexHull = ConvexHull.monotoneChainOfSortedIndices(points, sortedIndices, middle, distinctPoints);
+			int[] expectedConvexHull = ConvexHull.monotoneChainOfSortedIndices(points, sortedIndices, 0, distinctPoints);
+			
+			// both hulls in the same array, between unrelated values
+			int[] convexHulls = new int[firstConvexHull.length + secondConvexHull.length + 3];
+			Arrays.fill(convexHulls, -1);
+			System.arraycopy(firstConvexHull, 0, convexHulls, 1, firstConvexHull.length);
+			System.arraycopy(secondConvexHull, 0, convexHulls, firstConvexHull.length + 2, secondConvexHull.length);
+			
+			int[] convexHull = new int[convexHulls.length + 2];
+			int convexHullSize = ConvexHull.mergeHulls(points, convexHulls, 1, firstConvexHull.length, convexHulls, firstConvexHull.length + 2, secondConvexHull.length, convexHull, 2);
+			
+			assertArrayEquals(expectedConvexHull, Arrays.copyOfRange(convexHull, 2, 2 + convexHullSize));
+			assertArrayEquals(expectedConvexHull, ConvexHull.mergeHulls(points, firstConvexHull, secondConvexHull));
+		}
+	}
+	
+	@Test
+	public void parallelDivideAndConquer() throws Exception
+	{
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 5000; i++)
+		{
+			points.add(new Point((double) ((i * 7919) % 1013), (double) ((i * 104729) % 997)));
+		}
+		
+		List<Point> expectedConvexHull = ConvexHull.divideAndConquer(points);
+		
+		assertEquals(expectedConvexHull, ConvexHull.parallelDivideAndConquer(points));
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			assertEquals(expectedConvexHull, ConvexHull.parallelDivideAndConquer(points, 64, pool));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void pointSetOverloads() throws Exception
+	{
+		PointSet points = new PointSet();
+		points.add(0.0, 3.0);
+		points.add(1.0, 1.0);
+		points.add(2.0, 2.0);
+		points.add(4.0, 4.0);
+		points.add(0.0, 0.0);
+		points.add(1.0, 2.0);
+		points.add(3.0, 1.0);
+		points.add(3.0, 3.0);
+		points.add(4.0, 4.0);
+		
+		int[] expectedConvexHull = {4, 6, 3, 0};
+		
+		assertArrayEquals(expectedConvexHull, ConvexHull.monotoneChain(points));
+		assertArrayEquals(expectedConvexHull, ConvexHull.divideAndConquer(points, 1));
+		assertArrayEquals(expectedConvexHull, ConvexHull.bruteForce(points));
+		
+		ForkJoinPool pool = new ForkJoinPool(2);
+		
+		try
+		{
+			assertArrayEquals(expectedConvexHull, ConvexHull.parallelDivideAndConquer(points, 2, pool));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void bruteForce_degenerateSets() throws Exception
+	{
+		PointSet points = new PointSet();
+		assertArrayEquals(new int[0], ConvexHull.bruteForce(points));
+		
+		points.add(1.0, 1.0);
+		assertArrayEquals(new int[] {0}, ConvexHull.bruteForce(points));
+		
+		points.add(1.0, 1.0);
+		points.add(1.0, 1.0);
+		assertArrayEquals(new int[] {0}, ConvexHull.bruteForce(points));
+		
+		points.add(3.0, 3.0);
+		points.add(0.0, 0.0);
+		points.add(2.0, 2.0);
+		points.add(0.0, 0.0);
+		assertArrayEquals(new int[] {4, 3}, ConvexHull.bruteForce(points));
+	}
+	
+	@Test
+	public void bruteForce_sameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int test = 0; test < 500; test++)
+		{
+			PointSet points = new PointSet();
+			int size = random.nextInt(30);
+			
+			// a small grid, so there are many repeated and collinear points
+			for (int i = 0; i < size; i++)
+			{
+				points.add(random.nextInt(5), random.nextInt(5));
+			}
+			
+			assertEquals(points.toPoints(ConvexHull.monotoneChain(points)), points.toPoints(ConvexHull.bruteForce(points)));
+		}
+	}
+	
+	@Test
+	public void chan_sameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			points.add(new Point(random.nextGaussian(), random.nextGaussian()));
+		}
+		
+		assertEquals(ConvexHull.monotoneChain(points), ConvexHull.chan(points));
+		
+		List<Point> circle = new ArrayList<Point>();
+		
+		for (int i = 0; i < 5000; i++)
+		{
+			double angle = random.nextDouble() * 2 * Math.PI;
+			circle.add(new Point(Math.cos(angle), Math.sin(angle)));
+		}
+		
+		assertEquals(ConvexHull.monotoneChain(circle), ConvexHull.chan(circle));
+	}
+	
+	@Test
+	public void quickhull_sameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			points.add(new Point(random.nextGaussian(), random.nextGaussian()));
+		}
+		
+		assertEquals(ConvexHull.monotoneChain(points), ConvexHull.quickhull(points));
+	}
+	
+	@Test
+	public void quickhull_nearlyCollinearPoints() throws Exception
+	{
+		// the inexact distances to the line of the first edge put the point 4 further than the point 3
+		PointSet points = new PointSet();
+		points.add(0.7698994130427734, 0.49139983229793527);
+		points.add(0.29847657192987576, 0.3567075919799645);
+		points.add(0.27643297216370766, 0.3504094206182022);
+		points.add(0.7627581473968829, 0.48935947068482366);
+		points.add(0.2995309022750212, 0.3570088292214346);
+		
+		assertArrayEquals(new int[] {2, 1, 3, 0}, ConvexHull.monotoneChain(points));
+		assertArrayEquals(new int[] {2, 1, 3, 0}, ConvexHull.quickhull(points));
+		
+		Random random = new Random(42);
+		
+		for (int test = 0; test < 500; test++)
+		{
+			points = nearlyCollinearPoints(random, 5 + random.nextInt(test % 10 == 0 ? 2000 : 40));
+			
+			assertArrayEquals(ConvexHull.monotoneChain(points), ConvexHull.quickhull(points));
+		}
+	}
+	
+	@Test
+	public void parallelQuickhull() throws Exception
+	{
+		Random random = new Random(42);
+		List<Point> points = new ArrayList<Point>();
+		
+		// clustered points, with repeated and collinear points on the hull
+		for (int i = 0; i < 5000; i++)
+		{
+			int cluster = random.nextInt(5);
+			points.add(new Point(Math.rint(cluster * 100 + random.nextGaussian() * 10), Math.rint((cluster % 2) * 50 + random.nextGaussian() * 10)));
+		}
+		
+		List<Point> expectedConvexHull = ConvexHull.monotoneChain(points);
+		
+		assertEquals(expectedConvexHull, ConvexHull.parallelQuickhull(points));
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			assertEquals(expectedConvexHull, ConvexHull.parallelQuickhull(points, 16, pool));
+			assertEquals(0, ConvexHull.parallelQuickhull(new ArrayList<Point>(), 16, pool).size());
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void parallelQuickhull_nearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(7);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			for (int test = 0; test < 500; test++)
+			{
+				PointSet points = nearlyCollinearPoints(random, 5 + random.nextInt(test % 10 == 0 ? 2000 : 40));
+				List<Point> expectedConvexHull = points.toPoints(ConvexHull.monotoneChain(points));
+				
+				// a small cutoff, so the furthest points are searched and compared across tasks
+				assertEquals(expectedConvexHull, points.toPoints(ConvexHull.parallelQuickhull(points, 8, pool)));
+				assertEquals(expectedConvexHull, points.toPoints(ConvexHull.compute(points, Algorithm.PARALLEL_QUICKHULL)));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void parallelQuickhull_invalidSequentialCutoff() throws Exception
+	{
+		ForkJoinPool pool = new ForkJoinPool(1);
+		
+		try
+		{
+			ConvexHull.parallelQuickhull(new ArrayList<Point>(), 0, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	@Test
+	public void outputSensitiveAlgorithms_collinearAndRepeatedPoints() throws Exception
+	{
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 500; i++)
+		{
+			points.add(new Point((double) ((i * 37) % 9), (double) ((i * 11) % 7)));
+		}
+		
+		List<Point> expectedConvexHull = ConvexHull.monotoneChain(points);
+		
+		assertEquals(4, expectedConvexHull.size());
+		assertEquals(expectedConvexHull, ConvexHull.chan(points));
+		assertEquals(expectedConvexHull, ConvexHull.quickhull(points));
+		
+		List<Point> line = asList(new Point(2.0, 2.0), new Point(0.0, 0.0), new Point(1.0, 1.0), new Point(0.0, 0.0));
+		
+		assertEquals(asList(new Point(0.0, 0.0), new Point(2.0, 2.0)), ConvexHull.chan(line));
+		assertEquals(asList(new Point(0.0, 0.0), new Point(2.0, 2.0)), ConvexHull.quickhull(line));
+		assertEquals(0, ConvexHull.chan(new ArrayList<Point>()).size());
+		assertEquals(0, ConvexHull.quickhull(new ArrayList<Point>()).size());
+	}
+	
+	@Test
+	public void compute() throws Exception
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet();
+		
+		for (int i = 0; i < 100; i++)
+		{
+			points.add(random.nextDouble(), random.nextDouble());
+		}
+		
+		List<Point> expectedConvexHull = points.toPoints(ConvexHull.monotoneChain(points));
+		
+		for (Algorithm algorithm : Algorithm.values())
+		{
+			assertEquals(expectedConvexHull, points.toPoints(ConvexHull.compute(points, algorithm)));
+			assertEquals(expectedConvexHull, points.toPoints(ConvexHull.compute(points, algorithm, new AklToussaintFilter())));
+		}
+	}
+	
+	@Test
+	public void compute_nearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int test = 0; test < 300; test++)
+		{
+			PointSet points = nearlyCollinearPoints(random, 5 + random.nextInt(test % 10 == 0 ? 2000 : 60));
+			List<Point> expectedConvexHull = points.toPoints(ConvexHull.monotoneChain(points));
+			
+			for (Algorithm algorithm : Algorithm.values())
+			{
+				// the brute force is too slow for the large sets
+				if(algorithm != Algorithm.BRUTE_FORCE || points.size() <= 100)
+				{
+					assertEquals(algorithm.name(), expectedConvexHull, points.toPoints(ConvexHull.compute(points, algorithm)));
+				}
+			}
+		}
+	}
+	
+	/**
+	 * @return points on a random line, whose coordinates are rounded off the line
+	 */
+	private static PointSet nearlyCollinearPoints(Random random, int size)
+	{
+		double slope = random.nextDouble();
+		double intercept = random.nextDouble();
+		PointSet points = new PointSet(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			double x = random.nextDouble();
+			points.add(x, intercept + slope * x);
+		}
+		
+		return points;
+	}
 }
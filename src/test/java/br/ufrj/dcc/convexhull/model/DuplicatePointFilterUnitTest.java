@@ -0,0 +1,52 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DuplicatePointFilterUnitTest
+{
+	@Test
+	public void filter() throws Exception
+	{
+		PointSet points = new PointSet(new double[] {0.5, 0.25, 0.5, -0.0, 0.0, 0.25}, new double[] {0.5, 0.5, 0.5, 1.0, 1.0, 0.75});
+		
+		assertArrayEquals(new int[] {0, 1, 3, 5}, new DuplicatePointFilter().filter(points));
+	}
+	
+	@Test
+	public void filter_PointList() throws Exception
+	{
+		Point a = new Point(0.1, 0.2);
+		Point b = new Point(0.2, 0.1);
+		
+		assertEquals(asList(a, b), new DuplicatePointFilter().filter(asList(a, b, new Point(0.1, 0.2), b)));
+	}
+	
+	@Test
+	public void filter_SameAsSorting() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int size = 0; size < 300; size++)
+		{
+			PointSet points = new PointSet(size);
+			
+			for (int i = 0; i < size; i++)
+			{
+				points.add(random.nextInt(10) * 0.1, random.nextInt(10) * 0.1);
+			}
+			
+			int[] sortedIndices = IndexSort.sortedIndices(points);
+			int distinctPoints = IndexSort.removeRepeatedPoints(points, sortedIndices, 0, size);
+			int[] filteredPoints = new DuplicatePointFilter().filter(points);
+			
+			assertEquals(distinctPoints, filteredPoints.length);
+			assertEquals(points.toPoints(ConvexHull.monotoneChain(points)), points.toPoints(ConvexHull.compute(points, Algorithm.MONOTONE_CHAIN, new DuplicatePointFilter())));
+		}
+	}
+}
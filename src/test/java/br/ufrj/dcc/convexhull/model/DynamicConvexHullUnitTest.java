@@ -0,0 +1,124 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class DynamicConvexHullUnitTest
+{
+	@Test
+	public void addAndRemove() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(4.0, 0.0);
+		Point c = new Point(4.0, 4.0);
+		Point d = new Point(0.0, 4.0);
+		Point e = new Point(2.0, 2.0);
+		Point f = new Point(2.0, -1.0);
+		
+		DynamicConvexHull convexHull = new DynamicConvexHull();
+		
+		convexHull.add(a);
+		convexHull.add(b);
+		assertEquals(asList(a, b), convexHull.getConvexHull());
+		
+		convexHull.add(c);
+		convexHull.add(d);
+		convexHull.add(e);
+		convexHull.add(f);
+		assertEquals(asList(a, f, b, c, d), convexHull.getConvexHull());
+		assertEquals(6, convexHull.size());
+		
+		assertTrue(convexHull.remove(f));
+		assertEquals(asList(a, b, c, d), convexHull.getConvexHull());
+		
+		assertTrue(convexHull.remove(c));
+		assertEquals(asList(a, b, d), convexHull.getConvexHull());
+		
+		assertFalse(convexHull.remove(c));
+		assertFalse(convexHull.contains(c));
+		assertTrue(convexHull.contains(e));
+		assertEquals(4, convexHull.size());
+	}
+	
+	@Test
+	public void remove_RepeatedPoint() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(4.0, 0.0);
+		Point c = new Point(2.0, 3.0);
+		
+		DynamicConvexHull convexHull = new DynamicConvexHull();
+		
+		convexHull.add(a);
+		convexHull.add(b);
+		convexHull.add(c);
+		convexHull.add(new Point(2.0, 3.0));
+		
+		assertTrue(convexHull.remove(c));
+		assertEquals(asList(a, b, c), convexHull.getConvexHull());
+		
+		assertTrue(convexHull.remove(c));
+		assertEquals(asList(a, b), convexHull.getConvexHull());
+	}
+	
+	@Test
+	public void addAndRemove_SameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		
+		DynamicConvexHull convexHull = new DynamicConvexHull();
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 2000; i++)
+		{
+			if(points.isEmpty() || random.nextInt(3) > 0)
+			{
+				Point point = new Point((double) random.nextInt(20), (double) random.nextInt(20));
+				
+				points.add(point);
+				convexHull.add(point);
+			}
+			else
+			{
+				assertTrue(convexHull.remove(points.remove(random.nextInt(points.size()))));
+			}
+			
+			assertEquals(ConvexHull.monotoneChain(points), convexHull.getConvexHull());
+		}
+	}
+	
+	@Test
+	public void addAndRemove_NearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(42);
+		
+		DynamicConvexHull convexHull = new DynamicConvexHull();
+		List<Point> points = new ArrayList<Point>();
+		
+		// points on a line, rounded off it, so many edges of the hulls are nearly parallel
+		for (int i = 0; i < 300; i++)
+		{
+			double x = random.nextDouble();
+			Point point = new Point(x, 0.1 + 0.7 * x);
+			
+			points.add(point);
+			convexHull.add(point);
+			
+			assertEquals(ConvexHull.monotoneChain(points), convexHull.getConvexHull());
+		}
+		
+		while(!points.isEmpty())
+		{
+			assertTrue(convexHull.remove(points.remove(random.nextInt(points.size()))));
+			assertEquals(ConvexHull.monotoneChain(points), convexHull.getConvexHull());
+		}
+	}
+}
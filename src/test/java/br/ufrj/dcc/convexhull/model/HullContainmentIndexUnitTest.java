@@ -0,0 +1,147 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class HullContainmentIndexUnitTest
+{
+	@Test
+	public void contains() throws Exception
+	{
+		HullContainmentIndex index = new HullContainmentIndex(asList(new Point(0.0, 0.0), new Point(4.0, 0.0), new Point(4.0, 4.0), new Point(0.0, 4.0)));
+		
+		assertEquals(4, index.size());
+		assertTrue(index.contains(2.0, 2.0));
+		assertTrue(index.contains(new Point(1.0, 3.0)));
+		
+		// vertices and edges
+		assertTrue(index.contains(0.0, 0.0));
+		assertTrue(index.contains(4.0, 4.0));
+		assertTrue(index.contains(2.0, 0.0));
+		assertTrue(index.contains(0.0, 2.0));
+		assertTrue(index.contains(4.0, 1.0));
+		
+		assertFalse(index.contains(5.0, 0.0));
+		assertFalse(index.contains(0.0, 5.0));
+		assertFalse(index.contains(-1.0, -1.0));
+		assertFalse(index.contains(4.0, 4.5));
+		assertFalse(index.contains(2.0, -0.1));
+	}
+	
+	@Test
+	public void contains_degenerateHulls() throws Exception
+	{
+		assertFalse(new HullContainmentIndex(new ArrayList<Point>()).contains(0.0, 0.0));
+		
+		HullContainmentIndex point = new HullContainmentIndex(asList(new Point(1.0, 2.0)));
+		
+		assertTrue(point.contains(1.0, 2.0));
+		assertFalse(point.contains(1.0, 2.5));
+		
+		HullContainmentIndex segment = new HullContainmentIndex(asList(new Point(0.0, 0.0), new Point(2.0, 2.0)));
+		
+		assertTrue(segment.contains(1.0, 1.0));
+		assertTrue(segment.contains(2.0, 2.0));
+		assertFalse(segment.contains(3.0, 3.0));
+		assertFalse(segment.contains(1.0, 0.0));
+	}
+	
+	@Test
+	public void contains_sameAsEveryEdge() throws Exception
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet(200);
+		
+		for (int i = 0; i < 200; i++)
+		{
+			points.add(random.nextInt(50), random.nextInt(50));
+		}
+		
+		int[] convexHull = ConvexHull.monotoneChain(points);
+		HullContainmentIndex index = new HullContainmentIndex(points, convexHull);
+		
+		// the whole grid around the points, so many queries are on the boundary
+		for (int x = -2; x < 52; x++)
+		{
+			for (int y = -2; y < 52; y++)
+			{
+				boolean isInside = true;
+				
+				for (int i = 0; i < convexHull.length; i++)
+				{
+					int a = convexHull[i];
+					int b = convexHull[(i + 1) % convexHull.length];
+					
+					if(ConvexHull.crossProduct(points.x(a), points.y(a), points.x(b), points.y(b), x, y) < 0.0)
+					{
+						isInside = false;
+					}
+				}
+				
+				assertEquals("(" + x + ", " + y + ")", isInside, index.contains(x, y));
+			}
+		}
+	}
+	
+	@Test
+	public void contains_batch() throws Exception
+	{
+		Random random = new Random(7);
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 1000; i++)
+		{
+			points.add(new Point(random.nextGaussian(), random.nextGaussian()));
+		}
+		
+		HullContainmentIndex index = new HullContainmentIndex(ConvexHull.monotoneChain(points));
+		
+		double[] coordinates = new double[2 * 20000];
+		boolean[] expectedResults = new boolean[20000];
+		int expectedCount = 0;
+		
+		for (int i = 0; i < expectedResults.length; i++)
+		{
+			coordinates[2 * i] = 4.0 * random.nextGaussian();
+			coordinates[2 * i + 1] = 4.0 * random.nextGaussian();
+			expectedResults[i] = index.contains(coordinates[2 * i], coordinates[2 * i + 1]);
+			
+			if(expectedResults[i])
+			{
+				expectedCount++;
+			}
+		}
+		
+		boolean[] results = new boolean[expectedResults.length];
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			assertEquals(expectedCount, index.contains(coordinates, results, pool));
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		assertArrayEquals(expectedResults, results);
+		assertArrayEquals(expectedResults, index.contains(coordinates));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void contains_oddCoordinates() throws Exception
+	{
+		new HullContainmentIndex(new ArrayList<Point>()).contains(new double[3]);
+	}
+}
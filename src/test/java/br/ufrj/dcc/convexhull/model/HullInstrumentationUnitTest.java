@@ -0,0 +1,264 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class HullInstrumentationUnitTest
+{
+	@Test
+	public void listener() throws Exception
+	{
+		PointSet points = randomPoints(1000);
+		final List<HullMetrics> reports = new ArrayList<HullMetrics>();
+		
+		HullListener listener = new HullListener()
+		{
+			@Override
+			public void hullComputed(HullMetrics metrics)
+			{
+				reports.add(metrics);
+			}
+		};
+		
+		HullInstrumentation.addListener(listener);
+		
+		int[] convexHull;
+		
+		try
+		{
+			convexHull = ConvexHull.divideAndConquer(points, 16);
+		}
+		finally
+		{
+			assertTrue(HullInstrumentation.removeListener(listener));
+		}
+		
+		assertEquals(1, reports.size());
+		
+		HullMetrics metrics = reports.get(0);
+		
+		assertEquals(Algorithm.DIVIDE_AND_CONQUER, metrics.getAlgorithm());
+		assertEquals(1000, metrics.getInputSize());
+		assertEquals(convexHull.length, metrics.getHullSize());
+		// 1000 points halved until at most 16 are left
+		assertEquals(6, metrics.getRecursionDepth());
+		
+		long phaseNanos = 0;
+		
+		for (HullMetrics.Phase phase : HullMetrics.Phase.values())
+		{
+			assertTrue(metrics.getPhaseNanos(phase) >= 0);
+			phaseNanos += metrics.getPhaseNanos(phase);
+		}
+		
+		assertTrue(metrics.getPhaseNanos(HullMetrics.Phase.SORT) > 0);
+		assertTrue(phaseNanos <= metrics.getTotalNanos());
+		
+		if(HullInstrumentation.isCountingPredicates())
+		{
+			assertTrue(metrics.getOrientationCount() > 0);
+			assertTrue(metrics.getExactFallbackCount() >= 0);
+		}
+		else
+		{
+			assertEquals(-1, metrics.getOrientationCount());
+			assertEquals(-1, metrics.getExactFallbackCount());
+		}
+		
+		// no report once the listener is gone
+		ConvexHull.divideAndConquer(points, 16);
+		
+		assertEquals(1, reports.size());
+		assertFalse(HullInstrumentation.removeListener(listener));
+	}
+	
+	@Test
+	public void listener_everyAlgorithm() throws Exception
+	{
+		PointSet points = randomPoints(200);
+		final List<HullMetrics> reports = new ArrayList<HullMetrics>();
+		
+		HullListener listener = new HullListener()
+		{
+			@Override
+			public void hullComputed(HullMetrics metrics)
+			{
+				reports.add(metrics);
+			}
+		};
+		
+		HullInstrumentation.addListener(listener);
+		
+		try
+		{
+			for (Algorithm algorithm : Algorithm.values())
+			{
+				reports.clear();
+				int[] convexHull = ConvexHull.compute(points, algorithm);
+				
+				assertEquals(algorithm.name(), 1, reports.size());
+				
+				HullMetrics metrics = reports.get(0);
+				
+				assertEquals(algorithm, metrics.getAlgorithm());
+				assertEquals(200, metrics.getInputSize());
+				assertEquals(convexHull.length, metrics.getHullSize());
+				assertTrue(metrics.getTotalNanos() > 0);
+				
+				if(HullInstrumentation.isCountingPredicates() && !algorithm.isParallel())
+				{
+					assertTrue(algorithm.name(), metrics.getOrientationCount() > 0);
+					assertTrue(algorithm.name(), metrics.getExactFallbackCount() >= 0);
+				}
+				else
+				{
+					assertEquals(-1, metrics.getOrientationCount());
+					assertEquals(-1, metrics.getExactFallbackCount());
+				}
+				
+				reports.clear();
+				convexHull = ConvexHull.compute(points, algorithm, new AklToussaintFilter());
+				
+				assertEquals(algorithm.name(), 1, reports.size());
+				assertEquals(convexHull.length, reports.get(0).getHullSize());
+			}
+		}
+		finally
+		{
+			assertTrue(HullInstrumentation.removeListener(listener));
+		}
+	}
+	
+	@Test
+	public void sameHullWithListener() throws Exception
+	{
+		PointSet points = randomPoints(500);
+		int[] expectedConvexHull = ConvexHull.divideAndConquer(points, 4);
+		
+		HullListener listener = new HullListener()
+		{
+			@Override
+			public void hullComputed(HullMetrics metrics)
+			{
+			}
+		};
+		
+		HullInstrumentation.addListener(listener);
+		
+		try
+		{
+			assertEquals(expectedConvexHull.length, ConvexHull.divideAndConquer(points, 4).length);
+			assertEquals(ConvexHull.monotoneChain(points.toPoints(expectedConvexHull)), points.toPoints(ConvexHull.divideAndConquer(points, 4)));
+		}
+		finally
+		{
+			HullInstrumentation.removeListener(listener);
+		}
+	}
+	
+	@Test
+	public void flightRecorderEvent() throws Exception
+	{
+		PointSet points = randomPoints(2000);
+		File file = File.createTempFile("hull", ".jfr");
+		file.deleteOnExit();
+		
+		Recording recording = new Recording();
+		
+		try
+		{
+			recording.enable(HullEvent.class).withoutThreshold();
+			recording.start();
+			
+			ConvexHull.divideAndConquer(points, 16);
+			
+			recording.stop();
+			recording.dump(file.toPath());
+		}
+		finally
+		{
+			recording.close();
+		}
+		
+		int eventCount = 0;
+		
+		for (RecordedEvent event : RecordingFile.readAllEvents(file.toPath()))
+		{
+			if(event.getEventType().getName().equals("br.ufrj.dcc.convexhull.HullComputation"))
+			{
+				assertEquals("DIVIDE_AND_CONQUER", event.getString("algorithm"));
+				assertEquals(2000, event.getInt("inputSize"));
+				eventCount++;
+			}
+		}
+		
+		assertEquals(1, eventCount);
+	}
+	
+	@Test
+	public void disabled_loadsNoFlightRecorder() throws Exception
+	{
+		// a new JVM, as the other tests of this class start the flight recorder
+		Process process = new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+				"-cp", System.getProperty("java.class.path"), "-Xlog:class+load=info:stdout",
+				DisabledInstrumentation.class.getName()).redirectErrorStream(true).start();
+		
+		List<String> loadedClasses = new ArrayList<String>();
+		BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+		
+		for (String line = reader.readLine(); line != null; line = reader.readLine())
+		{
+			loadedClasses.add(line);
+		}
+		
+		assertEquals(0, process.waitFor());
+		
+		boolean isConvexHullLoaded = false;
+		
+		for (String line : loadedClasses)
+		{
+			assertFalse(line, line.contains("jdk.jfr.internal"));
+			isConvexHullLoaded |= line.contains(ConvexHull.class.getName() + " ");
+		}
+		
+		assertTrue(isConvexHullLoaded);
+	}
+	
+	/**
+	 * Computes a hull without listeners nor recordings, as the one-shot command line does.
+	 */
+	public static class DisabledInstrumentation
+	{
+		public static void main(String[] args)
+		{
+			ConvexHull.divideAndConquer(randomPoints(10).toPoints(new int[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9}));
+		}
+	}
+	
+	private static PointSet randomPoints(int size)
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet(size);
+		
+		for (int i = 0; i < size; i++)
+		{
+			points.add(random.nextGaussian(), random.nextGaussian());
+		}
+		
+		return points;
+	}
+}
@@ -0,0 +1,88 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HullWorkspaceUnitTest
+{
+	@Test
+	public void monotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		HullWorkspace workspace = new HullWorkspace(4);
+		
+		for (int size = 0; size < 200; size++)
+		{
+			PointSet points = new PointSet();
+			
+			for (int i = 0; i < size; i++)
+			{
+				points.add(random.nextInt(20), random.nextInt(20));
+			}
+			
+			int[] convexHull = new int[size];
+			int convexHullSize = workspace.monotoneChain(points, convexHull);
+			
+			assertEquals(points.toPoints(ConvexHull.monotoneChain(points)), points.toPoints(Arrays.copyOf(convexHull, convexHullSize)));
+		}
+	}
+	
+	@Test
+	public void monotoneChain_InterleavedCoordinates() throws Exception
+	{
+		double[] coordinates = {9.0, 9.0,  0.0, 0.0,  4.0, 0.0,  2.0, 1.0,  4.0, 4.0,  0.0, 4.0};
+		int[] convexHull = {-1, -1, -1, -1, -1, -1};
+		
+		int convexHullSize = new HullWorkspace().monotoneChain(coordinates, 1, 6, convexHull, 2);
+		
+		assertEquals(4, convexHullSize);
+		assertArrayEquals(new int[] {-1, -1, 1, 2, 4, 5}, convexHull);
+	}
+	
+	@Test
+	public void monotoneChain_NoAllocationAfterWarmUp() throws Exception
+	{
+		assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		
+		com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+		
+		Random random = new Random(42);
+		PointSet points = new PointSet(1000);
+		
+		for (int i = 0; i < 1000; i++)
+		{
+			points.add(random.nextGaussian(), random.nextGaussian());
+		}
+		
+		int[] convexHull = new int[points.size()];
+		
+		// warm up, so the workspace grows and the methods are compiled
+		for (int i = 0; i < 2000; i++)
+		{
+			ConvexHull.monotoneChain(points, convexHull);
+		}
+		
+		long threadId = Thread.currentThread().getId();
+		long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId);
+		
+		for (int i = 0; i < 1000; i++)
+		{
+			ConvexHull.monotoneChain(points, convexHull);
+		}
+		
+		allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBytes;
+		
+		// a few bytes may be allocated by the measurement itself, but nothing per call
+		assertEquals(0, allocatedBytes / 1000);
+	}
+}
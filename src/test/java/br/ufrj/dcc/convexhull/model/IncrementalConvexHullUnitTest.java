@@ -0,0 +1,66 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IncrementalConvexHullUnitTest
+{
+	@Test
+	public void add() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(4.0, 0.0);
+		Point c = new Point(4.0, 4.0);
+		Point d = new Point(0.0, 4.0);
+		Point e = new Point(2.0, 2.0);
+		Point f = new Point(2.0, -1.0);
+		
+		IncrementalConvexHull convexHull = new IncrementalConvexHull();
+		
+		assertTrue(convexHull.add(a));
+		assertTrue(convexHull.add(b));
+		assertEquals(asList(a, b), convexHull.getConvexHull());
+		
+		assertTrue(convexHull.add(c));
+		assertTrue(convexHull.add(d));
+		assertFalse(convexHull.add(e));
+		assertFalse(convexHull.add(new Point(4.0, 4.0)));
+		assertEquals(asList(a, b, c, d), convexHull.getConvexHull());
+		
+		assertTrue(convexHull.add(f));
+		assertEquals(asList(a, f, b, c, d), convexHull.getConvexHull());
+		assertEquals(5, convexHull.size());
+	}
+	
+	@Test
+	public void addAll_SameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		
+		IncrementalConvexHull convexHull = new IncrementalConvexHull();
+		List<Point> points = new ArrayList<Point>();
+		
+		for (int i = 0; i < 100; i++)
+		{
+			List<Point> newPoints = new ArrayList<Point>();
+			
+			for (int j = 0; j < 10; j++)
+			{
+				newPoints.add(new Point((double) random.nextInt(50), (double) random.nextInt(50)));
+			}
+			
+			points.addAll(newPoints);
+			convexHull.addAll(newPoints);
+			
+			assertEquals(ConvexHull.monotoneChain(points), convexHull.getConvexHull());
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntConvexHullUnitTest
+{
+	@Test
+	public void monotoneChain() throws Exception
+	{
+		IntPointSet points = new IntPointSet(new int[] {0, 2, 4, 4, 0, 2, 4}, new int[] {0, 2, 0, 4, 4, 0, 0});
+		
+		assertEquals(asList(new Point(0.0, 0.0), new Point(4.0, 0.0), new Point(4.0, 4.0), new Point(0.0, 4.0)), points.toPoints(IntConvexHull.monotoneChain(points)));
+	}
+	
+	@Test
+	public void monotoneChain_SameAsConvexHull() throws Exception
+	{
+		Random random = new Random(42);
+		int[] ranges = {1, 3, 20, 1000, Integer.MAX_VALUE};
+		
+		for (int size = 0; size < 300; size++)
+		{
+			IntPointSet points = new IntPointSet();
+			int range = ranges[size % ranges.length];
+			
+			for (int i = 0; i < size; i++)
+			{
+				points.add(random.nextInt(range) - range / 2, random.nextInt(range) - range / 2);
+			}
+			
+			PointSet doublePoints = points.toPointSet();
+			
+			assertEquals(doublePoints.toPoints(ConvexHull.monotoneChain(doublePoints)), points.toPoints(IntConvexHull.monotoneChain(points)));
+		}
+	}
+	
+	@Test
+	public void monotoneChain_ExtremeCoordinates() throws Exception
+	{
+		int min = Integer.MIN_VALUE;
+		int max = Integer.MAX_VALUE;
+		IntPointSet points = new IntPointSet(new int[] {min, 0, max, max, min, max}, new int[] {min, 0, max, max - 1, max, min});
+		
+		assertEquals(asList(new Point((double) min, (double) min), new Point((double) max, (double) min), new Point((double) max, (double) max), new Point((double) min, (double) max)), points.toPoints(IntConvexHull.monotoneChain(points)));
+	}
+	
+	@Test
+	public void orientation() throws Exception
+	{
+		int min = Integer.MIN_VALUE;
+		int max = Integer.MAX_VALUE;
+		
+		assertEquals(1, IntConvexHull.orientation(0, 0, 5, 0, 0, 5));
+		assertEquals(-1, IntConvexHull.orientation(0, 0, 0, 5, 5, 0));
+		assertEquals(0, IntConvexHull.orientation(min, min, 0, 0, max, max));
+		
+		// the cross products overflow a long
+		assertEquals(-1, IntConvexHull.orientation(min, min, 0, 0, max, max - 1));
+		assertEquals(1, IntConvexHull.orientation(min, min, 0, 0, max - 1, max));
+		assertEquals(1, IntConvexHull.orientation(min, min, max, min, min, max));
+	}
+}
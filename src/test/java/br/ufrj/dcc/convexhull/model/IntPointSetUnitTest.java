@@ -0,0 +1,44 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class IntPointSetUnitTest
+{
+	@Test
+	public void add() throws Exception
+	{
+		IntPointSet points = new IntPointSet(1);
+		
+		for (int i = 0; i < 100; i++)
+		{
+			points.add(i, -2 * i);
+		}
+		
+		assertEquals(100, points.size());
+		assertEquals(42, points.x(42));
+		assertEquals(-84, points.y(42));
+		assertEquals(new Point(42.0, -84.0), points.get(42));
+		assertEquals(new Point(42.0, -84.0), points.toPointSet().get(42));
+	}
+	
+	@Test
+	public void compare() throws Exception
+	{
+		IntPointSet points = new IntPointSet(new int[] {1, 1, Integer.MAX_VALUE, 1, Integer.MIN_VALUE}, new int[] {1, 2, 0, 1, 5});
+		
+		assertTrue(points.compare(0, 1) < 0);
+		assertTrue(points.compare(1, 2) < 0);
+		assertTrue(points.compare(2, 0) > 0);
+		assertTrue(points.compare(4, 0) < 0);
+		assertEquals(0, points.compare(0, 3));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void differentCoordinateArraysLength() throws Exception
+	{
+		new IntPointSet(new int[2], new int[3]);
+	}
+}
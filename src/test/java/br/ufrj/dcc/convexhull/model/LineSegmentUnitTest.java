@@ -37,6 +37,23 @@ public class LineSegmentUnitTest
 		assertEquals(c.hashCode(), d.hashCode());
 	}
 	
+	@Test
+	public void hashCode_FractionalCoordinates() throws Exception
+	{
+		Set<Integer> hashes = new HashSet<Integer>();
+		Point origin = new Point(0.0, 0.0);
+		
+		for (int i = 0; i < 100; i++)
+		{
+			for (int j = 0; j < 100; j++)
+			{
+				hashes.add(new LineSegment(origin, new Point(i * 0.01, j * 0.01)).hashCode());
+			}
+		}
+		
+		assertTrue(hashes.size() > 9990);
+	}
+	
 	@Test
 	public void equals_DifferentLineSegment() throws Exception
 	{
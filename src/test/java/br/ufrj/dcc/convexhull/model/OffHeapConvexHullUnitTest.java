@@ -0,0 +1,85 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class OffHeapConvexHullUnitTest
+{
+	@Test
+	public void compute_SameAsMonotoneChain() throws Exception
+	{
+		Random random = new Random(42);
+		
+		OffHeapPointSet points = OffHeapPointSet.allocateDirect(10000, 1000);
+		PointSet expectedPoints = new PointSet();
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			double x = random.nextGaussian();
+			double y = random.nextGaussian();
+			
+			points.add(x, y);
+			expectedPoints.add(x, y);
+		}
+		
+		List<Point> convexHull = OffHeapConvexHull.compute(points);
+		
+		assertEquals(expectedPoints.toPoints(ConvexHull.monotoneChain(expectedPoints)), convexHull);
+	}
+	
+	@Test
+	public void getPointsOutsideOfExtremePolygon() throws Exception
+	{
+		OffHeapPointSet points = OffHeapPointSet.allocateDirect(6);
+		points.add(0.0, 0.0);
+		points.add(4.0, 0.0);
+		points.add(4.0, 4.0);
+		points.add(0.0, 4.0);
+		points.add(2.0, 2.0);
+		points.add(1.0, 3.0);
+		
+		PointSet survivors = OffHeapConvexHull.getPointsOutsideOfExtremePolygon(points);
+		
+		assertEquals(4, survivors.size());
+	}
+	
+	@Test
+	public void compute_MappedFile() throws Exception
+	{
+		File file = File.createTempFile("points", ".bin");
+		file.deleteOnExit();
+		
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		FileChannel channel = randomAccessFile.getChannel();
+		
+		ByteBuffer buffer = ByteBuffer.allocate(5 * 16).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putDouble(0.0).putDouble(3.0);
+		buffer.putDouble(1.0).putDouble(1.0);
+		buffer.putDouble(4.0).putDouble(4.0);
+		buffer.putDouble(0.0).putDouble(0.0);
+		buffer.putDouble(3.0).putDouble(1.0);
+		buffer.flip();
+		channel.write(buffer);
+		
+		OffHeapPointSet points = OffHeapPointSet.map(channel, FileChannel.MapMode.READ_ONLY, 0, 5, ByteOrder.LITTLE_ENDIAN, 2);
+		
+		List<Point> convexHull = OffHeapConvexHull.compute(points);
+		
+		randomAccessFile.close();
+		
+		assertEquals(5, points.size());
+		assertEquals(new Point(4.0, 4.0), points.get(2));
+		assertEquals(4, convexHull.size());
+		assertTrue(convexHull.contains(new Point(3.0, 1.0)));
+	}
+}
@@ -0,0 +1,202 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compares {@link PointKernels#get()}, vectorized when the JVM supports it, with the scalar kernels.
+ */
+public class PointKernelsUnitTest
+{
+	private static final PointKernels SCALAR = new PointKernels();
+	
+	@Test
+	public void getSides() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int size = 1; size < 200; size++)
+		{
+			PointSet points = generate(random, size);
+			
+			for (int k = 0; k < 10; k++)
+			{
+				int a = random.nextInt(size);
+				int b = random.nextInt(size);
+				int from = random.nextInt(size);
+				
+				assertEquals(SCALAR.getSides(points, from, size, a, b), PointKernels.get().getSides(points, from, size, a, b));
+			}
+		}
+	}
+	
+	@Test
+	public void getSides_NearlyCollinearPoints() throws Exception
+	{
+		PointSet points = new PointSet();
+		double ulp = Math.ulp(0.5);
+		
+		points.add(12.0, 12.0);
+		points.add(24.0, 24.0);
+		
+		for (int i = 0; i < 64; i++)
+		{
+			points.add(0.5 + i * ulp, 0.5 + (i % 7) * ulp);
+		}
+		
+		for (int to = 2; to <= points.size(); to++)
+		{
+			assertEquals(SCALAR.getSides(points, 0, to, 0, 1), PointKernels.get().getSides(points, 0, to, 0, 1));
+		}
+	}
+	
+	@Test
+	public void getLowestAndHighestPoints() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int size = 1; size < 200; size++)
+		{
+			PointSet points = generate(random, size);
+			int from = random.nextInt(size);
+			
+			assertEquals(SCALAR.getLowestPoint(points, from, size), PointKernels.get().getLowestPoint(points, from, size));
+			assertEquals(SCALAR.getHighestPoint(points, from, size), PointKernels.get().getHighestPoint(points, from, size));
+		}
+	}
+	
+	@Test
+	public void getFurthestPoint() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int size = 3; size < 300; size++)
+		{
+			PointSet points = generate(random, size);
+			int[] convexHull = ConvexHull.monotoneChain(points);
+			
+			if(convexHull.length < 2)
+			{
+				continue;
+			}
+			
+			// the points strictly on the right of the line through two points of the hull
+			int p = convexHull[convexHull.length - 1];
+			int q = convexHull[0];
+			int[] indices = new int[size];
+			int count = 0;
+			
+			for (int i = 0; i < size; i++)
+			{
+				if(ConvexHull.crossProduct(points, q, p, i) < 0.0)
+				{
+					indices[count++] = i;
+				}
+			}
+			
+			if(count > 0)
+			{
+				assertEquals(SCALAR.getFurthestPoint(points, indices, 0, count, q, p), PointKernels.get().getFurthestPoint(points, indices, 0, count, q, p));
+			}
+		}
+	}
+	
+	@Test
+	public void getFurthestPoint_NearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int test = 0; test < 300; test++)
+		{
+			// rounded points on a line, and the line through two of them
+			double slope = random.nextDouble();
+			double intercept = random.nextDouble();
+			PointSet points = new PointSet();
+			
+			for (int i = 0; i < 3 + test; i++)
+			{
+				double x = random.nextDouble();
+				points.add(x, intercept + slope * x);
+			}
+			
+			int p = 0;
+			int q = 1;
+			int[] indices = new int[points.size()];
+			int count = 0;
+			
+			for (int i = 0; i < points.size(); i++)
+			{
+				if(ConvexHull.crossProduct(points, p, q, i) < 0.0)
+				{
+					indices[count++] = i;
+				}
+			}
+			
+			if(count > 0)
+			{
+				int expectedFurthest = getExactFurthestPoint(points, indices, count, p, q);
+				
+				assertEquals(expectedFurthest, SCALAR.getFurthestPoint(points, indices, 0, count, p, q));
+				assertEquals(expectedFurthest, PointKernels.get().getFurthestPoint(points, indices, 0, count, p, q));
+			}
+		}
+	}
+	
+	/**
+	 * @return the point with the lowest exact orientation to the line, the furthest along it on ties
+	 */
+	private static int getExactFurthestPoint(PointSet points, int[] indices, int count, int p, int q)
+	{
+		int furthest = indices[0];
+		
+		for (int i = 1; i < count; i++)
+		{
+			int comparison = getExactOrientation(points, p, q, indices[i]).compareTo(getExactOrientation(points, p, q, furthest));
+			
+			if(comparison < 0 || (comparison == 0 && getExactProjection(points, p, q, indices[i]).compareTo(getExactProjection(points, p, q, furthest)) > 0))
+			{
+				furthest = indices[i];
+			}
+		}
+		
+		return furthest;
+	}
+	
+	private static BigDecimal getExactOrientation(PointSet points, int p, int q, int index)
+	{
+		BigDecimal pqx = new BigDecimal(points.x(q)).subtract(new BigDecimal(points.x(p)));
+		BigDecimal pqy = new BigDecimal(points.y(q)).subtract(new BigDecimal(points.y(p)));
+		BigDecimal px = new BigDecimal(points.x(index)).subtract(new BigDecimal(points.x(p)));
+		BigDecimal py = new BigDecimal(points.y(index)).subtract(new BigDecimal(points.y(p)));
+		
+		return pqx.multiply(py).subtract(pqy.multiply(px));
+	}
+	
+	private static BigDecimal getExactProjection(PointSet points, int p, int q, int index)
+	{
+		BigDecimal pqx = new BigDecimal(points.x(q)).subtract(new BigDecimal(points.x(p)));
+		BigDecimal pqy = new BigDecimal(points.y(q)).subtract(new BigDecimal(points.y(p)));
+		
+		return pqx.multiply(new BigDecimal(points.x(index))).add(pqy.multiply(new BigDecimal(points.y(index))));
+	}
+	
+	/**
+	 * Random points on a coarse grid, so there are repeated, collinear and tied points.
+	 */
+	private static PointSet generate(Random random, int size)
+	{
+		PointSet points = new PointSet();
+		int range = 2 + random.nextInt(30);
+		
+		for (int i = 0; i < size; i++)
+		{
+			points.add(random.nextInt(range) * 0.5 - 3.0, random.nextInt(range) * 0.5 - 3.0);
+		}
+		
+		return points;
+	}
+}
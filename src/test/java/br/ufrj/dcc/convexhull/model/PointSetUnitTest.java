@@ -0,0 +1,58 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class PointSetUnitTest
+{
+	@Test
+	public void add() throws Exception
+	{
+		PointSet points = new PointSet(1);
+		
+		for (int i = 0; i < 100; i++)
+		{
+			points.add(i, 2 * i);
+		}
+		
+		assertEquals(100, points.size());
+		assertEquals(42.0, points.x(42), 0.0);
+		assertEquals(84.0, points.y(42), 0.0);
+		assertEquals(new Point(42.0, 84.0), points.get(42));
+	}
+	
+	@Test
+	public void fromPoints() throws Exception
+	{
+		Point a = new Point(1.0, 2.0);
+		Point b = new Point(3.0, 4.0);
+		
+		PointSet points = PointSet.fromPoints(asList(a, b));
+		
+		List<Point> result = points.toPoints(new int[] {1, 0});
+		
+		assertEquals(asList(b, a), result);
+	}
+	
+	@Test
+	public void compare() throws Exception
+	{
+		PointSet points = new PointSet(new double[] {1.0, 1.0, 2.0, 1.0}, new double[] {1.0, 2.0, 0.0, 1.0});
+		
+		assertTrue(points.compare(0, 1) < 0);
+		assertTrue(points.compare(1, 2) < 0);
+		assertTrue(points.compare(2, 0) > 0);
+		assertEquals(0, points.compare(0, 3));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void differentCoordinateArraysLength() throws Exception
+	{
+		new PointSet(new double[2], new double[3]);
+	}
+}
@@ -7,7 +7,9 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -49,6 +51,22 @@ public class PointUnitTest
 		assertNotEquals(a.hashCode(), b.hashCode());
 	}
 	
+	@Test
+	public void hashCode_FractionalCoordinates() throws Exception
+	{
+		Set<Integer> hashes = new HashSet<Integer>();
+		
+		for (int i = 0; i < 100; i++)
+		{
+			for (int j = 0; j < 100; j++)
+			{
+				hashes.add(new Point(i * 0.01, j * 0.01).hashCode());
+			}
+		}
+		
+		assertTrue(hashes.size() > 9990);
+	}
+	
 	@Test
 	public void getOrientationSignalGreaterThanZero() throws Exception
 	{
@@ -81,4 +99,19 @@ public class PointUnitTest
 		assertEquals(points.get(2), c);
 		assertEquals(points.get(3), d);
 	}
+	
+	@Test
+	public void compareTo_SameX() throws Exception
+	{
+		Point a = new Point(1.0, 1.0);
+		Point b = new Point(1.0, 2.0);
+		Point c = new Point(1.0, 3.0);
+		List<Point> points = asList(c, a, b);
+		
+		Collections.sort(points);
+		
+		assertEquals(points.get(0), a);
+		assertEquals(points.get(1), b);
+		assertEquals(points.get(2), c);
+	}
 }
@@ -0,0 +1,153 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class RobustPredicatesUnitTest
+{
+	@Test
+	public void orient2d_SimpleTurns() throws Exception
+	{
+		assertTrue(RobustPredicates.orient2d(0.0, 0.0, 5.0, 0.0, 0.0, 5.0) > 0.0);
+		assertTrue(RobustPredicates.orient2d(0.0, 0.0, 0.0, 5.0, 5.0, 0.0) < 0.0);
+		assertEquals(0.0, RobustPredicates.orient2d(0.0, 0.0, 1.0, 1.0, 3.0, 3.0), 0.0);
+	}
+	
+	@Test
+	public void orient2d_NearlyCollinearGrid() throws Exception
+	{
+		// the naive determinant gets most of these signs wrong
+		double ulp = Math.ulp(0.5);
+		
+		for (int i = 0; i < 256; i++)
+		{
+			for (int j = 0; j < 256; j++)
+			{
+				double ax = 0.5 + i * ulp;
+				double ay = 0.5 + j * ulp;
+				
+				assertEquals(exactSign(ax, ay, 12.0, 12.0, 24.0, 24.0), Math.signum(RobustPredicates.orient2d(ax, ay, 12.0, 12.0, 24.0, 24.0)), 0.0);
+			}
+		}
+	}
+	
+	@Test
+	public void orient2d_RandomNearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int i = 0; i < 100000; i++)
+		{
+			double ax = random.nextDouble() * 1000.0;
+			double ay = random.nextDouble() * 1000.0;
+			double bx = random.nextDouble() * 1000.0;
+			double by = random.nextDouble() * 1000.0;
+			double t = random.nextDouble() * 3.0 - 1.0;
+			double cx = ax + t * (bx - ax);
+			double cy = ay + t * (by - ay);
+			
+			if(random.nextBoolean())
+			{
+				cx += Math.ulp(cx) * (random.nextInt(5) - 2);
+			}
+			
+			assertEquals(exactSign(ax, ay, bx, by, cx, cy), Math.signum(RobustPredicates.orient2d(ax, ay, bx, by, cx, cy)), 0.0);
+			assertEquals(exactSign(ax, ay, bx, by, cx, cy), Math.signum(RobustPredicates.orient2d(bx, by, cx, cy, ax, ay)), 0.0);
+			assertEquals(-exactSign(ax, ay, bx, by, cx, cy), Math.signum(RobustPredicates.orient2d(bx, by, ax, ay, cx, cy)), 0.0);
+		}
+	}
+	
+	@Test
+	public void crossProduct_RandomNearlyParallelVectors() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int i = 0; i < 100000; i++)
+		{
+			double ax = random.nextDouble();
+			double ay = random.nextDouble();
+			double bx = random.nextDouble();
+			double by = random.nextDouble();
+			double cx = random.nextDouble();
+			double cy = random.nextDouble();
+			double t = random.nextDouble() * 4.0 - 2.0;
+			double dx = cx + t * (bx - ax);
+			double dy = cy + t * (by - ay);
+			
+			if(random.nextBoolean())
+			{
+				dy += Math.ulp(dy) * (random.nextInt(5) - 2);
+			}
+			
+			assertEquals(exactSign(ax, ay, bx, by, cx, cy, dx, dy), Math.signum(RobustPredicates.crossProduct(ax, ay, bx, by, cx, cy, dx, dy)), 0.0);
+			assertEquals(-exactSign(ax, ay, bx, by, cx, cy, dx, dy), Math.signum(RobustPredicates.crossProduct(cx, cy, dx, dy, ax, ay, bx, by)), 0.0);
+			
+			// CD turned by a quarter turn, so nearly perpendicular to AB
+			double ex = cx + (dy - cy);
+			double ey = cy - (dx - cx);
+			
+			assertEquals(exactDotProductSign(ax, ay, bx, by, cx, cy, ex, ey), Math.signum(RobustPredicates.dotProduct(ax, ay, bx, by, cx, cy, ex, ey)), 0.0);
+		}
+	}
+	
+	@Test
+	public void monotoneChain_NearlyCollinearPoints() throws Exception
+	{
+		Random random = new Random(42);
+		PointSet points = new PointSet();
+		
+		for (int i = 0; i < 10000; i++)
+		{
+			double x = random.nextDouble();
+			double y = 0.1 + 0.7 * x;
+			
+			points.add(x, y + Math.ulp(y) * (random.nextInt(3) - 1));
+		}
+		
+		int[] convexHull = ConvexHull.monotoneChain(points);
+		
+		for (int i = 0; i < convexHull.length; i++)
+		{
+			int a = convexHull[i];
+			int b = convexHull[(i + 1) % convexHull.length];
+			int c = convexHull[(i + 2) % convexHull.length];
+			
+			assertEquals(1.0, exactSign(points.x(a), points.y(a), points.x(b), points.y(b), points.x(c), points.y(c)), 0.0);
+		}
+	}
+	
+	private static double exactSign(double ax, double ay, double bx, double by, double cx, double cy)
+	{
+		BigDecimal abx = new BigDecimal(bx).subtract(new BigDecimal(ax));
+		BigDecimal aby = new BigDecimal(by).subtract(new BigDecimal(ay));
+		BigDecimal acx = new BigDecimal(cx).subtract(new BigDecimal(ax));
+		BigDecimal acy = new BigDecimal(cy).subtract(new BigDecimal(ay));
+		
+		return abx.multiply(acy).subtract(aby.multiply(acx)).signum();
+	}
+	
+	private static double exactSign(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy)
+	{
+		BigDecimal abx = new BigDecimal(bx).subtract(new BigDecimal(ax));
+		BigDecimal aby = new BigDecimal(by).subtract(new BigDecimal(ay));
+		BigDecimal cdx = new BigDecimal(dx).subtract(new BigDecimal(cx));
+		BigDecimal cdy = new BigDecimal(dy).subtract(new BigDecimal(cy));
+		
+		return abx.multiply(cdy).subtract(aby.multiply(cdx)).signum();
+	}
+	
+	private static double exactDotProductSign(double ax, double ay, double bx, double by, double cx, double cy, double dx, double dy)
+	{
+		BigDecimal abx = new BigDecimal(bx).subtract(new BigDecimal(ax));
+		BigDecimal aby = new BigDecimal(by).subtract(new BigDecimal(ay));
+		BigDecimal cdx = new BigDecimal(dx).subtract(new BigDecimal(cx));
+		BigDecimal cdy = new BigDecimal(dy).subtract(new BigDecimal(cy));
+		
+		return abx.multiply(cdx).add(aby.multiply(cdy)).signum();
+	}
+}
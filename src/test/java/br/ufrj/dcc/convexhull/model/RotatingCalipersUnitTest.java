@@ -0,0 +1,330 @@
+package br.ufrj.dcc.convexhull.model;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class RotatingCalipersUnitTest
+{
+	private static final double DELTA = 1e-9;
+	
+	@Test
+	public void rectangleOfSquare() throws Exception
+	{
+		Point a = new Point(0.0, 0.0);
+		Point b = new Point(2.0, 0.0);
+		Point c = new Point(2.0, 2.0);
+		Point d = new Point(0.0, 2.0);
+		List<Point> convexHull = asList(a, b, c, d);
+		
+		assertEquals(8.0, squaredLength(RotatingCalipers.diameter(convexHull)), DELTA);
+		assertEquals(2.0, RotatingCalipers.width(convexHull), DELTA);
+		
+		RotatingCalipers.Rectangle rectangle = RotatingCalipers.minimumAreaRectangle(convexHull);
+		
+		assertEquals(asList(a, b, c, d), rectangle.corners());
+		assertEquals(4.0, rectangle.area(), DELTA);
+		assertEquals(8.0, RotatingCalipers.minimumPerimeterRectangle(convexHull).perimeter(), DELTA);
+	}
+	
+	@Test
+	public void rectangleOfDiamond() throws Exception
+	{
+		// a square turned by 45 degrees, its own minimum rectangle
+		List<Point> convexHull = asList(new Point(0.0, 1.0), new Point(1.0, 0.0), new Point(2.0, 1.0), new Point(1.0, 2.0));
+		
+		RotatingCalipers.Rectangle rectangle = RotatingCalipers.minimumAreaRectangle(convexHull);
+		
+		assertEquals(2.0, rectangle.area(), DELTA);
+		assertEquals(Math.sqrt(2.0), rectangle.width(), DELTA);
+		assertEquals(Math.sqrt(2.0), rectangle.height(), DELTA);
+		assertEquals(Math.sqrt(2.0), RotatingCalipers.width(convexHull), DELTA);
+	}
+	
+	@Test
+	public void degenerateHulls() throws Exception
+	{
+		Point a = new Point(1.0, 1.0);
+		Point b = new Point(4.0, 5.0);
+		
+		assertEquals(0.0, RotatingCalipers.width(asList(a)), 0.0);
+		assertEquals(0.0, RotatingCalipers.minimumAreaRectangle(asList(a)).perimeter(), 0.0);
+		assertEquals(asList(a, a, a, a), RotatingCalipers.minimumAreaRectangle(asList(a)).corners());
+		
+		assertEquals(25.0, squaredLength(RotatingCalipers.diameter(asList(a, b))), DELTA);
+		assertEquals(0.0, RotatingCalipers.width(asList(a, b)), DELTA);
+		assertEquals(0.0, RotatingCalipers.minimumAreaRectangle(asList(a, b)).area(), DELTA);
+		assertEquals(10.0, RotatingCalipers.minimumPerimeterRectangle(asList(a, b)).perimeter(), DELTA);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void emptyHull() throws Exception
+	{
+		RotatingCalipers.width(new ArrayList<Point>());
+	}
+	
+	@Test
+	public void sameAsEveryPairAndEdge() throws Exception
+	{
+		Random random = new Random(42);
+		
+		for (int test = 0; test < 300; test++)
+		{
+			PointSet points = new PointSet(60);
+			
+			// small integer grids have many parallel edges
+			int range = test % 2 == 0 ? 8 : 1000;
+			
+			for (int i = 0; i < 60; i++)
+			{
+				points.add(random.nextInt(range), random.nextInt(range));
+			}
+			
+			int[] convexHull = ConvexHull.monotoneChain(points);
+			
+			double expectedDiameter = 0.0;
+			
+			for (int a : convexHull)
+			{
+				for (int b : convexHull)
+				{
+					expectedDiameter = Math.max(expectedDiameter, squaredDistance(points, a, b));
+				}
+			}
+			
+			int[] pair = RotatingCalipers.diameter(points, convexHull);
+			
+			assertEquals(expectedDiameter, squaredDistance(points, pair[0], pair[1]), DELTA);
+			
+			double expectedWidth = Double.POSITIVE_INFINITY;
+			double expectedArea = Double.POSITIVE_INFINITY;
+			double expectedPerimeter = Double.POSITIVE_INFINITY;
+			
+			for (int i = 0; i < convexHull.length; i++)
+			{
+				double[] box = getBox(points, convexHull, i);
+				
+				expectedWidth = Math.min(expectedWidth, box[2]);
+				expectedArea = Math.min(expectedArea, (box[1] - box[0]) * box[2]);
+				expectedPerimeter = Math.min(expectedPerimeter, 2.0 * (box[1] - box[0] + box[2]));
+			}
+			
+			assertEquals(expectedWidth, RotatingCalipers.width(points, convexHull), DELTA);
+			
+			RotatingCalipers.Rectangle rectangle = RotatingCalipers.minimumAreaRectangle(points, convexHull);
+			
+			assertEquals(expectedArea, rectangle.area(), DELTA * range * range);
+			assertContains(rectangle, points);
+			assertEquals(expectedPerimeter, RotatingCalipers.minimumPerimeterRectangle(points, convexHull).perimeter(), DELTA * range);
+			assertContains(RotatingCalipers.minimumPerimeterRectangle(points, convexHull), points);
+		}
+	}
+	
+	@Test
+	public void diameter_thinHull() throws Exception
+	{
+		// the rounded cross products stop the antipodal point early on the long edges
+		List<Point> convexHull = asList(new Point(5.932356262232652E-4, 0.10041526493835629), new Point(0.5161142816706856, 0.46127999716947987),
+				new Point(0.8217954111784055, 0.6752567878248837), new Point(0.9266254407694146, 0.7486378085385901),
+				new Point(0.9600399724229681, 0.7720279806960776), new Point(0.9486529322137293, 0.7640570525496104),
+				new Point(0.927144373404077, 0.7490010613828538), new Point(0.8297416318496131, 0.6808191422947292),
+				new Point(0.5701268370257604, 0.4990887859180323), new Point(0.3213654564709565, 0.32495581952966957));
+		
+		LineSegment diameter = RotatingCalipers.diameter(convexHull);
+		
+		assertEquals(squaredLength(new LineSegment(convexHull.get(0), convexHull.get(4))), squaredLength(diameter), 0.0);
+	}
+	
+	@Test
+	public void thinHulls_sameAsEveryPairAndEdge() throws Exception
+	{
+		Random random = new Random(3);
+		
+		for (int test = 0; test < 1000; test++)
+		{
+			PointSet points = new PointSet();
+			double slope = random.nextDouble();
+			double intercept = random.nextDouble();
+			double thickness = test % 3 == 0 ? 0.0 : Math.pow(10.0, -10 - random.nextInt(6));
+			
+			// points near a line, the rounding alone makes a thin hull when the thickness is 0
+			for (int i = 10 + random.nextInt(60); i > 0; i--)
+			{
+				double x = random.nextDouble();
+				points.add(x, intercept + slope * x + (random.nextDouble() - 0.5) * thickness);
+			}
+			
+			int[] convexHull = ConvexHull.monotoneChain(points);
+			double expectedDiameter = 0.0;
+			
+			for (int a : convexHull)
+			{
+				for (int b : convexHull)
+				{
+					expectedDiameter = Math.max(expectedDiameter, squaredDistance(points, a, b));
+				}
+			}
+			
+			int[] pair = RotatingCalipers.diameter(points, convexHull);
+			
+			assertEquals(expectedDiameter, squaredDistance(points, pair[0], pair[1]), 0.0);
+			
+			if(convexHull.length < 3)
+			{
+				continue;
+			}
+			
+			double expectedWidth = Double.POSITIVE_INFINITY;
+			
+			for (int i = 0; i < convexHull.length; i++)
+			{
+				expectedWidth = Math.min(expectedWidth, getBox(points, convexHull, i)[2]);
+			}
+			
+			assertEquals(expectedWidth, RotatingCalipers.width(points, convexHull), DELTA * expectedWidth + 1e-15);
+			assertContains(RotatingCalipers.minimumAreaRectangle(points, convexHull), points);
+			assertContains(RotatingCalipers.minimumPerimeterRectangle(points, convexHull), points);
+		}
+	}
+	
+	@Test
+	public void compute() throws Exception
+	{
+		Random random = new Random(7);
+		int setCount = 500;
+		int[] offsets = new int[setCount + 1];
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			offsets[set + 1] = offsets[set] + random.nextInt(40);
+		}
+		
+		double[] coordinates = new double[2 * offsets[setCount]];
+		
+		for (int i = 0; i < coordinates.length; i++)
+		{
+			coordinates[i] = random.nextGaussian();
+		}
+		
+		int[] convexHulls = new int[offsets[setCount]];
+		int[] convexHullSizes = BatchConvexHull.compute(coordinates, offsets, convexHulls);
+		
+		double[] measures = new double[RotatingCalipers.MEASURE_COUNT * setCount];
+		ForkJoinPool pool = new ForkJoinPool(4);
+		
+		try
+		{
+			RotatingCalipers.compute(coordinates, offsets, convexHulls, convexHullSizes, measures, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+		
+		for (int set = 0; set < setCount; set++)
+		{
+			int position = RotatingCalipers.MEASURE_COUNT * set;
+			
+			if(convexHullSizes[set] == 0)
+			{
+				assertEquals(0.0, measures[position + RotatingCalipers.DIAMETER], 0.0);
+				continue;
+			}
+			
+			PointSet points = new PointSet(offsets[set + 1] - offsets[set]);
+			
+			for (int i = offsets[set]; i < offsets[set + 1]; i++)
+			{
+				points.add(coordinates[2 * i], coordinates[2 * i + 1]);
+			}
+			
+			int[] convexHull = ConvexHull.monotoneChain(points);
+			int[] pair = RotatingCalipers.diameter(points, convexHull);
+			
+			assertEquals(Math.sqrt(squaredDistance(points, pair[0], pair[1])), measures[position + RotatingCalipers.DIAMETER], DELTA);
+			assertEquals(RotatingCalipers.width(points, convexHull), measures[position + RotatingCalipers.WIDTH], DELTA);
+			assertEquals(RotatingCalipers.minimumAreaRectangle(points, convexHull).area(), measures[position + RotatingCalipers.MINIMUM_AREA], DELTA);
+			assertEquals(RotatingCalipers.minimumPerimeterRectangle(points, convexHull).perimeter(), measures[position + RotatingCalipers.MINIMUM_PERIMETER], DELTA);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void compute_invalidHullSize() throws Exception
+	{
+		RotatingCalipers.compute(new double[4], new int[] {0, 2}, new int[2], new int[] {3});
+	}
+	
+	/**
+	 * @return the lowest and highest offsets along an edge from its first point, and the furthest distance from it
+	 */
+	private static double[] getBox(PointSet points, int[] convexHull, int edge)
+	{
+		int a = convexHull[edge];
+		int b = convexHull[(edge + 1) % convexHull.length];
+		double length = Math.sqrt(squaredDistance(points, a, b));
+		double unitX = (points.x(b) - points.x(a)) / length;
+		double unitY = (points.y(b) - points.y(a)) / length;
+		
+		double[] box = {0.0, 0.0, 0.0};
+		
+		for (int point : convexHull)
+		{
+			double dx = points.x(point) - points.x(a);
+			double dy = points.y(point) - points.y(a);
+			
+			box[0] = Math.min(box[0], unitX * dx + unitY * dy);
+			box[1] = Math.max(box[1], unitX * dx + unitY * dy);
+			box[2] = Math.max(box[2], unitX * dy - unitY * dx);
+		}
+		
+		return box;
+	}
+	
+	private static void assertContains(RotatingCalipers.Rectangle rectangle, PointSet points)
+	{
+		List<Point> corners = rectangle.corners();
+		
+		for (int i = 0; i < points.size(); i++)
+		{
+			for (int j = 0; j < 4; j++)
+			{
+				Point a = corners.get(j);
+				Point b = corners.get((j + 1) % 4);
+				double length = Math.hypot(b.x() - a.x(), b.y() - a.y());
+				
+				// the sides of a rectangle as thin as a rounding error may vanish
+				if(length == 0.0)
+				{
+					continue;
+				}
+				
+				double side = ((b.x() - a.x()) * (points.y(i) - a.y()) - (b.y() - a.y()) * (points.x(i) - a.x())) / length;
+				
+				assertTrue(side > -1e-6);
+			}
+		}
+	}
+	
+	private static double squaredDistance(PointSet points, int a, int b)
+	{
+		double dx = points.x(a) - points.x(b);
+		double dy = points.y(a) - points.y(b);
+		
+		return dx * dx + dy * dy;
+	}
+	
+	private static double squaredLength(LineSegment segment)
+	{
+		double dx = segment.a().x() - segment.b().x();
+		double dy = segment.a().y() - segment.b().y();
+		
+		return dx * dx + dy * dy;
+	}
+}
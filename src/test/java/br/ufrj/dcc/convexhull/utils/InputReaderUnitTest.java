@@ -1,16 +1,25 @@
 package br.ufrj.dcc.convexhull.utils;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.junit.Test;
 
+import br.ufrj.dcc.convexhull.model.OffHeapPointSet;
 import br.ufrj.dcc.convexhull.model.Point;
+import br.ufrj.dcc.convexhull.model.PointSet;
 
 public class InputReaderUnitTest
 {
@@ -29,4 +38,119 @@ public class InputReaderUnitTest
 		
 		assertTrue(expectedPoints.equals(actualPoints));
 	}
+	
+	@Test
+	public void readFromBinaryFile() throws IOException
+	{
+		File input = writeBinaryFile(3, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+		
+		OffHeapPointSet actualPoints = InputReader.readFromBinaryFile(input);
+		
+		assertEquals(3, actualPoints.size());
+		assertEquals(new Point(1.0, 2.0), actualPoints.get(0));
+		assertEquals(new Point(3.0, 4.0), actualPoints.get(1));
+		assertEquals(new Point(5.0, 6.0), actualPoints.get(2));
+	}
+	
+	@Test(expected = IOException.class)
+	public void readFromBinaryFile_TruncatedFile() throws IOException
+	{
+		File input = writeBinaryFile(3, 1.0, 2.0, 3.0, 4.0);
+		
+		InputReader.readFromBinaryFile(input);
+	}
+	
+	private static File writeBinaryFile(long count, double... coordinates) throws IOException
+	{
+		File file = File.createTempFile("points", ".bin");
+		file.deleteOnExit();
+		
+		ByteBuffer buffer = ByteBuffer.allocate(InputReader.BINARY_HEADER_SIZE + coordinates.length * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putLong(count);
+		
+		for (double coordinate : coordinates)
+		{
+			buffer.putDouble(coordinate);
+		}
+		
+		FileOutputStream output = new FileOutputStream(file);
+		output.write(buffer.array());
+		output.close();
+		
+		return file;
+	}
+	
+	@Test
+	public void readPointSetFromFile_SingleTestCase() throws IOException
+	{
+		URL url = InputReaderUnitTest.class.getResource("dataset/singleTestCase");
+		File input = new File(url.getFile());
+		
+		PointSet actualPoints = InputReader.readPointSetFromFile(input);
+		
+		assertEquals(3, actualPoints.size());
+		assertEquals(new Point(1.0, 2.0), actualPoints.get(0));
+		assertEquals(new Point(3.0, 4.0), actualPoints.get(1));
+		assertEquals(new Point(5.0, 6.0), actualPoints.get(2));
+	}
+	
+	@Test
+	public void readPointSetFromFile_SameAsScanner() throws IOException
+	{
+		Random random = new Random(42);
+		StringBuilder text = new StringBuilder("1000\n");
+		
+		for (int i = 0; i < 1000; i++)
+		{
+			text.append(random.nextGaussian() * Math.pow(10, random.nextInt(40) - 20)).append(' ');
+			text.append(random.nextInt(2000) - 1000).append(i % 7 == 0 ? ".125e-3" : ".5").append(" \r\n");
+		}
+		
+		File input = writeTextFile(text.toString());
+		
+		List<Point> expectedPoints = InputReader.readFromFile(input);
+		
+		assertEquals(expectedPoints, InputReader.readPointSetFromFile(input).toPoints(identity(1000)));
+		assertEquals(expectedPoints, InputReader.readPointSetFromFile(input, 32).toPoints(identity(1000)));
+	}
+	
+	@Test(expected = IOException.class)
+	public void readPointSetFromFile_InvalidNumber() throws IOException
+	{
+		File input = writeTextFile("1\n1.0 2.0x\n");
+		
+		InputReader.readPointSetFromFile(input);
+	}
+	
+	@Test(expected = IOException.class)
+	public void readPointSetFromFile_MissingCoordinate() throws IOException
+	{
+		File input = writeTextFile("2\n1.0 2.0\n3.0\n");
+		
+		InputReader.readPointSetFromFile(input);
+	}
+	
+	private static File writeTextFile(String text) throws IOException
+	{
+		File file = File.createTempFile("points", ".txt");
+		file.deleteOnExit();
+		
+		FileOutputStream output = new FileOutputStream(file);
+		output.write(text.getBytes(StandardCharsets.US_ASCII));
+		output.close();
+		
+		return file;
+	}
+	
+	private static int[] identity(int size)
+	{
+		int[] indices = new int[size];
+		
+		for (int i = 0; i < size; i++)
+		{
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
 }
@@ -0,0 +1,245 @@
+package br.ufrj.dcc.convexhull.model;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * This class does the scans of {@link PointKernels} with the Vector API, over as many points at a 
+ * time as the widest vectors of the processor hold (4 doubles with AVX2, 8 with AVX-512).
+ * 
+ * The orientations are the plain determinants of {@link RobustPredicates#orient2d}, so the lanes 
+ * whose sign is certain are decided by the vectors and the few others by the exact predicate. The
+ * results are the same as the scalar kernels', including the choice between tied points.
+ * 
+ * It needs the jdk.incubator.vector module, and is only loaded by {@link PointKernels#get()}.
+ */
+class VectorPointKernels extends PointKernels
+{
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int EARLY_EXIT_PERIOD = 16 * SPECIES.length();
+	
+	@Override
+	boolean isSupported()
+	{
+		return SPECIES.length() >= MINIMUM_VECTOR_LENGTH;
+	}
+	
+	@Override
+	int getSides(PointSet points, int from, int to, int a, int b)
+	{
+		double[] xs = points.xs;
+		double[] ys = points.ys;
+		DoubleVector ax = DoubleVector.broadcast(SPECIES, xs[a]);
+		DoubleVector ay = DoubleVector.broadcast(SPECIES, ys[a]);
+		DoubleVector bx = DoubleVector.broadcast(SPECIES, xs[b]);
+		DoubleVector by = DoubleVector.broadcast(SPECIES, ys[b]);
+		
+		VectorMask<Double> isAnyPointOnTheLeft = SPECIES.maskAll(false);
+		VectorMask<Double> isAnyPointOnTheRight = SPECIES.maskAll(false);
+		int sides = 0;
+		int i = from;
+		
+		for (int end = from + SPECIES.loopBound(to - from); i < end; i += SPECIES.length())
+		{
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i);
+			
+			DoubleVector left = ax.sub(x).mul(by.sub(y));
+			DoubleVector right = ay.sub(y).mul(bx.sub(x));
+			DoubleVector determinant = left.sub(right);
+			DoubleVector errorBound = left.abs().add(right.abs()).mul(RobustPredicates.ORIENTATION_ERROR_BOUND_A);
+			
+			VectorMask<Double> isUncertain = determinant.abs().compare(VectorOperators.LT, errorBound);
+			
+			isAnyPointOnTheLeft = isAnyPointOnTheLeft.or(determinant.compare(VectorOperators.GT, 0.0).andNot(isUncertain));
+			isAnyPointOnTheRight = isAnyPointOnTheRight.or(determinant.compare(VectorOperators.LT, 0.0).andNot(isUncertain));
+			
+			if(isUncertain.anyTrue())
+			{
+				for (int lane = isUncertain.firstTrue(); lane < SPECIES.length(); lane++)
+				{
+					if(isUncertain.laneIsSet(lane))
+					{
+						sides |= getSide(ConvexHull.crossProduct(points, a, b, i + lane));
+					}
+				}
+			}
+			
+			// checking every vector costs more than scanning a few more
+			if((i - from) % EARLY_EXIT_PERIOD == 0)
+			{
+				sides |= (isAnyPointOnTheLeft.anyTrue() ? LEFT_SIDE : 0) | (isAnyPointOnTheRight.anyTrue() ? RIGHT_SIDE : 0);
+				
+				if(sides == BOTH_SIDES)
+				{
+					return sides;
+				}
+			}
+		}
+		
+		sides |= (isAnyPointOnTheLeft.anyTrue() ? LEFT_SIDE : 0) | (isAnyPointOnTheRight.anyTrue() ? RIGHT_SIDE : 0);
+		
+		return sides == BOTH_SIDES ? sides : sides | super.getSides(points, i, to, a, b);
+	}
+	
+	@Override
+	int getLowestPoint(PointSet points, int from, int to)
+	{
+		return getLowestPoint(points, from, to, 1.0);
+	}
+	
+	/**
+	 * The highest point in (x, y) order is the lowest one once both coordinates are negated.
+	 */
+	@Override
+	int getHighestPoint(PointSet points, int from, int to)
+	{
+		return getLowestPoint(points, from, to, -1.0);
+	}
+	
+	/**
+	 * Every lane keeps the lowest point it has seen and its index, the first one on ties, and
+	 * the lanes are compared at the end. The indices are kept as doubles, exact below 2^53.
+	 * 
+	 * @param sign 1 to find the lowest point, -1 to find the highest one
+	 */
+	private int getLowestPoint(PointSet points, int from, int to, double sign)
+	{
+		double[] xs = points.xs;
+		double[] ys = points.ys;
+		int end = from + SPECIES.loopBound(to - from);
+		
+		if(end == from)
+		{
+			return sign > 0.0 ? super.getLowestPoint(points, from, to) : super.getHighestPoint(points, from, to);
+		}
+		
+		DoubleVector laneIndices = DoubleVector.zero(SPECIES).addIndex(1).add(from);
+		
+		DoubleVector lowestX = DoubleVector.fromArray(SPECIES, xs, from).mul(sign);
+		DoubleVector lowestY = DoubleVector.fromArray(SPECIES, ys, from).mul(sign);
+		DoubleVector lowest = laneIndices;
+		
+		for (int i = from + SPECIES.length(); i < end; i += SPECIES.length())
+		{
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, i).mul(sign);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, i).mul(sign);
+			laneIndices = laneIndices.add(SPECIES.length());
+			
+			VectorMask<Double> isLower = x.compare(VectorOperators.LT, lowestX).or(x.compare(VectorOperators.EQ, lowestX).and(y.compare(VectorOperators.LT, lowestY)));
+			
+			lowestX = lowestX.blend(x, isLower);
+			lowestY = lowestY.blend(y, isLower);
+			lowest = lowest.blend(laneIndices, isLower);
+		}
+		
+		int result = (int) lowest.lane(0);
+		
+		for (int lane = 1; lane < SPECIES.length(); lane++)
+		{
+			int index = (int) lowest.lane(lane);
+			double comparison = sign * points.compare(index, result);
+			
+			if(comparison < 0.0 || (comparison == 0.0 && index < result))
+			{
+				result = index;
+			}
+		}
+		
+		for (int i = end; i < to; i++)
+		{
+			if(sign * points.compare(i, result) < 0.0)
+			{
+				result = i;
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * The lowest determinant is found with the vectors, along with a bound on the rounding error 
+	 * of every determinant. The furthest point is among the ones whose determinant is within twice
+	 * the bound of the lowest one, so a second pass compares only those with 
+	 * {@link ConvexHull#isFurther(PointSet, int, int, int, int)}.
+	 */
+	@Override
+	int getFurthestPoint(PointSet points, int[] indices, int from, int to, int p, int q)
+	{
+		double[] xs = points.xs;
+		double[] ys = points.ys;
+		DoubleVector px = DoubleVector.broadcast(SPECIES, xs[p]);
+		DoubleVector py = DoubleVector.broadcast(SPECIES, ys[p]);
+		DoubleVector qx = DoubleVector.broadcast(SPECIES, xs[q]);
+		DoubleVector qy = DoubleVector.broadcast(SPECIES, ys[q]);
+		int end = from + SPECIES.loopBound(to - from);
+		
+		DoubleVector minimum = DoubleVector.broadcast(SPECIES, Double.POSITIVE_INFINITY);
+		DoubleVector maximumSum = DoubleVector.zero(SPECIES);
+		
+		for (int i = from; i < end; i += SPECIES.length())
+		{
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, 0, indices, i);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, 0, indices, i);
+			
+			DoubleVector left = px.sub(x).mul(qy.sub(y));
+			DoubleVector right = py.sub(y).mul(qx.sub(x));
+			
+			minimum = minimum.min(left.sub(right));
+			maximumSum = maximumSum.max(left.abs().add(right.abs()));
+		}
+		
+		double lowestDistance = minimum.reduceLanes(VectorOperators.MIN);
+		double sum = maximumSum.reduceLanes(VectorOperators.MAX);
+		
+		for (int i = end; i < to; i++)
+		{
+			int index = indices[i];
+			double left = (xs[p] - xs[index]) * (ys[q] - ys[index]);
+			double right = (ys[p] - ys[index]) * (xs[q] - xs[index]);
+			
+			lowestDistance = Math.min(lowestDistance, left - right);
+			sum = Math.max(sum, Math.abs(left) + Math.abs(right));
+		}
+		
+		double errorBound = RobustPredicates.COMPARISON_ERROR_BOUND * sum;
+		
+		if(!(errorBound < Double.POSITIVE_INFINITY) || Double.isNaN(lowestDistance))
+		{
+			return super.getFurthestPoint(points, indices, from, to, p, q);
+		}
+		
+		int furthest = -1;
+		
+		for (int i = from; i < end; i += SPECIES.length())
+		{
+			DoubleVector x = DoubleVector.fromArray(SPECIES, xs, 0, indices, i);
+			DoubleVector y = DoubleVector.fromArray(SPECIES, ys, 0, indices, i);
+			DoubleVector distance = px.sub(x).mul(qy.sub(y)).sub(py.sub(y).mul(qx.sub(x)));
+			VectorMask<Double> isCandidate = distance.sub(lowestDistance).compare(VectorOperators.LE, errorBound);
+			
+			for (int lane = isCandidate.firstTrue(); lane < SPECIES.length(); lane++)
+			{
+				if(isCandidate.laneIsSet(lane) && (furthest < 0 || ConvexHull.isFurther(points, p, q, indices[i + lane], furthest)))
+				{
+					furthest = indices[i + lane];
+				}
+			}
+		}
+		
+		for (int i = end; i < to; i++)
+		{
+			int index = indices[i];
+			double distance = (xs[p] - xs[index]) * (ys[q] - ys[index]) - (ys[p] - ys[index]) * (xs[q] - xs[index]);
+			
+			if(distance - lowestDistance <= errorBound && (furthest < 0 || ConvexHull.isFurther(points, p, q, index, furthest)))
+			{
+				furthest = index;
+			}
+		}
+		
+		return furthest;
+	}
+}